@@ -0,0 +1,37 @@
+package com.bank.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of the shaded benchmarks jar. Accepts the usual JMH command line and always
+ * writes the results as JSON, by default to {@code target/jmh/results.json}, so that two runs
+ * can be compared with {@link RegressionCheck}.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT = "target/jmh/results.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path result = Paths.get(commandLine.getResult().orElse(DEFAULT_RESULT)).toAbsolutePath();
+        Files.createDirectories(result.getParent());
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Benchmark results written to " + result);
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.Fixtures;
+import com.bank.benchmarks.support.InMemoryAccountBalanceRepository;
+import com.bank.benchmarks.support.InMemoryVirementRepository;
+import com.bank.benchmarks.support.StubBeneficiaireClient;
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.AccountBalance;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.repository.AccountBalanceRepository;
+import com.bank.virementservice.repository.VirementRepository;
+import com.bank.virementservice.service.aggregate.DailyVirementAggregates;
+import com.bank.virementservice.service.beneficiaire.BeneficiaireValidationCache;
+import com.bank.virementservice.service.fx.FileFxRateSource;
+import com.bank.virementservice.service.fx.FxRateTable;
+import com.bank.virementservice.service.impl.VirementServiceImpl;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.ledger.LedgerLease;
+import com.bank.virementservice.service.outbox.OutboxWriter;
+import com.bank.virementservice.service.search.VirementSearchIndex;
+import com.bank.virementservice.service.velocity.VelocityEngine;
+import com.bank.virementservice.service.velocity.VelocityMetric;
+import com.bank.virementservice.service.velocity.VelocityWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * {@link VirementServiceImpl#create} wired by hand, without a Spring context: the repositories
+ * are in memory and beneficiaire-service is replaced by {@link StubBeneficiaireClient}. Velocity
+ * rules are evaluated on every call but set high enough never to trip. The journal, when
+ * enabled, writes to a temporary directory and so includes a real fsync per group commit.
+ * The outbox is disabled, since there is no transaction for it to join, and so is the search
+ * index, which is only built from a running database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    @Param({"true", "false"})
+    public boolean beneficiaireCache;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private InMemoryVirementRepository virements;
+    private VirementServiceImpl service;
+    private TransferJournal transferJournal;
+    private Path journalDirectory;
+    private VirementRequest[] requests;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        VirementProperties properties = new VirementProperties();
+        properties.getBeneficiaireCache().setEnabled(beneficiaireCache);
+        properties.getJournal().setEnabled(journal);
+        properties.getOutbox().setEnabled(false);
+        properties.getSearch().setEnabled(false);
+        properties.getVelocity().setRules(List.of(
+                rule("burst-count", VelocityWindow.MINUTE, VelocityMetric.COUNT),
+                rule("hourly-amount", VelocityWindow.HOUR, VelocityMetric.SUM)));
+        if (journal) {
+            journalDirectory = Files.createTempDirectory("virement-journal");
+            properties.getJournal().setDirectory(journalDirectory.toString());
+        }
+
+        virements = new InMemoryVirementRepository();
+        VirementRepository repository = virements.repository();
+        AccountBalanceRepository balances = new InMemoryAccountBalanceRepository().repository();
+        LedgerLease lease = new LedgerLease(null, properties, "benchmarks") {
+            @Override
+            public boolean isHeld() {
+                return true;
+            }
+        };
+        AccountLedger ledger = new AccountLedger(balances, null, lease, null, null, properties);
+        transferJournal = new TransferJournal(properties);
+        transferJournal.open();
+        service = new VirementServiceImpl(
+                repository,
+                new VirementMapper(),
+                new BeneficiaireValidationCache(new StubBeneficiaireClient(), properties),
+                null,
+                null,
+                properties,
+                ledger,
+                transferJournal,
+                new DailyVirementAggregates(repository, properties),
+                new VelocityEngine(properties, repository, new SimpleMeterRegistry()),
+                new OutboxWriter(null, null, properties),
+                new FxRateTable(new FileFxRateSource(new DefaultResourceLoader(), properties), new SimpleMeterRegistry()),
+                null,
+                new VirementSearchIndex(null, null, properties, new SimpleMeterRegistry()));
+
+        requests = new VirementRequest[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests[i] = Fixtures.request(String.format("ACC%05d", i), String.format("RIB%05d", i));
+            balances.save(AccountBalance.builder()
+                    .account(requests[i].getSourceAccount())
+                    .balance(Money.ofMinor(Long.MAX_VALUE / (2L * ACCOUNTS)))
+                    .credited(Money.ZERO)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearRepository() {
+        virements.clear();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        transferJournal.close();
+        if (journalDirectory != null) {
+            try (Stream<Path> files = Files.walk(journalDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public VirementResponse create() {
+        return service.create(requests[next.getAndIncrement() & (ACCOUNTS - 1)]);
+    }
+
+    private static VirementProperties.VelocityRule rule(String name, VelocityWindow window, VelocityMetric metric) {
+        VirementProperties.VelocityRule rule = new VirementProperties.VelocityRule();
+        rule.setName(name);
+        rule.setWindow(window);
+        rule.setMetric(metric);
+        rule.setThreshold(BigDecimal.valueOf(1_000_000_000L));
+        return rule;
+    }
+}
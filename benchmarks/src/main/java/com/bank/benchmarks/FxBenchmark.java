@@ -0,0 +1,57 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.Fixtures;
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.service.fx.FileFxRateSource;
+import com.bank.virementservice.service.fx.FxConversion;
+import com.bank.virementservice.service.fx.FxRateTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FxRateTable#convert} on the default rate file, for a base-currency virement and for
+ * a foreign one. Runs on several threads, since readers share the published snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FxBenchmark {
+
+    private final FxRateTable table = new FxRateTable(
+            new FileFxRateSource(new DefaultResourceLoader(), new VirementProperties()), new SimpleMeterRegistry());
+    private final VirementRequest base = Fixtures.request("ACC001", "RIB0001");
+    private final VirementRequest foreign = Fixtures.request("ACC001", "RIB0001");
+
+    public FxBenchmark() {
+        foreign.setType(TypeVirement.INTERNATIONAL);
+        foreign.setDevise("USD");
+    }
+
+    @Benchmark
+    public FxConversion baseCurrency() {
+        return table.convert(base);
+    }
+
+    @Benchmark
+    public FxConversion foreignCurrency() {
+        return table.convert(foreign);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.Fixtures;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response (de)serialization with an {@link ObjectMapper} configured the way
+ * Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private VirementRequest request;
+    private VirementResponse response;
+    private byte[] requestJson;
+    private byte[] responseJson;
+    private ObjectReader requestReader;
+    private ObjectReader responseReader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = Fixtures.request("ACC001", "RIB0001");
+        response = new VirementMapper().toResponse(Fixtures.virement());
+        writer = objectMapper.writer();
+        requestReader = objectMapper.readerFor(VirementRequest.class);
+        responseReader = objectMapper.readerFor(VirementResponse.class);
+        requestJson = writer.writeValueAsBytes(request);
+        responseJson = writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return writer.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public VirementRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public VirementResponse deserializeResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+}
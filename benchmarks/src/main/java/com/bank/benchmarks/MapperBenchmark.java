@@ -0,0 +1,50 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.Fixtures;
+import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.fx.FxConversion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final VirementMapper mapper = new VirementMapper();
+    private final VirementRequest request = Fixtures.request("ACC001", "RIB0001");
+    private final FxConversion conversion = FxConversion.none(Money.of(request.getMontant()));
+    private final Virement entity = Fixtures.virement();
+
+    @Benchmark
+    public Virement toEntity() {
+        return mapper.toEntity(request, conversion);
+    }
+
+    @Benchmark
+    public VirementDTO toDTO() {
+        return mapper.toDTO(entity);
+    }
+
+    @Benchmark
+    public VirementResponse toResponse() {
+        return mapper.toResponse(entity);
+    }
+}
@@ -0,0 +1,42 @@
+package com.bank.benchmarks.support;
+
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representative payloads shared by the benchmark suites.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static VirementRequest request(String source, String destination) {
+        VirementRequest request = new VirementRequest();
+        request.setSourceAccount(source);
+        request.setDestinationAccount(destination);
+        request.setMontant(new BigDecimal("1250.50"));
+        request.setType(TypeVirement.NATIONAL);
+        request.setMotif("Loyer mars");
+        return request;
+    }
+
+    public static Virement virement() {
+        return Virement.builder()
+                .id(42L)
+                .sourceAccount("ACC001")
+                .destinationAccount("RIB0001")
+                .montant(Money.ofMinor(125_050))
+                .type(TypeVirement.NATIONAL)
+                .dateExecution(LocalDateTime.of(2024, 3, 1, 9, 30))
+                .statut(StatutVirement.EN_COURS)
+                .motif("Loyer mars")
+                .build();
+    }
+}
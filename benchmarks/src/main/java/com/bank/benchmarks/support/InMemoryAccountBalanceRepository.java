@@ -0,0 +1,57 @@
+package com.bank.benchmarks.support;
+
+import com.bank.virementservice.model.AccountBalance;
+import com.bank.virementservice.repository.AccountBalanceRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An {@link AccountBalanceRepository} backed by a map, enough for the ledger to load
+ * seeded balances.
+ */
+public final class InMemoryAccountBalanceRepository implements InvocationHandler {
+
+    private final ConcurrentMap<String, AccountBalance> rows = new ConcurrentHashMap<>();
+    private final AccountBalanceRepository proxy = (AccountBalanceRepository) Proxy.newProxyInstance(
+            AccountBalanceRepository.class.getClassLoader(), new Class<?>[]{AccountBalanceRepository.class}, this);
+
+    public AccountBalanceRepository repository() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                return save((AccountBalance) args[0]);
+            case "saveAll":
+                for (Object balance : (Iterable<?>) args[0]) {
+                    save((AccountBalance) balance);
+                }
+                return args[0];
+            case "findById":
+                return Optional.ofNullable(rows.get((String) args[0]));
+            case "position":
+                AccountBalance row = rows.get((String) args[0]);
+                return row == null ? null : row.getBalance().toBigDecimal();
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "equals":
+                return target == args[0];
+            case "toString":
+                return "InMemoryAccountBalanceRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private AccountBalance save(AccountBalance balance) {
+        rows.put(balance.getAccount(), balance);
+        return balance;
+    }
+}
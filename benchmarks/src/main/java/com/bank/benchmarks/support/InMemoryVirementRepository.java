@@ -0,0 +1,83 @@
+package com.bank.benchmarks.support;
+
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.VirementRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link VirementRepository} backed by a map, covering the calls made on the create path.
+ * Any other repository method throws {@link UnsupportedOperationException}.
+ */
+public final class InMemoryVirementRepository implements InvocationHandler {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<Long, Virement> rows = new ConcurrentHashMap<>();
+    private final VirementRepository proxy = (VirementRepository) Proxy.newProxyInstance(
+            VirementRepository.class.getClassLoader(), new Class<?>[]{VirementRepository.class}, this);
+
+    public VirementRepository repository() {
+        return proxy;
+    }
+
+    public void clear() {
+        rows.clear();
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                return save((Virement) args[0]);
+            case "saveAll":
+                List<Virement> saved = new ArrayList<>();
+                for (Object virement : (Iterable<?>) args[0]) {
+                    saved.add(save((Virement) virement));
+                }
+                return saved;
+            case "findById":
+                return Optional.ofNullable(rows.get((Long) args[0]));
+            case "count":
+                return (long) rows.size();
+            case "findDestinations":
+                return findDestinations((String) args[0], (Pageable) args[1]);
+            case "aggregateByDay":
+                return Collections.emptyList();
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "equals":
+                return target == args[0];
+            case "toString":
+                return "InMemoryVirementRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private Virement save(Virement virement) {
+        if (virement.getId() == null) {
+            virement.setId(sequence.incrementAndGet());
+        }
+        rows.put(virement.getId(), virement);
+        return virement;
+    }
+
+    private List<String> findDestinations(String source, Pageable pageable) {
+        return rows.values().stream()
+                .filter(virement -> source.equals(virement.getSourceAccount()))
+                .map(Virement::getDestinationAccount)
+                .distinct()
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+}
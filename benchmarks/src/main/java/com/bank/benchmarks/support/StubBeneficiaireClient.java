@@ -0,0 +1,27 @@
+package com.bank.benchmarks.support;
+
+import com.bank.virementservice.client.BeneficiaireClient;
+import com.bank.virementservice.dto.RibValidationRequest;
+import com.bank.virementservice.dto.RibValidationResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accepts every RIB without a network round trip, so the create benchmark measures the
+ * service itself rather than beneficiaire-service.
+ */
+public final class StubBeneficiaireClient implements BeneficiaireClient {
+
+    @Override
+    public void validateBeneficiaire(String rib) {
+    }
+
+    @Override
+    public RibValidationResponse validateBeneficiaires(RibValidationRequest request) {
+        return RibValidationResponse.builder()
+                .valid(new ArrayList<>(request.getRibs()))
+                .unknown(List.of())
+                .build();
+    }
+}
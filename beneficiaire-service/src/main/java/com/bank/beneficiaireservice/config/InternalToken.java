@@ -0,0 +1,27 @@
+package com.bank.beneficiaireservice.config;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret that calls between services carry in {@link #HEADER} to reach
+ * {@code /internal/**}. A blank secret matches nothing, so those endpoints stay closed until
+ * one is configured.
+ */
+public final class InternalToken {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private InternalToken() {
+    }
+
+    public static boolean matches(String expected, String presented) {
+        if (!StringUtils.hasText(expected) || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
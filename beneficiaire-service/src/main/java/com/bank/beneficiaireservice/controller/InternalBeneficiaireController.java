@@ -0,0 +1,33 @@
+package com.bank.beneficiaireservice.controller;
+
+import com.bank.beneficiaireservice.dto.RibValidationRequest;
+import com.bank.beneficiaireservice.dto.RibValidationResponse;
+import com.bank.beneficiaireservice.service.BeneficiaireService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/internal/beneficiaires")
+@RequiredArgsConstructor
+public class InternalBeneficiaireController {
+
+    private final BeneficiaireService service;
+
+    @GetMapping("/{rib}/validate")
+    public ResponseEntity<Void> validate(@PathVariable String rib) {
+        service.validateRib(rib);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/validate-batch")
+    public ResponseEntity<RibValidationResponse> validateBatch(@Valid @RequestBody RibValidationRequest request) {
+        return ResponseEntity.ok(service.validateRibs(request.getRibs()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.beneficiaireservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RibValidationRequest {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<String> ribs;
+}
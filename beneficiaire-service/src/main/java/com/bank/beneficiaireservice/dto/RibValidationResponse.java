@@ -0,0 +1,13 @@
+package com.bank.beneficiaireservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class RibValidationResponse {
+    private List<String> valid;
+    private List<String> unknown;
+}
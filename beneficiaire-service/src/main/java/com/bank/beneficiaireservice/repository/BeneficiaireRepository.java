@@ -2,10 +2,17 @@ package com.bank.beneficiaireservice.repository;
 
 import com.bank.beneficiaireservice.model.Beneficiaire;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BeneficiaireRepository extends JpaRepository<Beneficiaire, Long> {
     Optional<Beneficiaire> findByRib(String rib);
     boolean existsByRib(String rib);
+
+    @Query("SELECT b.rib FROM Beneficiaire b WHERE b.rib IN :ribs")
+    List<String> findExistingRibs(@Param("ribs") Collection<String> ribs);
 }
@@ -3,6 +3,7 @@ package com.bank.beneficiaireservice.service;
 import com.bank.beneficiaireservice.dto.BeneficiaireDTO;
 import com.bank.beneficiaireservice.dto.BeneficiaireRequest;
 import com.bank.beneficiaireservice.dto.BeneficiaireResponse;
+import com.bank.beneficiaireservice.dto.RibValidationResponse;
 
 import java.util.List;
 
@@ -13,4 +14,6 @@ public interface BeneficiaireService {
     BeneficiaireResponse getById(Long id);
     BeneficiaireResponse getByRib(String rib);
     List<BeneficiaireDTO> getAll();
+    void validateRib(String rib);
+    RibValidationResponse validateRibs(List<String> ribs);
 }
@@ -3,16 +3,22 @@ package com.bank.beneficiaireservice.service.impl;
 import com.bank.beneficiaireservice.dto.BeneficiaireDTO;
 import com.bank.beneficiaireservice.dto.BeneficiaireRequest;
 import com.bank.beneficiaireservice.dto.BeneficiaireResponse;
+import com.bank.beneficiaireservice.dto.RibValidationResponse;
 import com.bank.beneficiaireservice.exception.BeneficiaireNotFoundException;
 import com.bank.beneficiaireservice.mapper.BeneficiaireMapper;
 import com.bank.beneficiaireservice.model.Beneficiaire;
 import com.bank.beneficiaireservice.repository.BeneficiaireRepository;
 import com.bank.beneficiaireservice.service.BeneficiaireService;
+import com.bank.beneficiaireservice.service.notification.BeneficiaireChangeNotifier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,13 +26,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class BeneficiaireServiceImpl implements BeneficiaireService {
 
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
     private final BeneficiaireRepository repository;
     private final BeneficiaireMapper mapper;
+    private final BeneficiaireChangeNotifier changeNotifier;
 
     @Override
     public BeneficiaireResponse create(BeneficiaireRequest request) {
         Beneficiaire entity = mapper.toEntity(request);
         entity = repository.save(entity);
+        changeNotifier.ribChanged(Set.of(entity.getRib()));
         return mapper.toResponse(entity);
     }
 
@@ -34,16 +44,21 @@ public class BeneficiaireServiceImpl implements BeneficiaireService {
     public BeneficiaireResponse update(Long id, BeneficiaireRequest request) {
         Beneficiaire entity = repository.findById(id)
                 .orElseThrow(() -> new BeneficiaireNotFoundException(id));
+        Set<String> ribs = new LinkedHashSet<>();
+        ribs.add(entity.getRib());
         mapper.updateEntity(entity, request);
-        return mapper.toResponse(repository.save(entity));
+        ribs.add(entity.getRib());
+        entity = repository.save(entity);
+        changeNotifier.ribChanged(ribs);
+        return mapper.toResponse(entity);
     }
 
     @Override
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new BeneficiaireNotFoundException(id);
-        }
-        repository.deleteById(id);
+        Beneficiaire entity = repository.findById(id)
+                .orElseThrow(() -> new BeneficiaireNotFoundException(id));
+        repository.delete(entity);
+        changeNotifier.ribChanged(Set.of(entity.getRib()));
     }
 
     @Override
@@ -69,4 +84,32 @@ public class BeneficiaireServiceImpl implements BeneficiaireService {
                 .map(mapper::toDTO)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validateRib(String rib) {
+        if (!repository.existsByRib(rib)) {
+            throw new BeneficiaireNotFoundException(rib);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RibValidationResponse validateRibs(List<String> ribs) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ribs));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinct.size()));
+            existing.addAll(repository.findExistingRibs(chunk));
+        }
+        List<String> valid = new ArrayList<>(existing.size());
+        List<String> unknown = new ArrayList<>();
+        for (String rib : distinct) {
+            (existing.contains(rib) ? valid : unknown).add(rib);
+        }
+        return RibValidationResponse.builder()
+                .valid(valid)
+                .unknown(unknown)
+                .build();
+    }
 }
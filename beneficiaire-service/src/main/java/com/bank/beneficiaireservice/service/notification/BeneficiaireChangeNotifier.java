@@ -0,0 +1,81 @@
+package com.bank.beneficiaireservice.service.notification;
+
+import com.bank.beneficiaireservice.config.InternalToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Tells every registered virement-service instance that a RIB changed, so that each one drops
+ * its cached validation result. Notifications go out after the transaction commits and off the
+ * request thread, on the application task executor (virtual threads when enabled); a lost
+ * notification only means the stale entry lives until its TTL expires.
+ */
+@Component
+@Slf4j
+public class BeneficiaireChangeNotifier {
+
+    private final DiscoveryClient discoveryClient;
+    private final TaskExecutor executor;
+    private final RestClient restClient;
+    private final String serviceId;
+
+    public BeneficiaireChangeNotifier(DiscoveryClient discoveryClient,
+                                      @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                                      @Value("${beneficiaire.change-notification.service-id:virement-service}") String serviceId,
+                                      @Value("${beneficiaire.internal.token:}") String internalToken) {
+        this.discoveryClient = discoveryClient;
+        this.executor = executor;
+        this.serviceId = serviceId;
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        RestClient.Builder builder = RestClient.builder()
+                .requestFactory(new JdkClientHttpRequestFactory(httpClient));
+        if (StringUtils.hasText(internalToken)) {
+            builder.defaultHeader(InternalToken.HEADER, internalToken);
+        }
+        this.restClient = builder.build();
+    }
+
+    public void ribChanged(Set<String> ribs) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> notifyInstances(ribs));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> notifyInstances(ribs));
+            }
+        });
+    }
+
+    private void notifyInstances(Set<String> ribs) {
+        for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+            for (String rib : ribs) {
+                try {
+                    restClient.delete()
+                            .uri(instance.getUri() + "/internal/beneficiaires/{rib}/cache", rib)
+                            .retrieve()
+                            .toBodilessEntity();
+                } catch (RuntimeException e) {
+                    log.warn("Could not invalidate beneficiaire {} on {}: {}", rib, instance.getUri(), e.getMessage());
+                }
+            }
+        }
+    }
+}
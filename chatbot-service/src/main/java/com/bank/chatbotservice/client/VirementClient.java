@@ -17,8 +17,10 @@ import java.util.List;
 @FeignClient(name = "virement-service", path = "/api/virements")
 public interface VirementClient {
     
+    /** One keyset page; pass the previous page's {@code nextCursor} until it comes back null. */
     @GetMapping
-    List<VirementDTO> getAllVirements();
+    VirementPage getAllVirements(@RequestParam(value = "cursor", required = false) String cursor,
+                                 @RequestParam("limit") int limit);
     
     @GetMapping("/{id}")
     VirementDTO getVirement(@PathVariable("id") Long id);
@@ -29,6 +31,15 @@ public interface VirementClient {
     @PostMapping
     VirementDTO createVirement(@RequestBody VirementDTO virement);
     
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    class VirementPage {
+        private List<VirementDTO> content;
+        private int size;
+        private String nextCursor;
+    }
+    
     @Data
     @Builder
     @NoArgsConstructor
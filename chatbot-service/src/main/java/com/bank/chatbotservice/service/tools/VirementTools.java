@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Description;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.function.Function;
 
@@ -17,17 +18,21 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 public class VirementTools {
     
+    /** Virements listed per call; the model is told when there are more rather than sent them all. */
+    private static final int PAGE_SIZE = 50;
+    
     private final VirementClient virementClient;
     
     /**
      * Get all virements
      */
-    @Description("Récupère la liste de tous les virements")
+    @Description("Récupère la liste des virements les plus anciens (50 au plus) et indique s'il en existe d'autres")
     public Function<Void, String> getAllVirements() {
         return (input) -> {
             try {
                 log.info("Tool called: getAllVirements");
-                List<VirementClient.VirementDTO> virements = virementClient.getAllVirements();
+                VirementClient.VirementPage page = virementClient.getAllVirements(null, PAGE_SIZE);
+                List<VirementClient.VirementDTO> virements = page.getContent();
                 
                 if (virements.isEmpty()) {
                     return "Aucun virement trouvé.";
@@ -40,6 +45,11 @@ public class VirementTools {
                             v.getId(), v.getBeneficiaireId(), v.getMontant(),
                             v.getType(), v.getStatut(), v.getDateVirement()));
                 }
+                if (page.getNextCursor() != null) {
+                    result.append(String.format(
+                            "\nD'autres virements existent au-delà de ces %d ; demandez un virement par son ID "
+                                    + "ou les virements d'un bénéficiaire pour aller plus loin.\n", virements.size()));
+                }
                 
                 return result.toString();
                 
@@ -105,12 +115,12 @@ public class VirementTools {
                 StringBuilder result = new StringBuilder(
                         String.format("Virements pour le bénéficiaire %d:\n", beneficiaireId));
                 
-                double total = 0;
+                BigDecimal total = BigDecimal.ZERO;
                 for (VirementClient.VirementDTO v : virements) {
                     result.append(String.format(
                             "- ID: %d, Montant: %.2f€, Type: %s, Statut: %s, Date: %s\n",
                             v.getId(), v.getMontant(), v.getType(), v.getStatut(), v.getDateVirement()));
-                    total += v.getMontant().doubleValue();
+                    total = total.add(v.getMontant());
                 }
                 
                 result.append(String.format("\nTotal: %.2f€", total));
@@ -0,0 +1,85 @@
+package com.bank.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stands in for beneficiaire-service behind virement-service's {@code BeneficiaireClient}:
+ * every RIB is valid, and each answer is delayed by a fixed latency to model the remote call.
+ */
+@Slf4j
+public class FakeBeneficiaireBackend implements AutoCloseable {
+
+    private static final String VALIDATE_BATCH = "/internal/beneficiaires/validate-batch";
+    private static final String VALIDATE_SUFFIX = "/validate";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+
+    public FakeBeneficiaireBackend(int port, Duration latency) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        this.executor = Executors.newFixedThreadPool(64);
+        server.setExecutor(executor);
+        server.createContext("/internal/beneficiaires/", this::handle);
+        server.start();
+        log.info("Fake beneficiaire backend listening on port {} ({} ms per call)", port, latencyMillis);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            pause();
+            String path = exchange.getRequestURI().getPath();
+            if ("POST".equals(exchange.getRequestMethod()) && VALIDATE_BATCH.equals(path)) {
+                // Echo the requested RIBs back as valid
+                String body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                String ribs = body.substring(body.indexOf('['), body.lastIndexOf(']') + 1);
+                respond(exchange, 200, "{\"valid\":" + ribs + ",\"unknown\":[]}");
+            } else if ("GET".equals(exchange.getRequestMethod()) && path.endsWith(VALIDATE_SUFFIX)) {
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private void pause() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are released on a fixed schedule derived from the target rate and
+ * sent asynchronously, so a slow response never delays the next arrival. Each latency is taken
+ * from the request's scheduled time rather than its send time, which keeps a stall from hiding
+ * the requests that would have queued up behind it (coordinated omission). Arrivals dropped
+ * over {@code maxInFlight} are charged the time from their schedule to the end of the run.
+ */
+@Slf4j
+class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final int rate;
+    private final int maxInFlight;
+
+    LoadGenerator(HttpClient client, Workload workload, int rate, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    LoadReport run(Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        OperationStats total = new OperationStats();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * 1_000_000_000.0 / rate);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.next();
+            if (!inFlight.tryAcquire()) {
+                stats.get(operation).dropped(scheduled);
+                total.dropped(scheduled);
+                continue;
+            }
+            HttpRequest request = workload.request(operation);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long done = System.nanoTime();
+                inFlight.release();
+                if (failure != null) {
+                    stats.get(operation).error(done - scheduled, done - sent);
+                    total.error(done - scheduled, done - sent);
+                    return;
+                }
+                stats.get(operation).completed(response.statusCode(), done - scheduled, done - sent);
+                total.completed(response.statusCode(), done - scheduled, done - sent);
+                workload.onResponse(operation, response);
+            });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} requests still in flight after {}", maxInFlight - inFlight.availablePermits(), DRAIN_TIMEOUT);
+        } else {
+            inFlight.release(maxInFlight);
+        }
+
+        long finished = Math.max(System.nanoTime(), end);
+        stats.values().forEach(operation -> operation.endRun(finished));
+        total.endRun(finished);
+        double elapsedSeconds = (finished - start) / 1_000_000_000.0;
+        List<LoadReport.OperationReport> operations = new ArrayList<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            operations.add(entry.getValue().report(entry.getKey().name(), elapsedSeconds));
+        }
+        return LoadReport.builder()
+                .targetRate(rate)
+                .elapsedSeconds(elapsedSeconds)
+                .operations(operations)
+                .total(total.report("TOTAL", elapsedSeconds))
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.loadtest;
+
+import com.bank.virementservice.service.instant.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Value
+@Builder
+public class LoadReport {
+
+    int targetRate;
+    double elapsedSeconds;
+    List<OperationReport> operations;
+    OperationReport total;
+
+    public void print(PrintStream out) {
+        out.printf("%nTarget rate %d req/s over %.1f s%n", targetRate, elapsedSeconds);
+        out.printf("%-8s %9s %9s %7s %7s %7s %10s | %9s %9s %9s %9s %9s | %9s %9s%n",
+                "op", "completed", "ok", "failed", "errors", "dropped", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p50", "svc p99");
+        for (OperationReport operation : operations) {
+            print(out, operation);
+        }
+        print(out, total);
+        out.println("Latencies are measured from each request's scheduled send time (coordinated omission"
+                + " corrected); svc columns are measured from the actual send time.");
+    }
+
+    public void write(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(target.toFile(), this);
+    }
+
+    private static void print(PrintStream out, OperationReport operation) {
+        out.printf("%-8s %9d %9d %7d %7d %7d %10.1f | %9.2f %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f%n",
+                operation.getOperation(), operation.getCompleted(), operation.getSucceeded(),
+                operation.getFailed(), operation.getErrors(), operation.getDropped(), operation.getThroughput(),
+                operation.getCorrected().getP50(), operation.getCorrected().getP90(),
+                operation.getCorrected().getP99(), operation.getCorrected().getP999(),
+                operation.getCorrected().getMax(),
+                operation.getService().getP50(), operation.getService().getP99());
+    }
+
+    @Value
+    @Builder
+    public static class OperationReport {
+        String operation;
+        long completed;
+        long succeeded;
+        long failed;
+        long errors;
+        long dropped;
+        double throughput;
+        double goodput;
+        Percentiles corrected;
+        Percentiles service;
+    }
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    @Value
+    @Builder
+    public static class Percentiles {
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+
+        static Percentiles of(LatencyHistogram histogram) {
+            return Percentiles.builder()
+                    .p50(millis(histogram.percentile(50)))
+                    .p90(millis(histogram.percentile(90)))
+                    .p99(millis(histogram.percentile(99)))
+                    .p999(millis(histogram.percentile(99.9)))
+                    .max(millis(histogram.percentile(100)))
+                    .build();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
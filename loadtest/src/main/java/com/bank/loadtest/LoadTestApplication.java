@@ -0,0 +1,80 @@
+package com.bank.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the stack, seeds accounts and beneficiaires through the gateway, runs a warmup whose
+ * results are discarded, then the measured run, and prints and writes its report.
+ *
+ * <pre>java -jar loadtest/target/loadtest-1.0.0.jar --rate=500 --duration=PT2M --beneficiaire-latency=PT0.005S</pre>
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String OPENING_BALANCE = "1000000000.00";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report;
+        try (ServiceStack stack = ServiceStack.start(options)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            List<String> accounts = new ArrayList<>();
+            List<String> ribs = new ArrayList<>();
+            for (int i = 0; i < options.getAccounts(); i++) {
+                accounts.add(String.format("LT%06d", i));
+                ribs.add(String.format("FR76LT%06d", i));
+            }
+            Workload workload = new Workload(stack.gateway(), accounts, ribs, options.getMix());
+            seed(client, workload, accounts, ribs, options.isRealBeneficiaire());
+
+            LoadGenerator generator = new LoadGenerator(client, workload, options.getRate(), options.getMaxInFlight());
+            if (!options.getWarmup().isZero()) {
+                log.info("Warming up for {}", options.getWarmup());
+                generator.run(options.getWarmup());
+            }
+            log.info("Measuring {} req/s for {}", options.getRate(), options.getDuration());
+            report = generator.run(options.getDuration());
+        }
+        report.print(System.out);
+        report.write(options.getReport());
+        System.out.println("Report written to " + options.getReport().toAbsolutePath());
+        System.exit(0);
+    }
+
+    private static void seed(HttpClient client, Workload workload, List<String> accounts, List<String> ribs,
+                             boolean realBeneficiaire) throws IOException, InterruptedException {
+        for (String account : accounts) {
+            send(client, workload.builder("/api/virements/ledger/" + account + "/credit")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"montant\":" + OPENING_BALANCE + "}"))
+                    .build());
+        }
+        if (realBeneficiaire) {
+            for (String rib : ribs) {
+                send(client, workload.builder("/api/beneficiaires")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"nom\":\"Charge\",\"prenom\":\"Test\",\"rib\":\"" + rib + "\",\"type\":\"PHYSIQUE\"}"))
+                        .build());
+            }
+        }
+        log.info("Seeded {} accounts{}", accounts.size(), realBeneficiaire ? " and " + ribs.size() + " beneficiaires" : "");
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding " + request.uri() + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+    }
+}
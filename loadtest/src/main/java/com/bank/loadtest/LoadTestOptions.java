@@ -0,0 +1,81 @@
+package com.bank.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line of the harness, given as {@code --name=value} pairs; every option has a default.
+ */
+@Value
+@Builder
+public class LoadTestOptions {
+
+    /** Arrival rate, in requests per second, held constant whatever the response times. */
+    int rate;
+    Duration duration;
+    Duration warmup;
+    /** Source accounts, and as many destination RIBs, the traffic is spread over. */
+    int accounts;
+    Map<Operation, Integer> mix;
+    /** {@code fake} answers RIB validation from a stub server, {@code real} boots beneficiaire-service. */
+    String beneficiaire;
+    Duration beneficiaireLatency;
+    /**
+     * {@code servlet} runs virement-service on Tomcat, {@code virtual} on Tomcat with virtual
+     * threads (Java 21), {@code reactive} with its reactive profile.
+     */
+    String virement;
+    /** Requests allowed in flight before new arrivals are counted as dropped. */
+    int maxInFlight;
+    Path report;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return LoadTestOptions.builder()
+                .rate(Integer.parseInt(values.getOrDefault("rate", "200")))
+                .duration(Duration.parse(values.getOrDefault("duration", "PT60S")))
+                .warmup(Duration.parse(values.getOrDefault("warmup", "PT10S")))
+                .accounts(Integer.parseInt(values.getOrDefault("accounts", "100")))
+                .mix(parseMix(values.getOrDefault("mix", "create=60,get=30,history=10")))
+                .beneficiaire(values.getOrDefault("beneficiaire", "fake"))
+                .beneficiaireLatency(Duration.parse(values.getOrDefault("beneficiaire-latency", "PT0S")))
+                .virement(values.getOrDefault("virement", "servlet"))
+                .maxInFlight(Integer.parseInt(values.getOrDefault("max-in-flight", "5000")))
+                .report(Paths.get(values.getOrDefault("report", "target/loadtest/report.json")))
+                .build();
+    }
+
+    public boolean isRealBeneficiaire() {
+        return "real".equals(beneficiaire);
+    }
+
+    public boolean isReactiveVirement() {
+        return "reactive".equals(virement);
+    }
+
+    public boolean isVirtualThreads() {
+        return "virtual".equals(virement);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.split("=");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+}
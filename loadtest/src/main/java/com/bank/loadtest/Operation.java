@@ -0,0 +1,13 @@
+package com.bank.loadtest;
+
+/**
+ * Requests the harness sends through the gateway.
+ */
+public enum Operation {
+    /** {@code POST /api/virements} */
+    CREATE,
+    /** {@code GET /api/virements/{id}} on a virement created earlier in the run */
+    GET,
+    /** {@code GET /api/virements/account/{account}} */
+    HISTORY
+}
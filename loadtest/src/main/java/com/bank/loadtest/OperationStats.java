@@ -0,0 +1,69 @@
+package com.bank.loadtest;
+
+import com.bank.virementservice.service.instant.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counters and latency histograms for one kind of request. The corrected latency
+ * runs from the moment the request was due under the constant arrival rate, so time spent
+ * queued behind a stalled system counts against it; the service latency runs from the
+ * moment it was actually sent, as a closed-loop client would measure it. An arrival dropped
+ * because too many requests were in flight is counted in the corrected latency as if it had
+ * been answered when the run ended, so the cap cannot hide a stall from the percentiles.
+ */
+class OperationStats {
+
+    private final LatencyHistogram corrected = new LatencyHistogram();
+    private final LatencyHistogram service = new LatencyHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    /** Scheduled times of the dropped arrivals; only the generator thread touches it. */
+    private final List<Long> dropped = new ArrayList<>();
+
+    void completed(int status, long correctedNanos, long serviceNanos) {
+        corrected.record(correctedNanos);
+        service.record(serviceNanos);
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    void error(long correctedNanos, long serviceNanos) {
+        corrected.record(correctedNanos);
+        service.record(serviceNanos);
+        errors.increment();
+    }
+
+    void dropped(long scheduledNanos) {
+        dropped.add(scheduledNanos);
+    }
+
+    /** Records the dropped arrivals once the run is over, at {@code endNanos}. */
+    void endRun(long endNanos) {
+        for (long scheduled : dropped) {
+            corrected.record(endNanos - scheduled);
+        }
+    }
+
+    LoadReport.OperationReport report(String name, double elapsedSeconds) {
+        long completed = service.count();
+        return LoadReport.OperationReport.builder()
+                .operation(name)
+                .completed(completed)
+                .succeeded(succeeded.sum())
+                .failed(failed.sum())
+                .errors(errors.sum())
+                .dropped(dropped.size())
+                .throughput(completed / elapsedSeconds)
+                .goodput(succeeded.sum() / elapsedSeconds)
+                .corrected(LoadReport.Percentiles.of(corrected))
+                .service(LoadReport.Percentiles.of(service))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints two load reports side by side, typically virement-service in servlet and in reactive
+ * mode driven at the same rate on the same machine. Only runs at the same target rate are
+ * comparable: with an open model the rate is the input, latency and errors are the outcome.
+ *
+ * <pre>java -cp loadtest-1.0.0.jar -Dloader.main=com.bank.loadtest.ReportComparison \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher servlet.json reactive.json</pre>
+ */
+public final class ReportComparison {
+
+    private static final String[] COLUMNS = {"throughput", "p50", "p99", "p999", "max"};
+
+    private ReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ReportComparison <a.json> <b.json>");
+            System.exit(2);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode a = mapper.readTree(Paths.get(args[0]).toFile());
+        JsonNode b = mapper.readTree(Paths.get(args[1]).toFile());
+        if (a.path("targetRate").asInt() != b.path("targetRate").asInt()) {
+            System.out.printf("Warning: target rates differ (%d vs %d req/s)%n",
+                    a.path("targetRate").asInt(), b.path("targetRate").asInt());
+        }
+
+        System.out.printf("%-8s %-10s %12s %12s %9s%n", "op", "metric", "a", "b", "b vs a");
+        Map<String, JsonNode> before = operations(a);
+        for (Map.Entry<String, JsonNode> entry : operations(b).entrySet()) {
+            JsonNode previous = before.get(entry.getKey());
+            if (previous == null) {
+                continue;
+            }
+            for (String column : COLUMNS) {
+                double x = value(previous, column);
+                double y = value(entry.getValue(), column);
+                System.out.printf("%-8s %-10s %12.2f %12.2f %+8.1f%%%n",
+                        entry.getKey(), column, x, y, x == 0 ? 0 : 100.0 * (y - x) / x);
+            }
+            System.out.printf("%-8s %-10s %12d %12d%n", entry.getKey(), "errors",
+                    previous.path("errors").asLong() + previous.path("dropped").asLong(),
+                    entry.getValue().path("errors").asLong() + entry.getValue().path("dropped").asLong());
+        }
+        System.out.println("Latencies in ms (coordinated omission corrected), throughput in req/s;"
+                + " errors include dropped arrivals.");
+    }
+
+    private static Map<String, JsonNode> operations(JsonNode report) {
+        List<JsonNode> all = new ArrayList<>();
+        report.path("operations").forEach(all::add);
+        all.add(report.path("total"));
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode operation : all) {
+            byName.put(operation.path("operation").asText(), operation);
+        }
+        return byName;
+    }
+
+    private static double value(JsonNode operation, String column) {
+        return "throughput".equals(column)
+                ? operation.path("throughput").asDouble()
+                : operation.path("corrected").path(column).asDouble();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.loadtest;
+
+import com.bank.beneficiaireservice.BeneficiaireServiceApplication;
+import com.bank.gatewayservice.GatewayServiceApplication;
+import com.bank.virementservice.VirementServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Boots gateway-service, virement-service and either beneficiaire-service or
+ * {@link FakeBeneficiaireBackend} in this JVM. Eureka and config-service are replaced by Spring
+ * Cloud's simple discovery client, fed with ports reserved up front, so every service can
+ * resolve the others through its usual {@code lb://} and Feign lookups.
+ */
+@Slf4j
+public class ServiceStack implements AutoCloseable {
+
+    private final Deque<AutoCloseable> started = new ArrayDeque<>();
+    private final int gatewayPort;
+
+    private ServiceStack(int gatewayPort) {
+        this.gatewayPort = gatewayPort;
+    }
+
+    public static ServiceStack start(LoadTestOptions options) throws IOException {
+        int gatewayPort = freePort();
+        int virementPort = freePort();
+        int beneficiairePort = freePort();
+        Map<String, Object> discovery = new HashMap<>();
+        discovery.put("spring.cloud.discovery.client.simple.instances.virement-service[0].uri",
+                "http://localhost:" + virementPort);
+        discovery.put("spring.cloud.discovery.client.simple.instances.beneficiaire-service[0].uri",
+                "http://localhost:" + beneficiairePort);
+        Map<String, Object> servlet = new HashMap<>(discovery);
+        servlet.put("spring.threads.virtual.enabled", options.isVirtualThreads());
+
+        ServiceStack stack = new ServiceStack(gatewayPort);
+        try {
+            if (options.isRealBeneficiaire()) {
+                stack.boot(BeneficiaireServiceApplication.class, WebApplicationType.SERVLET,
+                        "loadtest-beneficiaire", beneficiairePort, servlet);
+            } else {
+                stack.started.push(new FakeBeneficiaireBackend(beneficiairePort, options.getBeneficiaireLatency()));
+            }
+
+            Path journal = Files.createTempDirectory("loadtest-journal");
+            Map<String, Object> virement = new HashMap<>(servlet);
+            virement.put("virement.journal.directory", journal.toString());
+            if (options.isReactiveVirement()) {
+                stack.boot(VirementServiceApplication.class, WebApplicationType.REACTIVE,
+                        "loadtest-virement", virementPort, virement, "reactive");
+            } else {
+                stack.boot(VirementServiceApplication.class, WebApplicationType.SERVLET,
+                        "loadtest-virement", virementPort, virement);
+            }
+
+            stack.boot(GatewayServiceApplication.class, WebApplicationType.REACTIVE,
+                    "loadtest-gateway", gatewayPort, discovery);
+        } catch (RuntimeException | IOException e) {
+            stack.close();
+            throw e;
+        }
+        log.info("Service stack ready: gateway on {}, virement-service ({}) on {}, beneficiaire {} on {}",
+                gatewayPort, options.getVirement(), virementPort, options.getBeneficiaire(), beneficiairePort);
+        return stack;
+    }
+
+    public URI gateway() {
+        return URI.create("http://localhost:" + gatewayPort);
+    }
+
+    @Override
+    public void close() {
+        while (!started.isEmpty()) {
+            try {
+                started.pop().close();
+            } catch (Exception e) {
+                log.warn("Failed to stop a service cleanly", e);
+            }
+        }
+    }
+
+    private void boot(Class<?> application, WebApplicationType type, String configName, int port,
+                      Map<String, Object> properties, String... profiles) {
+        Map<String, Object> defaults = new HashMap<>(properties);
+        defaults.put("server.port", port);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .web(type)
+                .profiles(profiles)
+                .properties("spring.config.name=loadtest-common," + configName)
+                .properties(defaults)
+                .run();
+        started.push(context);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Picks the next request according to the configured mix and builds it against the gateway
+ * routes. Ids of virements created during the run are kept in a small ring so that reads hit
+ * rows that exist.
+ */
+class Workload {
+
+    static final String API_KEY = "loadtest";
+    static final String CREDENTIALS = "loadtest:loadtest";
+
+    private static final int KNOWN_IDS = 4096;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI gateway;
+    private final List<String> accounts;
+    private final List<String> ribs;
+    private final Operation[] weighted;
+    private final String authorization;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLongArray knownIds = new AtomicLongArray(KNOWN_IDS);
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong filled = new AtomicLong();
+
+    Workload(URI gateway, List<String> accounts, List<String> ribs, Map<Operation, Integer> mix) {
+        this.gateway = gateway;
+        this.accounts = accounts;
+        this.ribs = ribs;
+        this.weighted = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(CREDENTIALS.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Operation next() {
+        Operation operation = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+        return operation == Operation.GET && filled.get() == 0 ? Operation.HISTORY : operation;
+    }
+
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE:
+                String body = String.format(
+                        "{\"sourceAccount\":\"%s\",\"destinationAccount\":\"%s\",\"montant\":%d.%02d,"
+                                + "\"type\":\"NATIONAL\",\"motif\":\"loadtest\"}",
+                        accounts.get(random.nextInt(accounts.size())), ribs.get(random.nextInt(ribs.size())),
+                        1 + random.nextInt(500), random.nextInt(100));
+                return builder("/api/virements")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            case GET:
+                long known = Math.min(filled.get(), KNOWN_IDS);
+                return builder("/api/virements/" + knownIds.get(random.nextInt((int) known))).GET().build();
+            default:
+                return builder("/api/virements/account/" + accounts.get(random.nextInt(accounts.size())) + "?limit=20")
+                        .GET()
+                        .build();
+        }
+    }
+
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation != Operation.CREATE || response.statusCode() != 201) {
+            return;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            long slot = writes.getAndIncrement();
+            knownIds.set((int) (slot % KNOWN_IDS), json.path("id").asLong());
+            filled.accumulateAndGet(slot + 1, Math::max);
+        } catch (Exception e) {
+            // An unreadable body only costs us a read target
+        }
+    }
+
+    HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(TIMEOUT)
+                .header("x-api-key", API_KEY)
+                .header("Authorization", authorization);
+    }
+}
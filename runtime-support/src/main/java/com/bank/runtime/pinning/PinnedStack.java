@@ -0,0 +1,21 @@
+package com.bank.runtime.pinning;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One distinct stack on which virtual threads were pinned, with how often and how long.
+ * The frames run from the innermost call outwards; the {@code synchronized} frame or
+ * native call responsible for the pinning is usually a few frames below the top.
+ */
+@Value
+@Builder
+public class PinnedStack {
+    List<String> frames;
+    long count;
+    long totalMillis;
+    long maxMillis;
+    String lastThread;
+}
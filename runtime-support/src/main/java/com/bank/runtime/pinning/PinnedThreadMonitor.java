@@ -0,0 +1,67 @@
+package com.bank.runtime.pinning;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.List;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} events from the running JVM and aggregates them
+ * by stack. A virtual thread is pinned when it blocks inside a {@code synchronized} block or a
+ * native frame: its carrier stays blocked with it, so a few such spots on a hot path are enough
+ * to exhaust the carrier pool. Each new stack is logged once; the full ranking is available
+ * from {@link #report()} and the {@code pinning} actuator endpoint.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements InitializingBean, DisposableBean {
+
+    private final PinningProperties properties;
+    private final PinningAggregator aggregator;
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(PinningProperties properties) {
+        this.properties = properties;
+        this.aggregator = new PinningAggregator(properties.getStackDepth());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PinningAggregator.EVENT_NAME)
+                .withThreshold(properties.getThreshold())
+                .withStackTrace();
+        stream.onEvent(PinningAggregator.EVENT_NAME, this::onPinned);
+        stream.setReuse(true);
+        stream.startAsync();
+        log.info("Recording virtual thread pinning longer than {}", properties.getThreshold());
+    }
+
+    public List<PinnedStack> report() {
+        return aggregator.top(properties.getReportSize());
+    }
+
+    public void reset() {
+        aggregator.reset();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+        List<PinnedStack> top = report();
+        if (!top.isEmpty()) {
+            log.warn("Virtual thread pinning seen during this run:\n{}", PinningAggregator.format(top));
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (aggregator.record(event)) {
+            log.warn("Virtual thread pinned for {} ms on a new stack:\n        at {}",
+                    event.getDuration().toMillis(), String.join("\n        at ", aggregator.stackOf(event)));
+        }
+    }
+}
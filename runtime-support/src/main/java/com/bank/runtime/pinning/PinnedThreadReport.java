@@ -0,0 +1,46 @@
+package com.bank.runtime.pinning;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Prints the pinned-thread stacks found in a JFR recording, worst first. Works on any
+ * recording that captured {@code jdk.VirtualThreadPinned}, e.g. one started with
+ * {@code -XX:StartFlightRecording=settings=profile,filename=app.jfr} or {@code jcmd <pid> JFR.dump}.
+ *
+ * <pre>
+ * java -cp runtime-support/target/runtime-support-1.0.0.jar com.bank.runtime.pinning.PinnedThreadReport app.jfr [top] [stack-depth]
+ * </pre>
+ */
+public final class PinnedThreadReport {
+
+    private PinnedThreadReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: PinnedThreadReport <recording.jfr> [top] [stack-depth]");
+            System.exit(2);
+        }
+        Path recording = Path.of(args[0]);
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int stackDepth = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+
+        PinningAggregator aggregator = new PinningAggregator(stackDepth);
+        long events = 0;
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (PinningAggregator.EVENT_NAME.equals(event.getEventType().getName())) {
+                    aggregator.record(event);
+                    events++;
+                }
+            }
+        }
+        System.out.printf("%s: %d pinned event(s)%n%n", recording, events);
+        System.out.print(PinningAggregator.format(aggregator.top(top)));
+    }
+}
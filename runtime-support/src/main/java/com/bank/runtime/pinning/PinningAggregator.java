@@ -0,0 +1,117 @@
+package com.bank.runtime.pinning;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Groups {@code jdk.VirtualThreadPinned} events by stack. Used both by the live monitor and
+ * by the offline {@link PinnedThreadReport}, so it depends on nothing but the JDK.
+ */
+public class PinningAggregator {
+
+    public static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private final int stackDepth;
+    private final ConcurrentMap<List<String>, Totals> stacks = new ConcurrentHashMap<>();
+
+    public PinningAggregator(int stackDepth) {
+        this.stackDepth = stackDepth;
+    }
+
+    /**
+     * Adds one pinned event and returns true if its stack had not been seen before.
+     */
+    public boolean record(RecordedEvent event) {
+        List<String> frames = stackOf(event);
+        long millis = event.getDuration().toMillis();
+        RecordedThread thread = event.getThread();
+        boolean created = false;
+        Totals totals = stacks.get(frames);
+        if (totals == null) {
+            Totals fresh = new Totals();
+            totals = stacks.putIfAbsent(frames, fresh);
+            if (totals == null) {
+                totals = fresh;
+                created = true;
+            }
+        }
+        totals.count.incrementAndGet();
+        totals.totalMillis.addAndGet(millis);
+        totals.maxMillis.accumulateAndGet(millis, Math::max);
+        totals.lastThread.set(thread == null ? null : thread.getJavaName());
+        return created;
+    }
+
+    /**
+     * Returns up to {@code limit} stacks, the ones that kept threads pinned longest first.
+     */
+    public List<PinnedStack> top(int limit) {
+        List<PinnedStack> result = new ArrayList<>(stacks.size());
+        stacks.forEach((frames, totals) -> result.add(PinnedStack.builder()
+                .frames(frames)
+                .count(totals.count.get())
+                .totalMillis(totals.totalMillis.get())
+                .maxMillis(totals.maxMillis.get())
+                .lastThread(totals.lastThread.get())
+                .build()));
+        result.sort(Comparator.comparingLong(PinnedStack::getTotalMillis).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public void reset() {
+        stacks.clear();
+    }
+
+    public static String format(List<PinnedStack> stacks) {
+        if (stacks.isEmpty()) {
+            return "No pinned virtual threads recorded\n";
+        }
+        StringBuilder out = new StringBuilder();
+        int rank = 1;
+        for (PinnedStack stack : stacks) {
+            out.append(String.format("#%d  %d pinning(s), total %d ms, max %d ms, last on %s%n",
+                    rank++, stack.getCount(), stack.getTotalMillis(), stack.getMaxMillis(), stack.getLastThread()));
+            for (String frame : stack.getFrames()) {
+                out.append("        at ").append(frame).append(System.lineSeparator());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Returns the innermost {@code stackDepth} frames of the event, the key it is grouped by.
+     */
+    public List<String> stackOf(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return List.of("<no stack trace>");
+        }
+        List<RecordedFrame> recorded = stackTrace.getFrames();
+        List<String> frames = new ArrayList<>(Math.min(recorded.size(), stackDepth));
+        for (RecordedFrame frame : recorded) {
+            if (frames.size() == stackDepth) {
+                break;
+            }
+            frames.add(frame.getMethod().getType().getName() + '.' + frame.getMethod().getName()
+                    + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""));
+        }
+        return List.copyOf(frames);
+    }
+
+    private static final class Totals {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicReference<String> lastThread = new AtomicReference<>();
+    }
+}
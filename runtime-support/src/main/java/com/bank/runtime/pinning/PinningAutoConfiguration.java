@@ -0,0 +1,37 @@
+package com.bank.runtime.pinning;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts the {@link PinnedThreadMonitor} whenever the service runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true} on Java 21 or later).
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "runtime.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(PinningProperties.class)
+public class PinningAutoConfiguration {
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(PinningProperties properties) {
+        return new PinnedThreadMonitor(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class PinningEndpointConfiguration {
+
+        @Bean
+        public PinningEndpoint pinningEndpoint(PinnedThreadMonitor monitor) {
+            return new PinningEndpoint(monitor);
+        }
+    }
+}
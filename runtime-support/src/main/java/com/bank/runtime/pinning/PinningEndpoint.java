@@ -0,0 +1,31 @@
+package com.bank.runtime.pinning;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/pinning} lists the stacks that pinned virtual threads, worst first;
+ * {@code DELETE} clears them, e.g. after a fix is deployed.
+ */
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    private final PinnedThreadMonitor monitor;
+
+    public PinningEndpoint(PinnedThreadMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<PinnedStack> pinnedStacks() {
+        return monitor.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.runtime.pinning;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "runtime.pinning")
+public class PinningProperties {
+    private Boolean enabled = true;
+    /** Pinnings shorter than this are not recorded (JFR's own default). */
+    private Duration threshold = Duration.ofMillis(20);
+    private Integer stackDepth = 32;
+    private Integer reportSize = 20;
+}
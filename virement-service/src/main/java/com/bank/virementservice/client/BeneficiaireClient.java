@@ -1,12 +1,19 @@
 package com.bank.virementservice.client;
 
+import com.bank.virementservice.dto.RibValidationRequest;
+import com.bank.virementservice.dto.RibValidationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(name = "beneficiaire-service", contextId = "virementServiceBeneficiaireClient", fallback = BeneficiaireClientFallback.class)
 public interface BeneficiaireClient {
 
     @GetMapping("/internal/beneficiaires/{rib}/validate")
     void validateBeneficiaire(@PathVariable("rib") String rib);
+
+    @PostMapping("/internal/beneficiaires/validate-batch")
+    RibValidationResponse validateBeneficiaires(@RequestBody RibValidationRequest request);
 }
@@ -1,8 +1,12 @@
 package com.bank.virementservice.client;
 
+import com.bank.virementservice.dto.RibValidationRequest;
+import com.bank.virementservice.dto.RibValidationResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @Slf4j
 public class BeneficiaireClientFallback implements BeneficiaireClient {
@@ -11,4 +15,13 @@ public class BeneficiaireClientFallback implements BeneficiaireClient {
     public void validateBeneficiaire(String rib) {
         log.warn("Fallback validation for beneficiaire {} - assuming valid", rib);
     }
+
+    @Override
+    public RibValidationResponse validateBeneficiaires(RibValidationRequest request) {
+        log.warn("Fallback validation for {} beneficiaires - assuming valid", request.getRibs().size());
+        return RibValidationResponse.builder()
+                .valid(request.getRibs())
+                .unknown(List.of())
+                .build();
+    }
 }
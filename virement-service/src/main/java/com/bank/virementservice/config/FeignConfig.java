@@ -1,8 +1,10 @@
 package com.bank.virementservice.config;
 
 import feign.Logger;
+import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
 @Configuration
 public class FeignConfig {
@@ -11,4 +13,14 @@ public class FeignConfig {
     public Logger.Level feignLoggerLevel() {
         return Logger.Level.BASIC;
     }
+
+    @Bean
+    public RequestInterceptor internalTokenInterceptor(VirementProperties properties) {
+        String token = properties.getInternal().getToken();
+        return template -> {
+            if (StringUtils.hasText(token)) {
+                template.header(InternalToken.HEADER, token);
+            }
+        };
+    }
 }
@@ -0,0 +1,97 @@
+package com.bank.virementservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Infrastructure of the {@code reactive} profile. The R2DBC pool opens the same database as
+ * the JPA datasource: unless {@code virement.reactive.r2dbc-url} is set, its URL and
+ * credentials are derived from {@code spring.datasource}, so the two can never point at
+ * different databases. It is deliberately kept out of the context: a {@code ConnectionFactory}
+ * bean would switch on Boot's R2DBC script initialisation and transaction manager, and the
+ * latter would displace JPA's as the default for {@code @Transactional}.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(VirementProperties properties, DataSourceProperties dataSource) {
+        VirementProperties.Reactive config = properties.getReactive();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(connectionOptions(config, dataSource)))
+                .maxSize(config.getPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+
+    @PreDestroy
+    public void closePool() {
+        connectionPool.dispose();
+    }
+
+    private static ConnectionFactoryOptions connectionOptions(VirementProperties.Reactive config,
+                                                              DataSourceProperties dataSource) {
+        if (StringUtils.hasText(config.getR2dbcUrl())) {
+            return ConnectionFactoryOptions.parse(config.getR2dbcUrl());
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl(dataSource.determineUrl()))
+                .mutate();
+        String username = dataSource.determineUsername();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        String password = dataSource.determinePassword();
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return options.build();
+    }
+
+    /**
+     * R2DBC form of a JDBC URL: H2's embedded {@code mem:} and {@code file:} URLs take the
+     * database name as a path, the others only change scheme.
+     */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from datasource URL " + jdbcUrl
+                    + ", set virement.reactive.r2dbc-url");
+        }
+        String url = jdbcUrl.substring("jdbc:".length());
+        for (String embedded : new String[]{"h2:mem:", "h2:file:"}) {
+            if (url.startsWith(embedded) && !url.startsWith(embedded + "//")) {
+                return "r2dbc:" + embedded + "///" + url.substring(embedded.length());
+            }
+        }
+        return "r2dbc:" + url;
+    }
+}
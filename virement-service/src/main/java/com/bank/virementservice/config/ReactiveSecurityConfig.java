@@ -0,0 +1,34 @@
+package com.bank.virementservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, VirementProperties properties) {
+        String internalToken = properties.getInternal().getToken();
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.POST, "/api/virements/ledger/*/credit").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/actuator/**").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .pathMatchers("/internal/**").access((authentication, context) -> Mono.just(new AuthorizationDecision(
+                                InternalToken.matches(internalToken,
+                                        context.getExchange().getRequest().getHeaders().getFirst(InternalToken.HEADER)))))
+                        .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .anyExchange().authenticated())
+                .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.virementservice.config;
+
+import com.bank.virementservice.service.velocity.VelocityMetric;
+import com.bank.virementservice.service.velocity.VelocityWindow;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "virement")
+@Data
+public class VirementProperties {
+
+    private Batch batch = new Batch();
+    private Idempotency idempotency = new Idempotency();
+    private Execution execution = new Execution();
+    private Ledger ledger = new Ledger();
+    private Journal journal = new Journal();
+    private BeneficiaireCache beneficiaireCache = new BeneficiaireCache();
+    private Permanent permanent = new Permanent();
+    private Instant instant = new Instant();
+    private Velocity velocity = new Velocity();
+    private Outbox outbox = new Outbox();
+    private Stream stream = new Stream();
+    private Reactive reactive = new Reactive();
+    private Fx fx = new Fx();
+    private Settlement settlement = new Settlement();
+    private Reconciliation reconciliation = new Reconciliation();
+    private Archive archive = new Archive();
+    private Search search = new Search();
+    private Aggregates aggregates = new Aggregates();
+    private Internal internal = new Internal();
+
+    @Data
+    public static class Batch {
+        private Integer maxItems = 50_000;
+        private Integer chunkSize = 500;
+    }
+
+    @Data
+    public static class Idempotency {
+        private String store = "memory";
+        private Duration ttl = Duration.ofHours(24);
+        private Integer maxEntries = 100_000;
+        private Duration waitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Execution {
+        private Boolean enabled = true;
+        private Integer workers = 8;
+        private Integer queueCapacity = 1000;
+        private Integer batchSize = 100;
+        private Duration claimTimeout = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Ledger {
+        private Integer stripes = 1024;
+        private BigDecimal overdraftLimit = BigDecimal.ZERO;
+        private Duration leaseDuration = Duration.ofSeconds(15);
+    }
+
+    @Data
+    public static class Journal {
+        private Boolean enabled = true;
+        private String directory = "data/journal";
+        private Integer segmentSize = 64 * 1024 * 1024;
+        private Duration commitTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class BeneficiaireCache {
+        private Boolean enabled = true;
+        private Integer maxEntries = 10_000;
+        private Duration positiveTtl = Duration.ofMinutes(5);
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Permanent {
+        private Boolean enabled = true;
+        private Duration horizon = Duration.ofHours(1);
+        private Integer batchSize = 500;
+        private Duration retryDelay = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Instant {
+        private Boolean enabled = true;
+        private Duration budget = Duration.ofMillis(10);
+        private Integer queueCapacity = 10_000;
+        private Integer batchSize = 500;
+        /** Attempts at persisting a batch before its virements are written, or rejected, one by one. */
+        private Integer maxAttempts = 5;
+        private Duration retryBackoff = Duration.ofMillis(100);
+        private Duration maxRetryBackoff = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Velocity {
+        private Boolean enabled = true;
+        private Integer maxKnownDestinations = 1000;
+        private List<VelocityRule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class Outbox {
+        private Boolean enabled = true;
+        private Integer batchSize = 500;
+        private Integer maxAttempts = 10;
+        private List<String> webhooks = new ArrayList<>();
+        private Duration webhookTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Stream {
+        private Integer replayCapacity = 10_000;
+        private Integer maxSubscribers = 50_000;
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+        private Integer sendQueueCapacity = 256;
+        private Integer senderThreads = 4;
+    }
+
+    @Data
+    public static class Reactive {
+        /** R2DBC URL of the database; derived from {@code spring.datasource.url} when empty. */
+        private String r2dbcUrl;
+        private Integer poolSize = 20;
+        private Duration beneficiaireTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Fx {
+        /** Spring resource location of the {@code devise,taux} rate file. */
+        private String ratesLocation = "classpath:fx-rates.csv";
+        private Duration refreshInterval = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Settlement {
+        private Boolean enabled = true;
+        private List<LocalTime> cutoffs = new ArrayList<>(List.of(
+                LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(15, 0), LocalTime.of(17, 30)));
+        private Duration pollInterval = Duration.ofSeconds(30);
+        private Integer shards = 256;
+        /** Netting threads; 0 uses one per available processor. */
+        private Integer parallelism = 0;
+        private Integer maxUnwindRounds = 10;
+        private Integer chunkSize = 1000;
+    }
+
+    @Data
+    public static class Reconciliation {
+        private Integer partitions = 64;
+        /** Partitions reconciled at once; 0 uses one per available processor. */
+        private Integer parallelism = 0;
+        private Integer accountsPerQuery = 500;
+        private String reportDirectory = "data/reconciliation";
+    }
+
+    @Data
+    public static class Archive {
+        private Boolean enabled = true;
+        /** EXECUTE and REJETE virements older than this many months leave the virements table. */
+        private Integer afterMonths = 6;
+        private String directory = "data/archive";
+        private Duration interval = Duration.ofHours(1);
+        private Integer maxRowsPerSegment = 200_000;
+        private Integer cachedSegments = 16;
+        private Double filterFalsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class Search {
+        private Boolean enabled = true;
+        /** Index terms a prefix may expand to before the query is rejected as too broad. */
+        private Integer maxPrefixTerms = 1024;
+    }
+
+    @Data
+    public static class Aggregates {
+        /** How often an instance that took the ledger lease checks whether its buckets need seeding. */
+        private Duration seedInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Internal {
+        /** Shared secret expected from, and sent to, the other services on {@code /internal/**}; blank closes those endpoints. */
+        private String token;
+    }
+
+    @Data
+    public static class VelocityRule {
+        private String name;
+        private VelocityWindow window;
+        private VelocityMetric metric;
+        private BigDecimal threshold;
+        private Boolean reject = true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.model.ArchiveSegment;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import com.bank.virementservice.service.archive.VirementArchiver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/virements/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final ArchiveStore store;
+    private final VirementArchiver archiver;
+
+    @GetMapping("/segments")
+    public ResponseEntity<List<ArchiveSegment>> segments() {
+        return ResponseEntity.ok(store.segments());
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<Long> run() {
+        return ResponseEntity.ok(archiver.archive());
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.BeneficiaireCacheStats;
+import com.bank.virementservice.service.beneficiaire.BeneficiaireValidationCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class BeneficiaireCacheController {
+
+    private final BeneficiaireValidationCache cache;
+
+    @GetMapping("/api/virements/beneficiaire-cache/stats")
+    public ResponseEntity<BeneficiaireCacheStats> stats() {
+        return ResponseEntity.ok(cache.stats());
+    }
+
+    @DeleteMapping("/internal/beneficiaires/{rib}/cache")
+    public ResponseEntity<Void> invalidate(@PathVariable String rib) {
+        cache.invalidate(rib);
+        return ResponseEntity.noContent().build();
+    }
+}
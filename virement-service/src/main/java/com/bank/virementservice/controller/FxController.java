@@ -0,0 +1,33 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.FxRates;
+import com.bank.virementservice.service.fx.FxRateSnapshot;
+import com.bank.virementservice.service.fx.FxRateTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/virements/fx")
+@RequiredArgsConstructor
+public class FxController {
+
+    private final FxRateTable fxRates;
+
+    @GetMapping("/rates")
+    public ResponseEntity<FxRates> rates() {
+        FxRateSnapshot snapshot = fxRates.current();
+        return ResponseEntity.ok(FxRates.builder()
+                .base(snapshot.getBase())
+                .version(snapshot.getVersion())
+                .source(snapshot.getSource())
+                .asOf(snapshot.getAsOf())
+                .loadedAt(snapshot.getLoadedAt())
+                .rates(new TreeMap<>(snapshot.getRates()))
+                .build());
+    }
+}
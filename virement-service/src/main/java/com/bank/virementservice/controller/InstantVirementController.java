@@ -0,0 +1,22 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.InstantStats;
+import com.bank.virementservice.service.instant.InstantVirementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/virements/instant")
+@RequiredArgsConstructor
+public class InstantVirementController {
+
+    private final InstantVirementService instantService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<InstantStats> stats() {
+        return ResponseEntity.ok(instantService.stats());
+    }
+}
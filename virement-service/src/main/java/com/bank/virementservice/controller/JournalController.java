@@ -0,0 +1,29 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.JournalStats;
+import com.bank.virementservice.service.journal.TransferJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/virements/journal")
+@RequiredArgsConstructor
+public class JournalController {
+
+    private final TransferJournal journal;
+
+    @GetMapping("/stats")
+    public ResponseEntity<JournalStats> stats() {
+        return ResponseEntity.ok(journal.stats());
+    }
+
+    @PostMapping("/snapshot")
+    public ResponseEntity<JournalStats> snapshot() {
+        journal.snapshot();
+        return ResponseEntity.ok(journal.stats());
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.AccountBalanceDTO;
+import com.bank.virementservice.dto.CreditRequest;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/virements/ledger")
+@RequiredArgsConstructor
+public class LedgerController {
+
+    private final AccountLedger ledger;
+
+    @GetMapping("/{account}")
+    public ResponseEntity<AccountBalanceDTO> getBalance(@PathVariable String account) {
+        return ResponseEntity.ok(toDTO(account));
+    }
+
+    @PostMapping("/{account}/credit")
+    public ResponseEntity<AccountBalanceDTO> credit(@PathVariable String account,
+                                                    @Valid @RequestBody CreditRequest request) {
+        ledger.credit(account, request.getMontant());
+        return ResponseEntity.ok(toDTO(account));
+    }
+
+    private AccountBalanceDTO toDTO(String account) {
+        return AccountBalanceDTO.builder()
+                .account(account)
+                .balance(ledger.balance(account))
+                .build();
+    }
+}
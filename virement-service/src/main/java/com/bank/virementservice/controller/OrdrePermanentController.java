@@ -0,0 +1,34 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.OrdrePermanentRequest;
+import com.bank.virementservice.dto.OrdrePermanentResponse;
+import com.bank.virementservice.service.permanent.OrdrePermanentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/virements/permanents")
+@RequiredArgsConstructor
+public class OrdrePermanentController {
+
+    private final OrdrePermanentService service;
+
+    @PostMapping
+    public ResponseEntity<OrdrePermanentResponse> create(@Valid @RequestBody OrdrePermanentRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrdrePermanentResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id) {
+        service.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.OutboxStats;
+import com.bank.virementservice.service.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/virements/outbox")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final OutboxRelay relay;
+
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStats> stats() {
+        return ResponseEntity.ok(relay.stats());
+    }
+}
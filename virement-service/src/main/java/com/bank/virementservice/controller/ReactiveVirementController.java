@@ -0,0 +1,125 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.DailySummary;
+import com.bank.virementservice.dto.VirementBatchResponse;
+import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.model.SensVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.service.ReactiveVirementService;
+import com.bank.virementservice.service.VirementService;
+import com.bank.virementservice.service.idempotency.IdempotencyService;
+import com.bank.virementservice.service.instant.InstantVirementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link VirementController} for the {@code reactive} profile, same routes and payloads. The
+ * single-virement routes, paging and export go through {@link ReactiveVirementService}; the
+ * batch, account history, per-day and idempotent routes still use the blocking service, moved
+ * off the event loop onto the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping("/api/virements")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveVirementController {
+
+    private final ReactiveVirementService reactiveService;
+    private final VirementService service;
+    private final IdempotencyService idempotencyService;
+    private final InstantVirementService instantService;
+    private final VirementProperties properties;
+
+    @PostMapping
+    public Mono<ResponseEntity<VirementResponse>> create(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                         @Valid @RequestBody VirementRequest request) {
+        Mono<VirementResponse> response;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            response = blocking(() -> idempotencyService.execute(idempotencyKey, request, () -> submit(request).block()));
+        } else {
+            response = submit(request);
+        }
+        return response.map(body -> ResponseEntity.status(HttpStatus.CREATED).body(body));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<VirementBatchResponse>> createBatch(@RequestBody List<VirementRequest> requests) {
+        return blocking(() -> service.createBatch(requests)).map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<VirementResponse>> update(@PathVariable Long id,
+                                                         @Valid @RequestBody VirementRequest request) {
+        return reactiveService.update(id, request).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return reactiveService.delete(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<VirementResponse>> getById(@PathVariable Long id) {
+        return reactiveService.getById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<VirementPage>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return reactiveService.getPage(cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/account/{account}")
+    public Mono<ResponseEntity<VirementPage>> getByAccount(@PathVariable String account,
+                                                           @RequestParam(value = "sens", defaultValue = "TOUS") SensVirement sens,
+                                                           @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return blocking(() -> service.getAccountPage(account, sens, from, to, cursor, limit)).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VirementDTO> export() {
+        return reactiveService.streamAll();
+    }
+
+    @GetMapping("/date")
+    public Mono<ResponseEntity<List<VirementDTO>>> getByDate(@RequestParam("value") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return blocking(() -> service.getByDate(date)).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<DailySummary>> getDailySummary(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return blocking(() -> service.getDailySummary(date)).map(ResponseEntity::ok);
+    }
+
+    private Mono<VirementResponse> submit(VirementRequest request) {
+        if (request.getType() == TypeVirement.INSTANTANE && properties.getInstant().getEnabled()
+                && instantService.isAvailable()) {
+            return blocking(() -> instantService.create(request));
+        }
+        return reactiveService.create(request);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
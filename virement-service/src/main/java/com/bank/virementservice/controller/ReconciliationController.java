@@ -0,0 +1,66 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.model.ReconciliationPartition;
+import com.bank.virementservice.model.ReconciliationRun;
+import com.bank.virementservice.repository.ReconciliationRunRepository;
+import com.bank.virementservice.service.reconciliation.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/virements/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationRunRepository runRepository;
+
+    @PostMapping("/runs")
+    public ResponseEntity<ReconciliationRun> start() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.start());
+    }
+
+    @PostMapping("/runs/{id}/resume")
+    public ResponseEntity<ReconciliationRun> resume(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.resume(id));
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ReconciliationRun>> runs(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(runRepository.findAllByOrderByIdDesc(PageRequest.ofSize(Math.max(1, limit))));
+    }
+
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<ReconciliationRun> run(@PathVariable Long id) {
+        return ResponseEntity.ok(reconciliationService.find(id));
+    }
+
+    @GetMapping("/runs/{id}/partitions")
+    public ResponseEntity<List<ReconciliationPartition>> partitions(@PathVariable Long id) {
+        return ResponseEntity.ok(reconciliationService.partitions(id));
+    }
+
+    @GetMapping("/runs/{id}/report")
+    public ResponseEntity<Resource> report(@PathVariable Long id) {
+        return reconciliationService.report(id)
+                .<ResponseEntity<Resource>>map(path -> ResponseEntity.ok()
+                        .contentType(TEXT_CSV)
+                        .body(new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
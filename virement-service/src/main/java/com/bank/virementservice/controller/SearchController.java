@@ -0,0 +1,25 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.VirementPage;
+import com.bank.virementservice.service.search.VirementSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/virements/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final VirementSearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<VirementPage> search(@RequestParam("q") String query,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(searchService.search(query, cursor, limit));
+    }
+}
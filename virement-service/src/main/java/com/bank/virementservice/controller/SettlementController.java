@@ -0,0 +1,41 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.model.SettlementBatch;
+import com.bank.virementservice.model.SettlementPosition;
+import com.bank.virementservice.repository.SettlementBatchRepository;
+import com.bank.virementservice.repository.SettlementPositionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/virements/settlement")
+@RequiredArgsConstructor
+public class SettlementController {
+
+    private final SettlementBatchRepository batchRepository;
+    private final SettlementPositionRepository positionRepository;
+
+    @GetMapping("/batches")
+    public ResponseEntity<List<SettlementBatch>> batches(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(batchRepository.findAllByOrderByWindowEndDesc(PageRequest.ofSize(Math.max(1, limit))));
+    }
+
+    @GetMapping("/batches/{id}/positions")
+    public ResponseEntity<List<SettlementPosition>> positions(@PathVariable Long id,
+                                                              @RequestParam(defaultValue = "false") boolean pairs) {
+        if (!batchRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(pairs
+                ? positionRepository.findByBatchIdAndCounterpartyIsNotNullOrderByAccountAscCounterpartyAsc(id)
+                : positionRepository.findByBatchIdAndCounterpartyIsNullOrderByAccount(id));
+    }
+}
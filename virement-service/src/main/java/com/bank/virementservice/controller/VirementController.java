@@ -1,29 +1,60 @@
 package com.bank.virementservice.controller;
 
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.DailySummary;
+import com.bank.virementservice.dto.VirementBatchResponse;
 import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
 import com.bank.virementservice.dto.VirementRequest;
 import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.model.SensVirement;
+import com.bank.virementservice.model.TypeVirement;
 import com.bank.virementservice.service.VirementService;
+import com.bank.virementservice.service.idempotency.IdempotencyService;
+import com.bank.virementservice.service.instant.InstantVirementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/virements")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class VirementController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final VirementService service;
+    private final IdempotencyService idempotencyService;
+    private final InstantVirementService instantService;
+    private final VirementProperties properties;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<VirementResponse> create(@Valid @RequestBody VirementRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(request));
+    public ResponseEntity<VirementResponse> create(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                   @Valid @RequestBody VirementRequest request) {
+        VirementResponse response = idempotencyKey == null || idempotencyKey.isBlank()
+                ? submit(request)
+                : idempotencyService.execute(idempotencyKey, request, () -> submit(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<VirementBatchResponse> createBatch(@RequestBody List<VirementRequest> requests) {
+        return ResponseEntity.ok(service.createBatch(requests));
     }
 
     @PutMapping("/{id}")
@@ -44,12 +75,50 @@ public class VirementController {
     }
 
     @GetMapping
-    public ResponseEntity<List<VirementDTO>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    public ResponseEntity<VirementPage> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(service.getPage(cursor, limit));
+    }
+
+    @GetMapping("/account/{account}")
+    public ResponseEntity<VirementPage> getByAccount(@PathVariable String account,
+                                                     @RequestParam(value = "sens", defaultValue = "TOUS") SensVirement sens,
+                                                     @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(service.getAccountPage(account, sens, from, to, cursor, limit));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(VirementDTO.class);
+        StreamingResponseBody body = out -> service.streamAll(dto -> {
+            try {
+                out.write(writer.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/date")
     public ResponseEntity<List<VirementDTO>> getByDate(@RequestParam("value") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(service.getByDate(date));
     }
+
+    @GetMapping("/summary")
+    public ResponseEntity<DailySummary> getDailySummary(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(service.getDailySummary(date));
+    }
+
+    private VirementResponse submit(VirementRequest request) {
+        if (request.getType() == TypeVirement.INSTANTANE && properties.getInstant().getEnabled()
+                && instantService.isAvailable()) {
+            return instantService.create(request);
+        }
+        return service.create(request);
+    }
 }
@@ -0,0 +1,22 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.dto.ExecutionStats;
+import com.bank.virementservice.service.execution.VirementExecutionEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/virements/execution")
+@RequiredArgsConstructor
+public class VirementExecutionController {
+
+    private final VirementExecutionEngine engine;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ExecutionStats> stats() {
+        return ResponseEntity.ok(engine.stats());
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.virementservice.controller;
+
+import com.bank.virementservice.service.stream.VirementEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/virements/stream")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class VirementStreamController {
+
+    private final VirementEventStream stream;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam String account,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return stream.subscribe(account, lastEventId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.Money;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AccountBalanceDTO {
+    private String account;
+    private Money balance;
+}
@@ -0,0 +1,17 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BeneficiaireCacheStats {
+    private int size;
+    private long hits;
+    private long negativeHits;
+    private long misses;
+    private long coalesced;
+    private long evictions;
+    private long invalidations;
+    private double hitRatio;
+}
@@ -0,0 +1,14 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.validation.PositiveMoney;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CreditRequest {
+
+    @NotNull
+    @PositiveMoney
+    private Money montant;
+}
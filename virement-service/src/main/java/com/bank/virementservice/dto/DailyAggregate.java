@@ -0,0 +1,14 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.Money;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DailyAggregate {
+    private long count;
+    private Money total;
+    private Money min;
+    private Money max;
+}
@@ -0,0 +1,17 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.TypeVirement;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+public class DailySummary {
+    private LocalDate date;
+    private DailyAggregate total;
+    private Map<TypeVirement, DailyAggregate> byType;
+    private Map<String, DailyAggregate> byStatut;
+}
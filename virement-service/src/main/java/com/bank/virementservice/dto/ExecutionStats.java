@@ -0,0 +1,17 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ExecutionStats {
+    private String instanceId;
+    private long pendingInDatabase;
+    private int queuedLocally;
+    private int activeWorkers;
+    private long executed;
+    private long rejected;
+    private long failed;
+    private double throughputPerSecond;
+}
@@ -0,0 +1,19 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+public class FxRates {
+    private String base;
+    private long version;
+    private String source;
+    private Instant asOf;
+    private Instant loadedAt;
+    private Map<String, BigDecimal> rates;
+}
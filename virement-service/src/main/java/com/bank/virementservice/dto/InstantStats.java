@@ -0,0 +1,19 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class InstantStats {
+    private long budgetMicros;
+    private long overBudget;
+    private int pendingPersistence;
+    private long persisted;
+    private long persistenceFailures;
+    private long persistenceRejected;
+    private long recovered;
+    private Map<String, StageLatency> stages;
+}
@@ -0,0 +1,22 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class JournalStats {
+    private boolean enabled;
+    private long lastSequence;
+    private long durableSequence;
+    private long snapshotSequence;
+    private long replayedRecords;
+    private long created;
+    private long completed;
+    private int openTransfers;
+    private int unpersisted;
+    private long commits;
+    private double recordsPerCommit;
+    private int bytesUsed;
+    private int capacity;
+}
@@ -0,0 +1,41 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.FrequenceVirement;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.validation.PositiveMoney;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class OrdrePermanentRequest {
+
+    @NotBlank
+    private String sourceAccount;
+
+    @NotBlank
+    private String destinationAccount;
+
+    @NotNull
+    @PositiveMoney
+    private Money montant;
+
+    @NotNull
+    private FrequenceVirement frequence;
+
+    @NotNull
+    private LocalDateTime firstDueAt;
+
+    private LocalDate endDate;
+
+    private String motif;
+
+    @AssertTrue(message = "endDate must not precede firstDueAt")
+    public boolean isEndDateValid() {
+        return endDate == null || firstDueAt == null || !endDate.isBefore(firstDueAt.toLocalDate());
+    }
+}
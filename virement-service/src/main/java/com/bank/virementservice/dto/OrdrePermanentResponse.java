@@ -0,0 +1,27 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.FrequenceVirement;
+import com.bank.virementservice.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrdrePermanentResponse {
+    private Long id;
+    private String sourceAccount;
+    private String destinationAccount;
+    private Money montant;
+    private FrequenceVirement frequence;
+    private LocalDateTime nextDueAt;
+    private LocalDate endDate;
+    private boolean active;
+    private String motif;
+}
@@ -0,0 +1,19 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class OutboxStats {
+    private boolean enabled;
+    private List<String> subscribers;
+    private long pending;
+    private long lagMillis;
+    private long batches;
+    private long delivered;
+    private long failed;
+    private long deadLettered;
+}
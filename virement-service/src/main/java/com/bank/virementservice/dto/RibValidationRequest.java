@@ -0,0 +1,14 @@
+package com.bank.virementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RibValidationRequest {
+    private List<String> ribs;
+}
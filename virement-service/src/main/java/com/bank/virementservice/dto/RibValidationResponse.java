@@ -0,0 +1,17 @@
+package com.bank.virementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RibValidationResponse {
+    private List<String> valid;
+    private List<String> unknown;
+}
@@ -0,0 +1,13 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StageLatency {
+    private long count;
+    private double p50Micros;
+    private double p99Micros;
+    private double p999Micros;
+}
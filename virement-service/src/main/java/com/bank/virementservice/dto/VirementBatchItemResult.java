@@ -0,0 +1,13 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class VirementBatchItemResult {
+    private int index;
+    private String status;
+    private Long id;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class VirementBatchResponse {
+    private int total;
+    private int accepted;
+    private int rejected;
+    private List<VirementBatchItemResult> results;
+}
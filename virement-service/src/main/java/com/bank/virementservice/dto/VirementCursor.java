@@ -0,0 +1,43 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.exception.InvalidCursorException;
+import com.bank.virementservice.model.Virement;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position on (dateExecution, id), encoded as URL-safe base64.
+ */
+@Value
+public class VirementCursor {
+
+    LocalDateTime dateExecution;
+    Long id;
+
+    public static VirementCursor of(Virement entity) {
+        return new VirementCursor(entity.getDateExecution(), entity.getId());
+    }
+
+    public String encode() {
+        String raw = dateExecution + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static VirementCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new VirementCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
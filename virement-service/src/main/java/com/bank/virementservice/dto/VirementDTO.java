@@ -1,5 +1,6 @@
 package com.bank.virementservice.dto;
 
+import com.bank.virementservice.model.Money;
 import com.bank.virementservice.model.TypeVirement;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +14,10 @@ public class VirementDTO {
     private Long id;
     private String sourceAccount;
     private String destinationAccount;
-    private BigDecimal montant;
+    private Money montant;
+    private String devise;
+    private BigDecimal montantDevise;
+    private BigDecimal tauxChange;
     private TypeVirement type;
     private LocalDateTime dateExecution;
     private String statut;
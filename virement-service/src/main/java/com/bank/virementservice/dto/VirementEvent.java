@@ -0,0 +1,36 @@
+package com.bank.virementservice.dto;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.VirementEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirementEvent {
+    private Long eventId;
+    private VirementEventType eventType;
+    private Long virementId;
+    private String sourceAccount;
+    private String destinationAccount;
+    private Money montant;
+    private String devise;
+    private BigDecimal montantDevise;
+    private TypeVirement type;
+    private LocalDateTime dateExecution;
+    /** Amount, type and execution date before the change, on UPDATED events only. */
+    private Money previousMontant;
+    private TypeVirement previousType;
+    private LocalDateTime previousDateExecution;
+    private String previousStatut;
+    private String statut;
+    private LocalDateTime occurredAt;
+}
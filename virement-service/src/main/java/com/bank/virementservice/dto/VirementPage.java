@@ -0,0 +1,14 @@
+package com.bank.virementservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class VirementPage {
+    private List<VirementDTO> content;
+    private int size;
+    private String nextCursor;
+}
@@ -1,9 +1,10 @@
 package com.bank.virementservice.dto;
 
 import com.bank.virementservice.model.TypeVirement;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -17,10 +18,18 @@ public class VirementRequest {
     @NotBlank
     private String destinationAccount;
 
+    /**
+     * Amount in {@link #devise}. Kept as a plain decimal because its allowed scale depends on
+     * that currency; {@code FxRateTable} checks it when pricing the request.
+     */
     @NotNull
-    @DecimalMin(value = "0.0", inclusive = false)
+    @Positive
     private BigDecimal montant;
 
+    /** ISO 4217 code {@code montant} is expressed in; the base currency when absent. */
+    @Pattern(regexp = "[A-Z]{3}", message = "devise must be an ISO 4217 code")
+    private String devise;
+
     @NotNull
     private TypeVirement type;
 
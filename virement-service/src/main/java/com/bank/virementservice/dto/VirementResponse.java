@@ -1,19 +1,27 @@
 package com.bank.virementservice.dto;
 
+import com.bank.virementservice.model.Money;
 import com.bank.virementservice.model.TypeVirement;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class VirementResponse {
     private Long id;
     private String sourceAccount;
     private String destinationAccount;
-    private BigDecimal montant;
+    private Money montant;
+    private String devise;
+    private BigDecimal montantDevise;
+    private BigDecimal tauxChange;
     private TypeVirement type;
     private LocalDateTime dateExecution;
     private String statut;
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class ArchivedVirementException extends RuntimeException {
+    public ArchivedVirementException(Long id) {
+        super("Virement " + id + " is archived and can no longer be modified");
+    }
+}
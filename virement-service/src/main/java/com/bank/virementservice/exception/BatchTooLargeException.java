@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int maxItems) {
+        super("Batch of " + size + " virements exceeds the limit of " + maxItems);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class IdempotencyInProgressException extends RuntimeException {
+    public IdempotencyInProgressException(String key) {
+        super("Request with idempotency key " + key + " is still being processed");
+    }
+}
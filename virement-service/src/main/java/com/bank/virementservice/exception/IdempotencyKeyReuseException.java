@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency key " + key + " was already used with a different request");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class InvalidBeneficiaireException extends RuntimeException {
+    public InvalidBeneficiaireException(String rib) {
+        super("Beneficiaire with RIB " + rib + " is unknown");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Idempotency-Key must not be longer than " + maxLength + " characters");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class LedgerUnavailableException extends RuntimeException {
+    public LedgerUnavailableException() {
+        super("This instance does not hold the ledger lease; balances cannot be moved here");
+    }
+}
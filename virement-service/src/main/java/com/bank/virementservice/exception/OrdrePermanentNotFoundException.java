@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class OrdrePermanentNotFoundException extends RuntimeException {
+    public OrdrePermanentNotFoundException(Long id) {
+        super("Ordre permanent not found with id " + id);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.virementservice.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GlobalExceptionHandler} for the {@code reactive} profile: same statuses and body, with
+ * WebFlux's request and binding types.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler({VirementNotFoundException.class, OrdrePermanentNotFoundException.class,
+            ReconciliationRunNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler({InsufficientFundsException.class, InvalidBeneficiaireException.class, InvalidCursorException.class,
+            InvalidIdempotencyKeyException.class, InvalidSearchQueryException.class, UnsupportedCurrencyException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(RuntimeException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler({VelocityLimitExceededException.class, IdempotencyKeyReuseException.class})
+    public ResponseEntity<ErrorResponse> handleUnprocessable(RuntimeException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY, request);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLarge(BatchTooLargeException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE, request);
+    }
+
+    @ExceptionHandler(ArchivedVirementException.class)
+    public ResponseEntity<ErrorResponse> handleArchivedVirement(ArchivedVirementException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(VirementNotModifiableException.class)
+    public ResponseEntity<ErrorResponse> handleVirementNotModifiable(VirementNotModifiableException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleReconciliationInProgress(ReconciliationInProgressException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(IdempotencyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyInProgress(IdempotencyInProgressException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(JournalException.class)
+    public ResponseEntity<ErrorResponse> handleJournal(JournalException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSearchIndexUnavailable(SearchIndexUnavailableException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    @ExceptionHandler(LedgerUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLedgerUnavailable(LedgerUnavailableException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(WebExchangeBindException ex, ServerHttpRequest request) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+        return buildResponse(message, HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadable(ServerWebInputException ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMostSpecificCause().getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, ServerHttpRequest request) {
+        return buildResponse(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, request);
+    }
+
+    private ResponseEntity<ErrorResponse> buildResponse(String message, HttpStatus status, ServerHttpRequest request) {
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getPath().value())
+                .build();
+        return new ResponseEntity<>(body, status);
+    }
+}
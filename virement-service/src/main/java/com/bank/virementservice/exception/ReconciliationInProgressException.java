@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class ReconciliationInProgressException extends RuntimeException {
+    public ReconciliationInProgressException(Long runId) {
+        super("Reconciliation run " + runId + " is still in progress");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class ReconciliationRunNotFoundException extends RuntimeException {
+    public ReconciliationRunNotFoundException(Long id) {
+        super("Reconciliation run not found with id " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class TooManySubscribersException extends RuntimeException {
+    public TooManySubscribersException(int maxSubscribers) {
+        super("Stream subscriber limit of " + maxSubscribers + " reached");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class UnsupportedCurrencyException extends RuntimeException {
+    public UnsupportedCurrencyException(String devise, String reason) {
+        super("Cannot accept a virement in " + devise + ": " + reason);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class VelocityLimitExceededException extends RuntimeException {
+    public VelocityLimitExceededException(String rule, String account) {
+        super("Velocity rule " + rule + " exceeded for account " + account);
+    }
+}
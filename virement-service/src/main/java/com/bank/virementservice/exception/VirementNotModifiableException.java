@@ -0,0 +1,7 @@
+package com.bank.virementservice.exception;
+
+public class VirementNotModifiableException extends RuntimeException {
+    public VirementNotModifiableException(Long id) {
+        super("Virement " + id + " is being executed or already settled and can no longer be modified");
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.virementservice.mapper;
+
+import com.bank.virementservice.dto.OrdrePermanentRequest;
+import com.bank.virementservice.dto.OrdrePermanentResponse;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.model.OrdrePermanent;
+import com.bank.virementservice.model.TypeVirement;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+
+@Component
+public class OrdrePermanentMapper {
+
+    public OrdrePermanent toEntity(OrdrePermanentRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return OrdrePermanent.builder()
+                .sourceAccount(request.getSourceAccount())
+                .destinationAccount(request.getDestinationAccount())
+                .montant(request.getMontant())
+                .frequence(request.getFrequence())
+                .nextDueAt(request.getFirstDueAt().truncatedTo(ChronoUnit.SECONDS))
+                .endDate(request.getEndDate())
+                .active(true)
+                .motif(request.getMotif())
+                .build();
+    }
+
+    public OrdrePermanentResponse toResponse(OrdrePermanent entity) {
+        if (entity == null) {
+            return null;
+        }
+        return OrdrePermanentResponse.builder()
+                .id(entity.getId())
+                .sourceAccount(entity.getSourceAccount())
+                .destinationAccount(entity.getDestinationAccount())
+                .montant(entity.getMontant())
+                .frequence(entity.getFrequence())
+                .nextDueAt(entity.getNextDueAt())
+                .endDate(entity.getEndDate())
+                .active(entity.isActive())
+                .motif(entity.getMotif())
+                .build();
+    }
+
+    public VirementRequest toVirementRequest(OrdrePermanent entity) {
+        VirementRequest request = new VirementRequest();
+        request.setSourceAccount(entity.getSourceAccount());
+        request.setDestinationAccount(entity.getDestinationAccount());
+        request.setMontant(entity.getMontant().toBigDecimal());
+        request.setType(TypeVirement.PERMANENT);
+        request.setMotif(entity.getMotif());
+        return request;
+    }
+}
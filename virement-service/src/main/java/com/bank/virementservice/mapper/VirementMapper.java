@@ -3,7 +3,9 @@ package com.bank.virementservice.mapper;
 import com.bank.virementservice.dto.VirementDTO;
 import com.bank.virementservice.dto.VirementRequest;
 import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.model.StatutVirement;
 import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.fx.FxConversion;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -11,17 +13,20 @@ import java.time.LocalDateTime;
 @Component
 public class VirementMapper {
 
-    public Virement toEntity(VirementRequest request) {
+    public Virement toEntity(VirementRequest request, FxConversion conversion) {
         if (request == null) {
             return null;
         }
         return Virement.builder()
                 .sourceAccount(request.getSourceAccount())
                 .destinationAccount(request.getDestinationAccount())
-                .montant(request.getMontant())
+                .montant(conversion.getMontant())
+                .devise(conversion.getDevise())
+                .montantDevise(conversion.getMontantDevise())
+                .tauxChange(conversion.getTauxChange())
                 .type(request.getType())
                 .dateExecution(LocalDateTime.now())
-                .statut("EN_COURS")
+                .statut(StatutVirement.EN_COURS)
                 .motif(request.getMotif())
                 .build();
     }
@@ -35,6 +40,9 @@ public class VirementMapper {
                 .sourceAccount(entity.getSourceAccount())
                 .destinationAccount(entity.getDestinationAccount())
                 .montant(entity.getMontant())
+                .devise(entity.getDevise())
+                .montantDevise(entity.getMontantDevise())
+                .tauxChange(entity.getTauxChange())
                 .type(entity.getType())
                 .dateExecution(entity.getDateExecution())
                 .statut(entity.getStatut())
@@ -51,6 +59,9 @@ public class VirementMapper {
                 .sourceAccount(entity.getSourceAccount())
                 .destinationAccount(entity.getDestinationAccount())
                 .montant(entity.getMontant())
+                .devise(entity.getDevise())
+                .montantDevise(entity.getMontantDevise())
+                .tauxChange(entity.getTauxChange())
                 .type(entity.getType())
                 .dateExecution(entity.getDateExecution())
                 .statut(entity.getStatut())
@@ -58,13 +69,16 @@ public class VirementMapper {
                 .build();
     }
 
-    public void updateEntity(Virement entity, VirementRequest request) {
+    public void updateEntity(Virement entity, VirementRequest request, FxConversion conversion) {
         if (entity == null || request == null) {
             return;
         }
         entity.setSourceAccount(request.getSourceAccount());
         entity.setDestinationAccount(request.getDestinationAccount());
-        entity.setMontant(request.getMontant());
+        entity.setMontant(conversion.getMontant());
+        entity.setDevise(conversion.getDevise());
+        entity.setMontantDevise(conversion.getMontantDevise());
+        entity.setTauxChange(conversion.getTauxChange());
         entity.setType(request.getType());
         entity.setMotif(request.getMotif());
     }
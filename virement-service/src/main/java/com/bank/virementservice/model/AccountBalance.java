@@ -0,0 +1,31 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_balances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalance {
+
+    @Id
+    private String account;
+
+    @Column(nullable = false)
+    private Money balance;
+
+    /** Everything credited from outside the ledger, i.e. the part of the balance no virement explains. */
+    @Column(nullable = false)
+    private Money credited;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
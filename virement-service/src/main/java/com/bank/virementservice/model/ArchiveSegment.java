@@ -0,0 +1,62 @@
+package com.bank.virementservice.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Index entry of one archive file: the virements of {@link #segmentDate} it holds, the id and
+ * date ranges it covers and a filter over its accounts, enough to tell which files a lookup
+ * has to open.
+ */
+@Entity
+@Table(name = "archive_segments", indexes = @Index(name = "idx_archive_segments_date", columnList = "segment_date, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "archive_segment_seq")
+    @SequenceGenerator(name = "archive_segment_seq", sequenceName = "archive_segment_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "segment_date", nullable = false)
+    private LocalDate segmentDate;
+
+    @Column(nullable = false, length = 512)
+    private String path;
+
+    @Column(nullable = false)
+    private int rowCount;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private long minId;
+
+    @Column(nullable = false)
+    private long maxId;
+
+    @Column(nullable = false)
+    private LocalDateTime minDate;
+
+    @Column(nullable = false)
+    private LocalDateTime maxDate;
+
+    @JsonIgnore
+    @Lob
+    @Column(name = "account_filter", nullable = false)
+    private byte[] accountFilter;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
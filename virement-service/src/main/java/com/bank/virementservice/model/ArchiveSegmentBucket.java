@@ -0,0 +1,46 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Count and amount range of the virements of one type and statut in an archive segment, so
+ * daily summaries keep covering archived days without reading the files.
+ */
+@Entity
+@Table(name = "archive_segment_buckets", indexes = @Index(name = "idx_archive_segment_buckets_segment", columnList = "segment_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegmentBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "segment_id", nullable = false)
+    private Long segmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TypeVirement type;
+
+    @Column(nullable = false)
+    private String statut;
+
+    @Column(nullable = false)
+    private long virements;
+
+    @Column(nullable = false)
+    private Money total;
+
+    @Column(nullable = false)
+    private Money minimum;
+
+    @Column(nullable = false)
+    private Money maximum;
+}
@@ -0,0 +1,26 @@
+package com.bank.virementservice.model;
+
+import java.time.LocalDateTime;
+
+public enum FrequenceVirement {
+    QUOTIDIEN,
+    HEBDOMADAIRE,
+    MENSUEL,
+    TRIMESTRIEL,
+    ANNUEL;
+
+    public LocalDateTime next(LocalDateTime due) {
+        switch (this) {
+            case QUOTIDIEN:
+                return due.plusDays(1);
+            case HEBDOMADAIRE:
+                return due.plusWeeks(1);
+            case MENSUEL:
+                return due.plusMonths(1);
+            case TRIMESTRIEL:
+                return due.plusMonths(3);
+            default:
+                return due.plusYears(1);
+        }
+    }
+}
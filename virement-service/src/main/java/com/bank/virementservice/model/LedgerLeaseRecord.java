@@ -0,0 +1,24 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerLeaseRecord {
+
+    @Id
+    private Integer id;
+
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
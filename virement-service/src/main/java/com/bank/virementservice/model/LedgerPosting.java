@@ -0,0 +1,44 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One balance movement not yet folded into {@link AccountBalance}. A posting commits in the
+ * same transaction as the change that caused it, so the balance of an account is always its
+ * {@code account_balances} row plus its remaining postings.
+ */
+@Entity
+@Table(name = "ledger_postings", indexes = @Index(name = "idx_ledger_postings_account", columnList = "account"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerPosting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String account;
+
+    /** Signed: debits are negative. */
+    @Column(nullable = false)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerPostingKind kind;
+
+    /** Virement id, or settlement batch id for {@link LedgerPostingKind#SETTLEMENT}. */
+    private Long reference;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
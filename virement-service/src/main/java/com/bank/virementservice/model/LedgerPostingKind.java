@@ -0,0 +1,7 @@
+package com.bank.virementservice.model;
+
+public enum LedgerPostingKind {
+    VIREMENT,
+    SETTLEMENT,
+    CREDIT
+}
@@ -0,0 +1,47 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ordres_permanents", indexes = @Index(name = "idx_ordres_permanents_due", columnList = "active, next_due_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrdrePermanent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordre_permanent_seq")
+    @SequenceGenerator(name = "ordre_permanent_seq", sequenceName = "ordre_permanent_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sourceAccount;
+
+    @Column(nullable = false)
+    private String destinationAccount;
+
+    @Column(nullable = false)
+    private Money montant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FrequenceVirement frequence;
+
+    @Column(name = "next_due_at", nullable = false)
+    private LocalDateTime nextDueAt;
+
+    private LocalDate endDate;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    private String motif;
+}
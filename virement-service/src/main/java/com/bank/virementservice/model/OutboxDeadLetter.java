@@ -0,0 +1,48 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** An outbox event the relay gave up on, kept with the reason for manual replay. */
+@Entity
+@Table(name = "virement_outbox_dead_letters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDeadLetter {
+
+    /** Id the event had in the outbox. */
+    @Id
+    private Long id;
+
+    @Column(name = "virement_id", nullable = false)
+    private Long virementId;
+
+    @Column(name = "account", nullable = false)
+    private String account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private VirementEventType eventType;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "reason", length = 1000)
+    private String reason;
+
+    @Column(name = "dead_lettered_at", nullable = false)
+    private LocalDateTime deadLetteredAt;
+}
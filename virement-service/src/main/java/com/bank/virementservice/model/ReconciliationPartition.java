@@ -0,0 +1,47 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A partition of a reconciliation run that went through; a resumed run skips these.
+ */
+@Entity
+@Table(name = "reconciliation_partitions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reconciliation_partition", columnNames = {"run_id", "partition_no"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partition;
+
+    @Column(nullable = false)
+    private long accounts;
+
+    @Column(nullable = false)
+    private long postings;
+
+    @Column(nullable = false)
+    private long differences;
+
+    @Column(nullable = false)
+    private long elapsedMillis;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,68 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One settlement window: the NATIONAL virements due by {@link #windowEnd} that were netted
+ * together, and what came out of it.
+ */
+@Entity
+@Table(name = "settlement_batches")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlement_batch_seq")
+    @SequenceGenerator(name = "settlement_batch_seq", sequenceName = "settlement_batch_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false, unique = true)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime settledAt;
+
+    @Column(nullable = false)
+    private long grossCount;
+
+    @Column(nullable = false)
+    private Money grossAmount;
+
+    /** Sum of the net debits actually moved on the ledger. */
+    @Column(nullable = false)
+    private Money netAmount;
+
+    @Column(nullable = false)
+    private long executedCount;
+
+    @Column(nullable = false)
+    private long rejectedCount;
+
+    /** Virements left EN_COURS for the next window after the unwind rounds ran out. */
+    @Column(nullable = false)
+    private long carriedOverCount;
+
+    @Column(nullable = false)
+    private int pairPositions;
+
+    @Column(nullable = false)
+    private int accountPositions;
+
+    @Column(nullable = false)
+    private int unwindRounds;
+
+    @Column(nullable = false)
+    private long nettingMillis;
+}
@@ -0,0 +1,39 @@
+package com.bank.virementservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A net position of a settlement batch. With a counterparty, {@code account} owes it
+ * {@code amount} on their bilateral flows; without one, {@code amount} is the account's
+ * multilateral net movement, negative for a net payer.
+ */
+@Entity
+@Table(name = "settlement_positions", indexes = @Index(name = "idx_settlement_positions_batch", columnList = "batch_id, account"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementPosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false)
+    private Long batchId;
+
+    @Column(nullable = false)
+    private String account;
+
+    private String counterparty;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false)
+    private long postings;
+}
@@ -0,0 +1,12 @@
+package com.bank.virementservice.model;
+
+public final class StatutVirement {
+
+    public static final String EN_ATTENTE = "EN_ATTENTE";
+    public static final String EN_COURS = "EN_COURS";
+    public static final String EXECUTE = "EXECUTE";
+    public static final String REJETE = "REJETE";
+
+    private StatutVirement() {
+    }
+}
@@ -10,7 +10,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "virements")
+@Table(name = "virements", indexes = {
+        @Index(name = "idx_virements_statut", columnList = "statut, id"),
+        @Index(name = "idx_virements_date", columnList = "date_execution, id"),
+        @Index(name = "idx_virements_source_date", columnList = "source_account, date_execution, id"),
+        @Index(name = "idx_virements_destination_date", columnList = "destination_account, date_execution, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,27 +23,43 @@ import java.time.LocalDateTime;
 public class Virement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "virement_seq")
+    @SequenceGenerator(name = "virement_seq", sequenceName = "virement_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "source_account", nullable = false)
     private String sourceAccount;
 
-    @Column(nullable = false)
+    @Column(name = "destination_account", nullable = false)
     private String destinationAccount;
 
+    /** Amount in the base currency, whatever currency the virement was ordered in. */
     @Column(nullable = false)
-    private BigDecimal montant;
+    private Money montant;
+
+    @Column(length = 3)
+    private String devise;
+
+    /** Ordered amount in {@link #devise}; null when that is the base currency. */
+    @Column(name = "montant_devise", precision = 19, scale = 4)
+    private BigDecimal montantDevise;
+
+    @Column(name = "taux_change", precision = 19, scale = 10)
+    private BigDecimal tauxChange;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TypeVirement type;
 
-    @Column(nullable = false)
+    @Column(name = "date_execution", nullable = false)
     private LocalDateTime dateExecution;
 
     @Column(nullable = false)
     private String statut;
 
     private String motif;
+
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
 }
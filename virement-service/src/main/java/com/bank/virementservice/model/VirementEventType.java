@@ -0,0 +1,8 @@
+package com.bank.virementservice.model;
+
+public enum VirementEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
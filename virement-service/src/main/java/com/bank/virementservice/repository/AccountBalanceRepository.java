@@ -0,0 +1,17 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.AccountBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, String> {
+
+    /** Committed balance of an account: its checkpointed row plus the postings not folded in yet. */
+    @Query(value = "SELECT COALESCE((SELECT b.balance FROM account_balances b WHERE b.account = :account), 0) "
+            + "+ COALESCE((SELECT SUM(p.amount) FROM ledger_postings p WHERE p.account = :account), 0)",
+            nativeQuery = true)
+    BigDecimal position(@Param("account") String account);
+}
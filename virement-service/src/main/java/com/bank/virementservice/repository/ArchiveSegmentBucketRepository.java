@@ -0,0 +1,15 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.ArchiveSegmentBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ArchiveSegmentBucketRepository extends JpaRepository<ArchiveSegmentBucket, Long> {
+
+    @Query("select b from ArchiveSegmentBucket b, ArchiveSegment s where s.id = b.segmentId and s.segmentDate = :date")
+    List<ArchiveSegmentBucket> findBySegmentDate(@Param("date") LocalDate date);
+}
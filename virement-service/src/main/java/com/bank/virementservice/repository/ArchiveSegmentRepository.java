@@ -0,0 +1,11 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.ArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, Long> {
+
+    List<ArchiveSegment> findAllByOrderBySegmentDateAscIdAsc();
+}
@@ -0,0 +1,16 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.TypeVirement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyAggregateRow {
+    LocalDate getExecutionDate();
+    TypeVirement getType();
+    String getStatut();
+    long getCount();
+    BigDecimal getTotal();
+    BigDecimal getMin();
+    BigDecimal getMax();
+}
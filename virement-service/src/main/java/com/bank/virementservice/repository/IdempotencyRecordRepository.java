@@ -0,0 +1,34 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /** Plain insert, unlike {@code save}, which merges over a row stored in the meantime. */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, expires_at) "
+            + "VALUES (:key, :fingerprint, :response, :expiresAt)", nativeQuery = true)
+    int insert(@Param("key") String key, @Param("fingerprint") String fingerprint,
+               @Param("response") String response, @Param("expiresAt") Instant expiresAt);
+
+    /** Takes over a key whose row expired but was not purged yet. */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.fingerprint = :fingerprint, r.response = :response, "
+            + "r.expiresAt = :expiresAt where r.idempotencyKey = :key and r.expiresAt <= :now")
+    int replaceExpired(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                       @Param("response") String response, @Param("expiresAt") Instant expiresAt,
+                       @Param("now") Instant now);
+}
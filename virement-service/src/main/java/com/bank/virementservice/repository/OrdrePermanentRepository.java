@@ -0,0 +1,26 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.OrdrePermanent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrdrePermanentRepository extends JpaRepository<OrdrePermanent, Long> {
+
+    @Query("select o from OrdrePermanent o " +
+            "where o.active = true and o.nextDueAt >= :from and o.nextDueAt < :to")
+    List<OrdrePermanent> findDueBetween(@Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("update OrdrePermanent o set o.nextDueAt = :next, o.active = :active " +
+            "where o.id = :id and o.active = true and o.nextDueAt = :due")
+    int advance(@Param("id") Long id,
+                @Param("due") LocalDateTime due,
+                @Param("next") LocalDateTime next,
+                @Param("active") boolean active);
+}
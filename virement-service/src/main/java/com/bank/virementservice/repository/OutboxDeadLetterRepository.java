@@ -0,0 +1,7 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+}
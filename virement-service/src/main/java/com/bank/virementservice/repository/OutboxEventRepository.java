@@ -0,0 +1,21 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e order by e.id asc")
+    List<OutboxEvent> findOldest(Pageable pageable);
+
+    @Query("select e from OutboxEvent e where e.id > :afterId order by e.id asc")
+    List<OutboxEvent> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select e.id from OutboxEvent e")
+    List<Long> findAllIds();
+}
@@ -0,0 +1,9 @@
+package com.bank.virementservice.repository;
+
+import java.math.BigDecimal;
+
+public interface PostingRow {
+    String getSourceAccount();
+    String getDestinationAccount();
+    BigDecimal getMontant();
+}
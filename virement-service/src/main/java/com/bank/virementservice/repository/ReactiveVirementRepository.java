@@ -0,0 +1,137 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking access to the virements table for the {@code reactive} profile, in plain SQL
+ * over R2DBC. Queries mirror those of {@link VirementRepository}; identifiers are assigned by
+ * the caller since R2DBC cannot draw from the Hibernate sequence pool.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveVirementRepository {
+
+    private static final String COLUMNS = "id, source_account, destination_account, montant, devise, "
+            + "montant_devise, taux_change, type, date_execution, statut, motif";
+    private static final String KEYSET_ORDER = " ORDER BY date_execution ASC, id ASC LIMIT :limit";
+
+    private final DatabaseClient client;
+
+    public ReactiveVirementRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Mono<Void> insert(Virement virement) {
+        return bindOptional(client.sql("INSERT INTO virements (" + COLUMNS + ") "
+                        + "VALUES (:id, :source, :destination, :montant, :devise, :montantDevise, :tauxChange, "
+                        + ":type, :dateExecution, :statut, :motif)")
+                        .bind("id", virement.getId())
+                        .bind("source", virement.getSourceAccount())
+                        .bind("destination", virement.getDestinationAccount())
+                        .bind("montant", virement.getMontant().toBigDecimal())
+                        .bind("type", virement.getType().name())
+                        .bind("dateExecution", virement.getDateExecution())
+                        .bind("statut", virement.getStatut()), virement)
+                .then();
+    }
+
+    /**
+     * Updates a virement that is still EN_COURS and unclaimed; returns the number of rows
+     * changed, 0 if it was claimed or settled in the meantime.
+     */
+    public Mono<Long> update(Virement virement) {
+        return bindOptional(client.sql("UPDATE virements SET source_account = :source, destination_account = :destination, "
+                        + "montant = :montant, devise = :devise, montant_devise = :montantDevise, taux_change = :tauxChange, "
+                        + "type = :type, date_execution = :dateExecution, motif = :motif "
+                        + "WHERE id = :id AND statut = :statut AND claimed_by IS NULL")
+                        .bind("id", virement.getId())
+                        .bind("source", virement.getSourceAccount())
+                        .bind("destination", virement.getDestinationAccount())
+                        .bind("montant", virement.getMontant().toBigDecimal())
+                        .bind("type", virement.getType().name())
+                        .bind("dateExecution", virement.getDateExecution())
+                        .bind("statut", StatutVirement.EN_COURS), virement)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /** Deletes a virement that is still EN_COURS and unclaimed, like {@link #update}. */
+    public Mono<Long> deleteById(Long id) {
+        return client.sql("DELETE FROM virements WHERE id = :id AND statut = :statut AND claimed_by IS NULL")
+                .bind("id", id)
+                .bind("statut", StatutVirement.EN_COURS)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Virement> findById(Long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM virements WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveVirementRepository::toVirement)
+                .one();
+    }
+
+    public Flux<Virement> findFirstPage(int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM virements" + KEYSET_ORDER)
+                .bind("limit", limit)
+                .map(ReactiveVirementRepository::toVirement)
+                .all();
+    }
+
+    public Flux<Virement> findPageAfter(LocalDateTime dateExecution, Long id, int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM virements "
+                        + "WHERE date_execution > :dateExecution OR (date_execution = :dateExecution AND id > :id)"
+                        + KEYSET_ORDER)
+                .bind("dateExecution", dateExecution)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveVirementRepository::toVirement)
+                .all();
+    }
+
+    public Flux<Virement> findAll() {
+        return client.sql("SELECT " + COLUMNS + " FROM virements ORDER BY date_execution ASC, id ASC")
+                .map(ReactiveVirementRepository::toVirement)
+                .all();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindOptional(DatabaseClient.GenericExecuteSpec spec, Virement virement) {
+        spec = bindNullable(spec, "devise", virement.getDevise(), String.class);
+        spec = bindNullable(spec, "montantDevise", virement.getMontantDevise(), BigDecimal.class);
+        spec = bindNullable(spec, "tauxChange", virement.getTauxChange(), BigDecimal.class);
+        return bindNullable(spec, "motif", virement.getMotif(), String.class);
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                      T value, Class<T> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Virement toVirement(Readable row) {
+        return Virement.builder()
+                .id(row.get("id", Long.class))
+                .sourceAccount(row.get("source_account", String.class))
+                .destinationAccount(row.get("destination_account", String.class))
+                .montant(Money.of(row.get("montant", BigDecimal.class)))
+                .devise(row.get("devise", String.class))
+                .montantDevise(row.get("montant_devise", BigDecimal.class))
+                .tauxChange(row.get("taux_change", BigDecimal.class))
+                .type(TypeVirement.valueOf(row.get("type", String.class)))
+                .dateExecution(row.get("date_execution", LocalDateTime.class))
+                .statut(row.get("statut", String.class))
+                .motif(row.get("motif", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.ReconciliationPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReconciliationPartitionRepository extends JpaRepository<ReconciliationPartition, Long> {
+
+    List<ReconciliationPartition> findByRunIdOrderByPartition(Long runId);
+}
@@ -0,0 +1,24 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.ReconciliationRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    List<ReconciliationRun> findAllByOrderByIdDesc(Pageable pageable);
+
+    @Modifying
+    @Query("update ReconciliationRun r set r.completedPartitions = r.completedPartitions + 1, " +
+            "r.accounts = r.accounts + :accounts, r.postings = r.postings + :postings, " +
+            "r.differences = r.differences + :differences where r.id = :id")
+    int addPartition(@Param("id") Long id,
+                     @Param("accounts") long accounts,
+                     @Param("postings") long postings,
+                     @Param("differences") long differences);
+}
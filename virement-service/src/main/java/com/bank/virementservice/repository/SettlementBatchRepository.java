@@ -0,0 +1,15 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.SettlementBatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SettlementBatchRepository extends JpaRepository<SettlementBatch, Long> {
+
+    Optional<SettlementBatch> findTopByOrderByWindowEndDesc();
+
+    List<SettlementBatch> findAllByOrderByWindowEndDesc(Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.bank.virementservice.repository;
+
+import com.bank.virementservice.model.SettlementPosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SettlementPositionRepository extends JpaRepository<SettlementPosition, Long> {
+
+    List<SettlementPosition> findByBatchIdAndCounterpartyIsNullOrderByAccount(Long batchId);
+
+    List<SettlementPosition> findByBatchIdAndCounterpartyIsNotNullOrderByAccountAscCounterpartyAsc(Long batchId);
+}
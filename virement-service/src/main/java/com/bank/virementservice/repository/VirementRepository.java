@@ -1,13 +1,139 @@
 package com.bank.virementservice.repository;
 
+import com.bank.virementservice.model.TypeVirement;
 import com.bank.virementservice.model.Virement;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VirementRepository extends JpaRepository<Virement, Long> {
-    List<Virement> findBySourceAccount(String sourceAccount);
-    List<Virement> findByDestinationAccount(String destinationAccount);
     List<Virement> findByDateExecutionBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query("select v from Virement v order by v.dateExecution asc, v.id asc")
+    List<Virement> findFirstPage(Pageable pageable);
+
+    @Query("select v from Virement v " +
+            "where v.dateExecution > :dateExecution or (v.dateExecution = :dateExecution and v.id > :id) " +
+            "order by v.dateExecution asc, v.id asc")
+    List<Virement> findPageAfter(@Param("dateExecution") LocalDateTime dateExecution,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    @Query("select v from Virement v " +
+            "where v.sourceAccount = :account and v.dateExecution < :end " +
+            "and (v.dateExecution > :dateExecution or (v.dateExecution = :dateExecution and v.id > :id)) " +
+            "order by v.dateExecution asc, v.id asc")
+    List<Virement> findOutgoingAfter(@Param("account") String account,
+                                     @Param("dateExecution") LocalDateTime dateExecution,
+                                     @Param("id") Long id,
+                                     @Param("end") LocalDateTime end,
+                                     Pageable pageable);
+
+    @Query("select v from Virement v " +
+            "where v.destinationAccount = :account and v.dateExecution < :end " +
+            "and (v.dateExecution > :dateExecution or (v.dateExecution = :dateExecution and v.id > :id)) " +
+            "order by v.dateExecution asc, v.id asc")
+    List<Virement> findIncomingAfter(@Param("account") String account,
+                                     @Param("dateExecution") LocalDateTime dateExecution,
+                                     @Param("id") Long id,
+                                     @Param("end") LocalDateTime end,
+                                     Pageable pageable);
+
+    @Query("select distinct v.destinationAccount from Virement v where v.sourceAccount = :source")
+    List<String> findDestinations(@Param("source") String source, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select v from Virement v order by v.dateExecution asc, v.id asc")
+    Stream<Virement> streamAll();
+
+    /**
+     * Streams the virements in {@code statut} that debit or credit one of {@code accounts},
+     * as bare postings so that nothing accumulates in the persistence context.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select v.sourceAccount as sourceAccount, v.destinationAccount as destinationAccount, " +
+            "cast(v.montant as BigDecimal) as montant from Virement v " +
+            "where v.statut = :statut and (v.sourceAccount in :accounts or v.destinationAccount in :accounts)")
+    Stream<PostingRow> streamPostings(@Param("statut") String statut,
+                                      @Param("accounts") Collection<String> accounts);
+
+    long countByStatut(String statut);
+
+    @Query("select extract(date from v.dateExecution) as executionDate, v.type as type, v.statut as statut, " +
+            "count(v) as count, sum(cast(v.montant as BigDecimal)) as total, " +
+            "min(cast(v.montant as BigDecimal)) as min, max(cast(v.montant as BigDecimal)) as max " +
+            "from Virement v group by extract(date from v.dateExecution), v.type, v.statut")
+    List<DailyAggregateRow> aggregateByDay();
+
+    @Query("select extract(date from v.dateExecution) as executionDate, v.type as type, v.statut as statut, " +
+            "count(v) as count, sum(cast(v.montant as BigDecimal)) as total, " +
+            "min(cast(v.montant as BigDecimal)) as min, max(cast(v.montant as BigDecimal)) as max " +
+            "from Virement v where v.dateExecution >= :start and v.dateExecution < :end " +
+            "group by extract(date from v.dateExecution), v.type, v.statut")
+    List<DailyAggregateRow> aggregateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select min(cast(v.montant as BigDecimal)) as min, max(cast(v.montant as BigDecimal)) as max " +
+            "from Virement v " +
+            "where v.dateExecution >= :start and v.dateExecution < :end and v.type = :type and v.statut = :statut")
+    List<Object[]> findMontantRange(@Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end,
+                                    @Param("type") TypeVirement type,
+                                    @Param("statut") String statut);
+
+    /**
+     * Loads a virement locked for an update or delete, so that no instance can claim it until
+     * the caller's transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Virement v where v.id = :id")
+    Optional<Virement> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select v from Virement v " +
+            "where v.statut = :statut and (v.claimedUntil is null or v.claimedUntil < :now) " +
+            "order by v.id asc")
+    List<Virement> findClaimable(@Param("statut") String statut,
+                                 @Param("now") LocalDateTime now,
+                                 Pageable pageable);
+
+    /**
+     * {@link #findClaimable} without the virements of one type, which another component settles.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select v from Virement v " +
+            "where v.statut = :statut and v.type <> :excluded and (v.claimedUntil is null or v.claimedUntil < :now) " +
+            "order by v.id asc")
+    List<Virement> findClaimableExcept(@Param("statut") String statut,
+                                       @Param("excluded") TypeVirement excluded,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("update Virement v set v.statut = :statut, v.claimedBy = null, v.claimedUntil = null " +
+            "where v.id = :id and v.claimedBy = :claimedBy")
+    int completeClaim(@Param("id") Long id,
+                      @Param("claimedBy") String claimedBy,
+                      @Param("statut") String statut);
 }
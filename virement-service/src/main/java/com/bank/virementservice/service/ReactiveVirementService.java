@@ -0,0 +1,17 @@
+package com.bank.virementservice.service;
+
+import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveVirementService {
+    Mono<VirementResponse> create(VirementRequest request);
+    Mono<VirementResponse> update(Long id, VirementRequest request);
+    Mono<Void> delete(Long id);
+    Mono<VirementResponse> getById(Long id);
+    Mono<VirementPage> getPage(String cursor, int limit);
+    Flux<VirementDTO> streamAll();
+}
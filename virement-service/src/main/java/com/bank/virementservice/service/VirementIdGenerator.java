@@ -0,0 +1,36 @@
+package com.bank.virementservice.service;
+
+import com.bank.virementservice.model.Virement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out virement identifiers from the Hibernate sequence pool of {@link Virement}, for
+ * paths that insert rows without going through JPA. Ids are drawn from the same pool as
+ * {@code repository.save}, so rows written by any path never collide, and the sequence is
+ * only queried once per allocation block.
+ */
+@Component
+public class VirementIdGenerator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final BeforeExecutionGenerator generator;
+
+    public VirementIdGenerator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Virement.class)
+                .getGenerator();
+    }
+
+    public Long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        }
+    }
+}
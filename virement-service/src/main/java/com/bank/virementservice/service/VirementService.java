@@ -1,17 +1,26 @@
 package com.bank.virementservice.service;
 
+import com.bank.virementservice.dto.DailySummary;
+import com.bank.virementservice.dto.VirementBatchResponse;
 import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
 import com.bank.virementservice.dto.VirementRequest;
 import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.model.SensVirement;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface VirementService {
     VirementResponse create(VirementRequest request);
+    VirementBatchResponse createBatch(List<VirementRequest> requests);
     VirementResponse update(Long id, VirementRequest request);
     void delete(Long id);
     VirementResponse getById(Long id);
-    List<VirementDTO> getAll();
+    VirementPage getPage(String cursor, int limit);
+    VirementPage getAccountPage(String account, SensVirement sens, LocalDate from, LocalDate to, String cursor, int limit);
+    void streamAll(Consumer<VirementDTO> consumer);
     List<VirementDTO> getByDate(LocalDate date);
+    DailySummary getDailySummary(LocalDate date);
 }
@@ -0,0 +1,427 @@
+package com.bank.virementservice.service.aggregate;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.DailyAggregate;
+import com.bank.virementservice.dto.DailySummary;
+import com.bank.virementservice.dto.VirementEvent;
+import com.bank.virementservice.model.ArchiveSegment;
+import com.bank.virementservice.model.ArchiveSegmentBucket;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.repository.ArchiveSegmentBucketRepository;
+import com.bank.virementservice.repository.ArchiveSegmentRepository;
+import com.bank.virementservice.repository.DailyAggregateRow;
+import com.bank.virementservice.repository.OutboxEventRepository;
+import com.bank.virementservice.repository.VirementRepository;
+import com.bank.virementservice.service.ledger.LedgerLease;
+import com.bank.virementservice.service.outbox.VirementEventSubscriber;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-day count, sum, min and max of virement amounts, bucketed by type and statut. Amounts
+ * are kept as minor units so bucket updates never allocate. Removing the current minimum or
+ * maximum of a bucket only marks it stale; the range is recomputed for that bucket on the next
+ * read, from the virements table and the archive buckets of that day.
+ *
+ * <p>The buckets have a single writer: the instance holding the {@link LedgerLease}, which is
+ * also the one whose {@code OutboxRelay} drains the outbox. They are fed by the outbox events
+ * of every instance rather than by local commits, so they see each create, update, status
+ * change and delete whichever instance made it. Each time the lease is taken they are seeded
+ * again from the virements table, the archive buckets and the ids still in the outbox, read
+ * in one serializable transaction; events whose row was in the outbox then are already
+ * counted and are skipped when delivered. Any instance without seeded buckets, because it
+ * does not hold the lease, has not seeded them yet or runs with the outbox disabled, answers
+ * a day summary with one grouped query over that day instead.
+ */
+@Component
+@Slf4j
+public class DailyVirementAggregates implements VirementEventSubscriber {
+
+    private final VirementRepository repository;
+    private final ArchiveSegmentRepository segmentRepository;
+    private final ArchiveSegmentBucketRepository bucketRepository;
+    private final OutboxEventRepository outboxRepository;
+    private final LedgerLease lease;
+    private final TransactionTemplate snapshotTemplate;
+    private final VirementProperties.Outbox outbox;
+    private final ConcurrentMap<LocalDate, Map<BucketKey, Bucket>> days = new ConcurrentHashMap<>();
+    /** Outbox ids the seed already counted, skipped when their event is delivered. */
+    private final Set<Long> seededEvents = new HashSet<>();
+    /** Last event applied per source account; redelivered events are at or below it. */
+    private final Map<String, Long> lastApplied = new HashMap<>();
+    /** Serializes seeding and event application, both of which only the lease holder does. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean seeded;
+
+    public DailyVirementAggregates(VirementRepository repository, ArchiveSegmentRepository segmentRepository,
+                                   ArchiveSegmentBucketRepository bucketRepository,
+                                   OutboxEventRepository outboxRepository, LedgerLease lease,
+                                   PlatformTransactionManager transactionManager, VirementProperties properties) {
+        this.repository = repository;
+        this.segmentRepository = segmentRepository;
+        this.bucketRepository = bucketRepository;
+        this.outboxRepository = outboxRepository;
+        this.lease = lease;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshotTemplate.setReadOnly(true);
+        this.outbox = properties.getOutbox();
+        lease.onAcquired(() -> seeded = false);
+    }
+
+    /** Seeds the buckets once this instance holds the lease, without waiting for an event. */
+    @Scheduled(fixedDelayString = "${virement.aggregates.seed-interval:PT5S}")
+    public void seedIfOwner() {
+        if (seeded || !lease.isHeld() || !outbox.getEnabled()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!seeded && lease.isHeld()) {
+                seed();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not seed the daily aggregates, summaries are read from the database meanwhile", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "daily-aggregates";
+    }
+
+    @Override
+    public void deliver(List<VirementEvent> events) {
+        if (!lease.isHeld()) {
+            seeded = false;
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!seeded) {
+                seed();
+            }
+            for (VirementEvent event : events) {
+                if (!seededEvents.remove(event.getEventId()) && isNew(event)) {
+                    apply(event);
+                }
+                lastApplied.merge(event.getSourceAccount(), event.getEventId(), Long::max);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public DailySummary summary(LocalDate date) {
+        if (!seeded || !lease.isHeld()) {
+            return summary(date, load(date));
+        }
+        return summary(date, days.get(date));
+    }
+
+    private DailySummary summary(LocalDate date, Map<BucketKey, Bucket> buckets) {
+        Map<TypeVirement, Bucket> byType = new EnumMap<>(TypeVirement.class);
+        Map<String, Bucket> byStatut = new TreeMap<>();
+        Bucket total = new Bucket();
+        if (buckets != null) {
+            Map<BucketKey, Long> stale = new HashMap<>();
+            synchronized (buckets) {
+                buckets.forEach((key, bucket) -> {
+                    if (bucket.stale) {
+                        stale.put(key, bucket.changes);
+                    }
+                });
+            }
+            // The ranges are queried outside the monitor, which writers on the day contend for.
+            Map<BucketKey, long[]> ranges = new HashMap<>();
+            stale.keySet().forEach(key -> ranges.put(key, queryRange(date, key)));
+            synchronized (buckets) {
+                for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                    Bucket bucket = entry.getValue();
+                    Long seen = stale.get(entry.getKey());
+                    if (bucket.stale && seen != null && seen == bucket.changes) {
+                        applyRange(bucket, ranges.get(entry.getKey()));
+                    }
+                    total.merge(bucket);
+                    byType.computeIfAbsent(entry.getKey().getType(), type -> new Bucket()).merge(bucket);
+                    byStatut.computeIfAbsent(entry.getKey().getStatut(), statut -> new Bucket()).merge(bucket);
+                }
+            }
+        }
+        Map<TypeVirement, DailyAggregate> types = new EnumMap<>(TypeVirement.class);
+        byType.forEach((type, bucket) -> types.put(type, bucket.toDTO()));
+        Map<String, DailyAggregate> statuts = new TreeMap<>();
+        byStatut.forEach((statut, bucket) -> statuts.put(statut, bucket.toDTO()));
+        return DailySummary.builder()
+                .date(date)
+                .total(total.toDTO())
+                .byType(types)
+                .byStatut(statuts)
+                .build();
+    }
+
+    /**
+     * Rebuilds the buckets from one consistent read of the virements table, the archive
+     * buckets and the outbox. Called with {@link #writeLock} held.
+     */
+    private void seed() {
+        Seed seed = snapshotTemplate.execute(status -> new Seed(
+                outboxRepository.findAllIds(),
+                repository.aggregateByDay(),
+                segmentRepository.findAll(),
+                bucketRepository.findAll()));
+        seeded = false;
+        days.clear();
+        seededEvents.clear();
+        lastApplied.clear();
+        seededEvents.addAll(seed.getPendingEvents());
+        for (DailyAggregateRow row : seed.getRows()) {
+            merge(row.getExecutionDate(), new BucketKey(row.getType(), row.getStatut()), bucket(row));
+        }
+        Map<Long, LocalDate> dates = new HashMap<>();
+        seed.getSegments().forEach(segment -> dates.put(segment.getId(), segment.getSegmentDate()));
+        for (ArchiveSegmentBucket archived : seed.getArchived()) {
+            merge(dates.get(archived.getSegmentId()), new BucketKey(archived.getType(), archived.getStatut()),
+                    bucket(archived));
+        }
+        seeded = true;
+        log.info("Seeded daily virement aggregates from {} buckets and {} archive buckets, {} outbox events pending",
+                seed.getRows().size(), seed.getArchived().size(), seed.getPendingEvents().size());
+    }
+
+    /** Whether the event was not applied yet; events of one account arrive in outbox order. */
+    private boolean isNew(VirementEvent event) {
+        Long last = lastApplied.get(event.getSourceAccount());
+        return last == null || event.getEventId() > last;
+    }
+
+    private void apply(VirementEvent event) {
+        if (event.getDateExecution() == null) {
+            // Written before events carried the execution date; the next seed counts it.
+            log.warn("Outbox event {} has no execution date, the daily aggregates will be seeded again",
+                    event.getEventId());
+            seeded = false;
+            return;
+        }
+        Snapshot after = new Snapshot(event.getDateExecution().toLocalDate(), event.getType(), event.getStatut(),
+                event.getMontant().getMinorUnits());
+        switch (event.getEventType()) {
+            case CREATED:
+                add(after);
+                break;
+            case UPDATED:
+                remove(new Snapshot(event.getPreviousDateExecution().toLocalDate(), event.getPreviousType(),
+                        event.getPreviousStatut(), event.getPreviousMontant().getMinorUnits()));
+                add(after);
+                break;
+            case STATUS_CHANGED:
+                remove(new Snapshot(after.getDate(), after.getType(), event.getPreviousStatut(), after.getMontant()));
+                add(after);
+                break;
+            case DELETED:
+                remove(new Snapshot(after.getDate(), after.getType(), event.getPreviousStatut(), after.getMontant()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** Buckets of one day computed by the database, for instances that do not hold the buckets. */
+    private Map<BucketKey, Bucket> load(LocalDate date) {
+        Map<BucketKey, Bucket> buckets = new HashMap<>();
+        for (DailyAggregateRow row : repository.aggregateBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            buckets.put(new BucketKey(row.getType(), row.getStatut()), bucket(row));
+        }
+        for (ArchiveSegmentBucket archived : bucketRepository.findBySegmentDate(date)) {
+            Bucket bucket = buckets.computeIfAbsent(new BucketKey(archived.getType(), archived.getStatut()),
+                    key -> new Bucket());
+            bucket.merge(bucket(archived));
+        }
+        return buckets;
+    }
+
+    private static Bucket bucket(DailyAggregateRow row) {
+        Bucket bucket = new Bucket();
+        bucket.count = row.getCount();
+        bucket.total = Money.of(row.getTotal()).getMinorUnits();
+        bucket.min = Money.of(row.getMin()).getMinorUnits();
+        bucket.max = Money.of(row.getMax()).getMinorUnits();
+        return bucket;
+    }
+
+    private static Bucket bucket(ArchiveSegmentBucket archived) {
+        Bucket bucket = new Bucket();
+        bucket.count = archived.getVirements();
+        bucket.total = archived.getTotal().getMinorUnits();
+        bucket.min = archived.getMinimum().getMinorUnits();
+        bucket.max = archived.getMaximum().getMinorUnits();
+        return bucket;
+    }
+
+    private void add(Snapshot snapshot) {
+        Map<BucketKey, Bucket> buckets = day(snapshot.getDate());
+        synchronized (buckets) {
+            buckets.computeIfAbsent(snapshot.key(), key -> new Bucket()).add(snapshot.getMontant());
+        }
+    }
+
+    private void merge(LocalDate date, BucketKey key, Bucket bucket) {
+        Map<BucketKey, Bucket> buckets = day(date);
+        synchronized (buckets) {
+            Bucket existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null) {
+                existing.merge(bucket);
+            }
+        }
+    }
+
+    /**
+     * Takes a virement out of its bucket. Events of different accounts are not ordered, so an
+     * update can arrive before the create it follows; the bucket then goes below zero until
+     * the create catches up.
+     */
+    private void remove(Snapshot snapshot) {
+        Map<BucketKey, Bucket> buckets = day(snapshot.getDate());
+        synchronized (buckets) {
+            Bucket bucket = buckets.computeIfAbsent(snapshot.key(), key -> new Bucket());
+            bucket.remove(snapshot.getMontant());
+            if (bucket.count == 0) {
+                buckets.remove(snapshot.key());
+            }
+        }
+    }
+
+    /**
+     * Minimum and maximum of one bucket over the virements table and the archive buckets of
+     * the day, or {@code null} if it has none.
+     */
+    private long[] queryRange(LocalDate date, BucketKey key) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        List<Object[]> range = repository.findMontantRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                key.getType(), key.getStatut());
+        if (!range.isEmpty() && range.get(0)[0] != null) {
+            min = Money.of((BigDecimal) range.get(0)[0]).getMinorUnits();
+            max = Money.of((BigDecimal) range.get(0)[1]).getMinorUnits();
+        }
+        for (ArchiveSegmentBucket archived : bucketRepository.findBySegmentDate(date)) {
+            if (archived.getType() == key.getType() && archived.getStatut().equals(key.getStatut())) {
+                min = Math.min(min, archived.getMinimum().getMinorUnits());
+                max = Math.max(max, archived.getMaximum().getMinorUnits());
+            }
+        }
+        return min <= max ? new long[]{min, max} : null;
+    }
+
+    /**
+     * Sets a stale bucket's range from {@link #queryRange}; the caller only applies it if the
+     * bucket did not change since it was found stale.
+     */
+    private static void applyRange(Bucket bucket, long[] range) {
+        if (range != null) {
+            bucket.min = range[0];
+            bucket.max = range[1];
+        }
+        bucket.stale = false;
+    }
+
+    private Map<BucketKey, Bucket> day(LocalDate date) {
+        return days.computeIfAbsent(date, d -> new HashMap<>());
+    }
+
+    @Value
+    private static class Seed {
+        List<Long> pendingEvents;
+        List<DailyAggregateRow> rows;
+        List<ArchiveSegment> segments;
+        List<ArchiveSegmentBucket> archived;
+    }
+
+    @Value
+    private static class Snapshot {
+        LocalDate date;
+        TypeVirement type;
+        String statut;
+        long montant;
+
+        private BucketKey key() {
+            return new BucketKey(type, statut);
+        }
+    }
+
+    @Value
+    private static class BucketKey {
+        TypeVirement type;
+        String statut;
+    }
+
+    private static final class Bucket {
+        private long count;
+        private long total;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private boolean stale;
+        private long changes;
+
+        private void add(long montant) {
+            changes++;
+            count++;
+            total = Math.addExact(total, montant);
+            if (!stale) {
+                min = Math.min(min, montant);
+                max = Math.max(max, montant);
+            }
+        }
+
+        private void remove(long montant) {
+            changes++;
+            count--;
+            total = Math.subtractExact(total, montant);
+            if (count == 0) {
+                min = Long.MAX_VALUE;
+                max = Long.MIN_VALUE;
+                stale = false;
+            } else if (montant == min || montant == max || count < 0) {
+                stale = true;
+            }
+        }
+
+        private void merge(Bucket other) {
+            changes++;
+            count += other.count;
+            total = Math.addExact(total, other.total);
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        private DailyAggregate toDTO() {
+            return DailyAggregate.builder()
+                    .count(count)
+                    .total(Money.ofMinor(total))
+                    .min(count <= 0 ? null : Money.ofMinor(min))
+                    .max(count <= 0 ? null : Money.ofMinor(max))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.virementservice.service.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter over the accounts of an archive segment, so an account query can skip the
+ * segments that certainly hold none of its virements without opening them.
+ */
+final class AccountFilter {
+
+    private static final int HASHES = 7;
+
+    private final long[] bits;
+
+    private AccountFilter(long[] bits) {
+        this.bits = bits;
+    }
+
+    static AccountFilter create(int expectedAccounts, double falsePositiveRate) {
+        double size = -Math.max(1, expectedAccounts) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return new AccountFilter(new long[Math.max(1, (int) Math.ceil(size / Long.SIZE))]);
+    }
+
+    static AccountFilter fromBytes(byte[] bytes) {
+        long[] bits = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(bits);
+        return new AccountFilter(bits);
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        buffer.asLongBuffer().put(bits);
+        return buffer.array();
+    }
+
+    void add(String account) {
+        long hash = hash(account);
+        long size = (long) bits.length * Long.SIZE;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), size);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String account) {
+        long hash = hash(account);
+        long size = (long) bits.length * Long.SIZE;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), size);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes; its two halves seed the double hashing above.
+     */
+    private static long hash(String account) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : account.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
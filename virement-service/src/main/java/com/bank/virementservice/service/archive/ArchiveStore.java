@@ -0,0 +1,261 @@
+package com.bank.virementservice.service.archive;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.ArchiveSegment;
+import com.bank.virementservice.model.SensVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.ArchiveSegmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read side of the virement archive. The whole segment index, a few dozen bytes per segment
+ * plus its account filter, is held in memory; only the segments a lookup cannot rule out from
+ * their id range, date range or account filter are read, and the most recently used ones stay
+ * decoded in a small cache. Archived virements are terminal and never change, so the cache
+ * never needs invalidating.
+ */
+@Component
+@Slf4j
+public class ArchiveStore implements SmartInitializingSingleton {
+
+    private static final Comparator<Virement> KEYSET_ORDER =
+            Comparator.comparing(Virement::getDateExecution).thenComparing(Virement::getId);
+
+    private final ArchiveSegmentRepository segmentRepository;
+    private final Map<Long, ColumnarSegment> cache;
+    private volatile List<IndexedSegment> segments = List.of();
+
+    public ArchiveStore(ArchiveSegmentRepository segmentRepository, VirementProperties properties) {
+        this.segmentRepository = segmentRepository;
+        int capacity = properties.getArchive().getCachedSegments();
+        this.cache = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ColumnarSegment> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<IndexedSegment> loaded = new ArrayList<>();
+        for (ArchiveSegment segment : segmentRepository.findAllByOrderBySegmentDateAscIdAsc()) {
+            loaded.add(new IndexedSegment(segment, AccountFilter.fromBytes(segment.getAccountFilter())));
+        }
+        segments = List.copyOf(loaded);
+        log.info("Virement archive index loaded: {} segments", loaded.size());
+    }
+
+    public List<ArchiveSegment> segments() {
+        return segments.stream().map(IndexedSegment::segment).toList();
+    }
+
+    /**
+     * Makes a segment written by the archiver visible to readers.
+     */
+    synchronized void added(ArchiveSegment segment, AccountFilter filter) {
+        List<IndexedSegment> next = new ArrayList<>(segments);
+        next.add(new IndexedSegment(segment, filter));
+        next.sort(Comparator.comparing((IndexedSegment indexed) -> indexed.segment().getSegmentDate())
+                .thenComparing(indexed -> indexed.segment().getId()));
+        segments = List.copyOf(next);
+    }
+
+    public Optional<Virement> findById(long id) {
+        for (IndexedSegment indexed : segments) {
+            ArchiveSegment segment = indexed.segment();
+            if (id < segment.getMinId() || id > segment.getMaxId()) {
+                continue;
+            }
+            ColumnarSegment data = open(segment);
+            int row = data.indexOf(id);
+            if (row >= 0) {
+                return Optional.of(data.row(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<Virement> findByDate(LocalDate date) {
+        List<Virement> found = new ArrayList<>();
+        for (IndexedSegment indexed : segments) {
+            if (indexed.segment().getSegmentDate().equals(date)) {
+                ColumnarSegment data = open(indexed.segment());
+                for (int row = 0; row < data.size(); row++) {
+                    found.add(data.row(row));
+                }
+            }
+        }
+        found.sort(KEYSET_ORDER);
+        return found;
+    }
+
+    /**
+     * Returns up to {@code limit} archived virements after the keyset position
+     * ({@code afterDate}, {@code afterId}) and before {@code end}, in keyset order. With an
+     * account, only the virements it sent, received or both, depending on {@code sens}.
+     * Segments are visited day by day and the scan stops at the first day boundary once
+     * enough rows were found, since later days can only hold later rows.
+     */
+    public List<Virement> findAfter(String account, SensVirement sens, LocalDateTime afterDate, long afterId,
+                                    LocalDateTime end, int limit) {
+        List<Virement> found = new ArrayList<>();
+        LocalDate day = null;
+        for (IndexedSegment indexed : segments) {
+            ArchiveSegment segment = indexed.segment();
+            if (segment.getMaxDate().isBefore(afterDate) || !segment.getMinDate().isBefore(end)) {
+                continue;
+            }
+            if (found.size() >= limit && !segment.getSegmentDate().equals(day)) {
+                break;
+            }
+            day = segment.getSegmentDate();
+            if (account != null && !indexed.filter().mightContain(account)) {
+                continue;
+            }
+            collect(open(segment), account, sens, afterDate, afterId, end, found);
+        }
+        found.sort(KEYSET_ORDER);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    public void forEach(Consumer<Virement> consumer) {
+        for (IndexedSegment indexed : segments) {
+            rows(indexed.segment()).forEach(consumer);
+        }
+    }
+
+    /**
+     * Hands every archived virement with {@code statut} that touches one of {@code accounts} to
+     * {@code consumer}, as its accounts and montant in minor units. Segments whose account
+     * filter rules out all of {@code accounts} are skipped; the others are read bypassing the
+     * cache, since a replay visits each of them once. Returns the number of virements handed.
+     */
+    public long forEachPosting(String statut, Set<String> accounts, PostingConsumer consumer) {
+        long count = 0;
+        for (IndexedSegment indexed : segments) {
+            if (accounts.stream().noneMatch(indexed.filter()::mightContain)) {
+                continue;
+            }
+            ColumnarSegment data = read(indexed.segment());
+            String[] statuts = data.strings(ColumnarSegment.STATUT);
+            String[] sources = data.strings(ColumnarSegment.SOURCE_ACCOUNT);
+            String[] destinations = data.strings(ColumnarSegment.DESTINATION_ACCOUNT);
+            long[] amounts = data.amounts();
+            for (int row = 0; row < data.size(); row++) {
+                if (statut.equals(statuts[row])
+                        && (accounts.contains(sources[row]) || accounts.contains(destinations[row]))) {
+                    consumer.accept(sources[row], destinations[row], amounts[row]);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads every row of {@code segment}, bypassing the cache so that a full export does not
+     * evict the segments lookups are using.
+     */
+    public List<Virement> rows(ArchiveSegment segment) {
+        ColumnarSegment data = read(segment);
+        List<Virement> rows = new ArrayList<>(data.size());
+        for (int row = 0; row < data.size(); row++) {
+            rows.add(data.row(row));
+        }
+        return rows;
+    }
+
+    /**
+     * Merges a page read from the virements table with the archived rows past the same
+     * position. Both are in keyset order; archived rows mostly come first, but pending
+     * virements stay in the table whatever their age, so the two can interleave.
+     */
+    public static List<Virement> merge(List<Virement> rows, List<Virement> archived, int limit) {
+        if (archived.isEmpty()) {
+            return rows;
+        }
+        List<Virement> merged = new ArrayList<>(rows.size() + archived.size());
+        merged.addAll(rows);
+        merged.addAll(archived);
+        merged.sort(KEYSET_ORDER);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private static void collect(ColumnarSegment data, String account, SensVirement sens, LocalDateTime afterDate,
+                                long afterId, LocalDateTime end, List<Virement> found) {
+        boolean outgoing = sens != SensVirement.RECU;
+        boolean incoming = sens != SensVirement.EMIS;
+        String[] sources = account == null ? null : data.strings(ColumnarSegment.SOURCE_ACCOUNT);
+        String[] destinations = account == null ? null : data.strings(ColumnarSegment.DESTINATION_ACCOUNT);
+        LocalDateTime[] dates = data.dates();
+        long[] ids = data.ids();
+        for (int row = 0; row < data.size(); row++) {
+            if (account != null
+                    && !(outgoing && account.equals(sources[row]))
+                    && !(incoming && account.equals(destinations[row]))) {
+                continue;
+            }
+            int order = dates[row].compareTo(afterDate);
+            if (order < 0 || (order == 0 && ids[row] <= afterId) || !dates[row].isBefore(end)) {
+                continue;
+            }
+            found.add(data.row(row));
+        }
+    }
+
+    private ColumnarSegment open(ArchiveSegment segment) {
+        synchronized (cache) {
+            ColumnarSegment cached = cache.get(segment.getId());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ColumnarSegment loaded = read(segment);
+        synchronized (cache) {
+            cache.put(segment.getId(), loaded);
+        }
+        return loaded;
+    }
+
+    private static ColumnarSegment read(ArchiveSegment segment) {
+        try {
+            return ColumnarSegment.read(Paths.get(segment.getPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getPath(), e);
+        }
+    }
+
+    /** Receives archived virements replayed by {@link #forEachPosting}. */
+    @FunctionalInterface
+    public interface PostingConsumer {
+        void accept(String sourceAccount, String destinationAccount, long montantUnits);
+    }
+
+    /**
+     * A segment with its account filter decoded; the serialized copy is dropped so the index
+     * holds each filter once.
+     */
+    private record IndexedSegment(ArchiveSegment segment, AccountFilter filter) {
+        private IndexedSegment {
+            segment.setAccountFilter(null);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.virementservice.service.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Variable-length and dictionary encodings used by the archive columns. Longs are written
+ * seven bits at a time, zig-zag encoded so that small negative deltas stay short; strings are
+ * written once into a per-column dictionary and referenced by code, code 0 standing for null.
+ */
+final class ColumnEncoding {
+
+    private ColumnEncoding() {
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    static byte[] encodeDictionary(List<String> values) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        ByteArrayOutputStream rows = new ByteArrayOutputStream(values.size());
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        DataOutputStream entries = new DataOutputStream(dictionary);
+        for (String value : values) {
+            if (value == null) {
+                writeVarLong(rows, 0);
+                continue;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size() + 1;
+                codes.put(value, code);
+                entries.writeUTF(value);
+            }
+            writeVarLong(rows, code);
+        }
+        ByteArrayOutputStream column = new ByteArrayOutputStream(dictionary.size() + rows.size() + 5);
+        writeVarLong(column, codes.size());
+        dictionary.writeTo(column);
+        rows.writeTo(column);
+        return column.toByteArray();
+    }
+
+    static String[] decodeDictionary(DataInputStream in, int rows) throws IOException {
+        String[] dictionary = new String[(int) readVarLong(in) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = dictionary[(int) readVarLong(in)];
+        }
+        return values;
+    }
+}
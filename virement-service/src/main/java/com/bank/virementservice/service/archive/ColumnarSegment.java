@@ -0,0 +1,206 @@
+package com.bank.virementservice.service.archive;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An archive segment read back from disk. The compressed column blocks are held as read and
+ * each column is inflated and decoded the first time it is asked for, so a lookup by id or by
+ * account only pays for the few columns it filters on until it materializes matching rows.
+ */
+final class ColumnarSegment {
+
+    static final int MAGIC = 0x56434F4C;
+    static final short VERSION = 1;
+
+    static final String ID = "id";
+    static final String DATE_EXECUTION = "date_execution";
+    static final String SOURCE_ACCOUNT = "source_account";
+    static final String DESTINATION_ACCOUNT = "destination_account";
+    static final String MONTANT = "montant";
+    static final String DEVISE = "devise";
+    static final String MONTANT_DEVISE = "montant_devise";
+    static final String TAUX_CHANGE = "taux_change";
+    static final String TYPE = "type";
+    static final String STATUT = "statut";
+    static final String MOTIF = "motif";
+
+    private final Path file;
+    private final int rows;
+    private final Map<String, Block> blocks;
+    private final Map<String, Object> decoded = new ConcurrentHashMap<>();
+
+    private ColumnarSegment(Path file, int rows, Map<String, Block> blocks) {
+        this.file = file;
+        this.rows = rows;
+        this.blocks = blocks;
+    }
+
+    static ColumnarSegment read(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException(file + " is not a version " + VERSION + " archive segment");
+            }
+            int rows = in.readInt();
+            int columns = in.readInt();
+            String[] names = new String[columns];
+            int[] rawLengths = new int[columns];
+            int[] compressedLengths = new int[columns];
+            for (int i = 0; i < columns; i++) {
+                names[i] = in.readUTF();
+                rawLengths[i] = in.readInt();
+                compressedLengths[i] = in.readInt();
+            }
+            Map<String, Block> blocks = new HashMap<>(columns * 2);
+            for (int i = 0; i < columns; i++) {
+                byte[] compressed = new byte[compressedLengths[i]];
+                in.readFully(compressed);
+                blocks.put(names[i], new Block(rawLengths[i], compressed));
+            }
+            return new ColumnarSegment(file, rows, blocks);
+        }
+    }
+
+    int size() {
+        return rows;
+    }
+
+    long[] ids() {
+        return (long[]) decoded.computeIfAbsent(ID, name -> {
+            DataInputStream in = open(name);
+            long[] ids = new long[rows];
+            long previous = 0;
+            try {
+                for (int i = 0; i < rows; i++) {
+                    previous += ColumnEncoding.readVarLong(in);
+                    ids[i] = previous;
+                }
+            } catch (IOException e) {
+                throw corrupt(name, e);
+            }
+            return ids;
+        });
+    }
+
+    LocalDateTime[] dates() {
+        return (LocalDateTime[]) decoded.computeIfAbsent(DATE_EXECUTION, name -> {
+            DataInputStream in = open(name);
+            LocalDateTime[] dates = new LocalDateTime[rows];
+            long seconds = 0;
+            try {
+                for (int i = 0; i < rows; i++) {
+                    seconds += ColumnEncoding.readVarLong(in);
+                    dates[i] = LocalDateTime.ofEpochSecond(seconds, (int) ColumnEncoding.readVarLong(in), ZoneOffset.UTC);
+                }
+            } catch (IOException e) {
+                throw corrupt(name, e);
+            }
+            return dates;
+        });
+    }
+
+    long[] amounts() {
+        return (long[]) decoded.computeIfAbsent(MONTANT, name -> {
+            DataInputStream in = open(name);
+            long[] amounts = new long[rows];
+            try {
+                for (int i = 0; i < rows; i++) {
+                    amounts[i] = ColumnEncoding.readVarLong(in);
+                }
+            } catch (IOException e) {
+                throw corrupt(name, e);
+            }
+            return amounts;
+        });
+    }
+
+    String[] strings(String column) {
+        return (String[]) decoded.computeIfAbsent(column, name -> {
+            try {
+                return ColumnEncoding.decodeDictionary(open(name), rows);
+            } catch (IOException e) {
+                throw corrupt(name, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the row holding virement {@code id}, or -1.
+     */
+    int indexOf(long id) {
+        long[] ids = ids();
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Virement row(int index) {
+        String montantDevise = strings(MONTANT_DEVISE)[index];
+        String tauxChange = strings(TAUX_CHANGE)[index];
+        return Virement.builder()
+                .id(ids()[index])
+                .sourceAccount(strings(SOURCE_ACCOUNT)[index])
+                .destinationAccount(strings(DESTINATION_ACCOUNT)[index])
+                .montant(Money.ofMinor(amounts()[index]))
+                .devise(strings(DEVISE)[index])
+                .montantDevise(montantDevise == null ? null : new BigDecimal(montantDevise))
+                .tauxChange(tauxChange == null ? null : new BigDecimal(tauxChange))
+                .type(TypeVirement.valueOf(strings(TYPE)[index]))
+                .dateExecution(dates()[index])
+                .statut(strings(STATUT)[index])
+                .motif(strings(MOTIF)[index])
+                .build();
+    }
+
+    private DataInputStream open(String column) {
+        Block block = blocks.get(column);
+        if (block == null) {
+            throw new IllegalStateException(file + " has no column " + column);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block.compressed);
+            byte[] raw = new byte[block.rawLength];
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int count = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException(file + ": column " + column + " is truncated");
+                }
+                inflated += count;
+            }
+            return new DataInputStream(new ByteArrayInputStream(raw, 0, inflated));
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(file + ": column " + column + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private IllegalStateException corrupt(String column, IOException cause) {
+        return new IllegalStateException(file + ": column " + column + " is truncated", cause);
+    }
+
+    private record Block(int rawLength, byte[] compressed) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.virementservice.service.archive;
+
+import com.bank.virementservice.model.Virement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes virements to an archive segment: one deflated block per column behind a header that
+ * lists each block's name and sizes, so a reader inflates only the columns a query needs.
+ * Ids, timestamps and amounts are delta or varint encoded; every string column is dictionary
+ * encoded, which is what makes accounts, statuses and recurring motifs cheap to store.
+ */
+final class ColumnarSegmentWriter {
+
+    private ColumnarSegmentWriter() {
+    }
+
+    /**
+     * Writes {@code rows}, already in (dateExecution, id) order, to {@code file} and returns
+     * its size. The file is written aside and moved into place once complete.
+     */
+    static long write(Path file, List<Virement> rows) throws IOException {
+        Map<String, byte[]> columns = new LinkedHashMap<>();
+        columns.put(ColumnarSegment.ID, encodeIds(rows));
+        columns.put(ColumnarSegment.DATE_EXECUTION, encodeDates(rows));
+        columns.put(ColumnarSegment.SOURCE_ACCOUNT, strings(rows, Virement::getSourceAccount));
+        columns.put(ColumnarSegment.DESTINATION_ACCOUNT, strings(rows, Virement::getDestinationAccount));
+        columns.put(ColumnarSegment.MONTANT, encodeAmounts(rows));
+        columns.put(ColumnarSegment.DEVISE, strings(rows, Virement::getDevise));
+        columns.put(ColumnarSegment.MONTANT_DEVISE, strings(rows, v -> plain(v.getMontantDevise())));
+        columns.put(ColumnarSegment.TAUX_CHANGE, strings(rows, v -> plain(v.getTauxChange())));
+        columns.put(ColumnarSegment.TYPE, strings(rows, v -> v.getType().name()));
+        columns.put(ColumnarSegment.STATUT, strings(rows, Virement::getStatut));
+        columns.put(ColumnarSegment.MOTIF, strings(rows, Virement::getMotif));
+
+        List<byte[]> blocks = new ArrayList<>(columns.size());
+        Path pending = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(pending);
+             DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeInt(ColumnarSegment.MAGIC);
+            out.writeShort(ColumnarSegment.VERSION);
+            out.writeInt(rows.size());
+            out.writeInt(columns.size());
+            for (Map.Entry<String, byte[]> column : columns.entrySet()) {
+                byte[] block = deflate(column.getValue());
+                blocks.add(block);
+                out.writeUTF(column.getKey());
+                out.writeInt(column.getValue().length);
+                out.writeInt(block.length);
+            }
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+        }
+        Files.move(pending, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    private static byte[] encodeIds(List<Virement> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 2);
+        long previous = 0;
+        for (Virement virement : rows) {
+            ColumnEncoding.writeVarLong(out, virement.getId() - previous);
+            previous = virement.getId();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeDates(List<Virement> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 4);
+        long previous = 0;
+        for (Virement virement : rows) {
+            LocalDateTime date = virement.getDateExecution();
+            long seconds = date.toEpochSecond(ZoneOffset.UTC);
+            ColumnEncoding.writeVarLong(out, seconds - previous);
+            ColumnEncoding.writeVarLong(out, date.getNano());
+            previous = seconds;
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeAmounts(List<Virement> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 3);
+        for (Virement virement : rows) {
+            ColumnEncoding.writeVarLong(out, virement.getMontant().getMinorUnits());
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] strings(List<Virement> rows, Function<Virement, String> column) throws IOException {
+        List<String> values = new ArrayList<>(rows.size());
+        for (Virement virement : rows) {
+            values.add(column.apply(virement));
+        }
+        return ColumnEncoding.encodeDictionary(values);
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+
+    private static byte[] deflate(byte[] raw) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,261 @@
+package com.bank.virementservice.service.archive;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.ArchiveSegment;
+import com.bank.virementservice.model.ArchiveSegmentBucket;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.ArchiveSegmentBucketRepository;
+import com.bank.virementservice.repository.ArchiveSegmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves EXECUTE and REJETE virements older than {@code after-months} out of the virements
+ * table into the archive, one day at a time, so the table, and its indexes, only hold recent
+ * and pending virements. Each pass writes the oldest archivable day to a segment file, then
+ * records the segment in the index and deletes the rows in one transaction: a failure either
+ * leaves the rows in the table and the file unreferenced, which is deleted, or moves them
+ * entirely. A day larger than {@code max-rows-per-segment} spans several segments.
+ */
+@Component
+@Slf4j
+public class VirementArchiver {
+
+    private static final String SELECT_OLDEST = "SELECT MIN(date_execution) FROM virements "
+            + "WHERE statut IN (?, ?) AND date_execution < ?";
+    private static final String SELECT_DAY = "SELECT id, source_account, destination_account, montant, devise, "
+            + "montant_devise, taux_change, type, date_execution, statut, motif FROM virements "
+            + "WHERE statut IN (?, ?) AND date_execution >= ? AND date_execution < ? "
+            + "ORDER BY date_execution, id FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE_ARCHIVED = "DELETE FROM virements "
+            + "WHERE id = ? AND statut = ? AND date_execution = ?";
+    private static final int DELETE_CHUNK = 1000;
+
+    private final ArchiveStore store;
+    private final ArchiveSegmentRepository segmentRepository;
+    private final ArchiveSegmentBucketRepository bucketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VirementProperties.Archive config;
+    private final Counter archivedCounter;
+    private final Counter segmentCounter;
+    private final ReentrantLock archiveLock = new ReentrantLock();
+
+    public VirementArchiver(ArchiveStore store, ArchiveSegmentRepository segmentRepository,
+                            ArchiveSegmentBucketRepository bucketRepository,
+                            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            VirementProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.segmentRepository = segmentRepository;
+        this.bucketRepository = bucketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getArchive();
+        this.archivedCounter = Counter.builder("virement.archive.virements")
+                .description("Virements moved from the virements table to the archive")
+                .register(meterRegistry);
+        this.segmentCounter = Counter.builder("virement.archive.segments")
+                .description("Archive segment files written")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${virement.archive.interval:PT1H}", initialDelayString = "${virement.archive.interval:PT1H}")
+    public void run() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Virement archiving failed, it will be retried on the next pass", e);
+        }
+    }
+
+    /**
+     * Archives everything past the horizon and returns the number of virements moved. The
+     * lock keeps the scheduled pass and one requested on demand from running side by side; it
+     * is a {@link ReentrantLock} rather than a monitor because the pass does file and database
+     * I/O, which would pin a virtual thread inside {@code synchronized}.
+     */
+    public long archive() {
+        archiveLock.lock();
+        try {
+            LocalDateTime horizon = LocalDate.now().minusMonths(config.getAfterMonths()).atStartOfDay();
+            long moved = 0;
+            while (true) {
+                LocalDateTime oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, LocalDateTime.class,
+                        StatutVirement.EXECUTE, StatutVirement.REJETE, Timestamp.valueOf(horizon));
+                if (oldest == null) {
+                    break;
+                }
+                LocalDate day = oldest.toLocalDate();
+                moved += write(day, load(day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+            }
+            if (moved > 0) {
+                log.info("Archived {} virements older than {}", moved, horizon);
+            }
+            return moved;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    private List<Virement> load(LocalDateTime from, LocalDateTime to) {
+        List<Virement> rows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_DAY, (RowCallbackHandler) rs -> rows.add(toVirement(rs)),
+                StatutVirement.EXECUTE, StatutVirement.REJETE, Timestamp.valueOf(from), Timestamp.valueOf(to),
+                config.getMaxRowsPerSegment());
+        return rows;
+    }
+
+    private int write(LocalDate day, List<Virement> rows) {
+        Path file = segmentFile(day);
+        AccountFilter filter = AccountFilter.create(rows.size() * 2, config.getFilterFalsePositiveRate());
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        Map<String, ArchiveSegmentBucket> buckets = new LinkedHashMap<>();
+        for (Virement virement : rows) {
+            filter.add(virement.getSourceAccount());
+            filter.add(virement.getDestinationAccount());
+            minId = Math.min(minId, virement.getId());
+            maxId = Math.max(maxId, virement.getId());
+            bucket(buckets, virement);
+        }
+        long size;
+        try {
+            Files.createDirectories(file.getParent());
+            size = ColumnarSegmentWriter.write(file, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment " + file, e);
+        }
+
+        ArchiveSegment segment = ArchiveSegment.builder()
+                .segmentDate(day)
+                .path(file.toString())
+                .rowCount(rows.size())
+                .sizeBytes(size)
+                .minId(minId)
+                .maxId(maxId)
+                .minDate(rows.get(0).getDateExecution())
+                .maxDate(rows.get(rows.size() - 1).getDateExecution())
+                .accountFilter(filter.toBytes())
+                .createdAt(LocalDateTime.now())
+                .build();
+        ArchiveSegment saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                ArchiveSegment persisted = segmentRepository.save(segment);
+                buckets.values().forEach(bucket -> bucket.setSegmentId(persisted.getId()));
+                bucketRepository.saveAll(buckets.values());
+                delete(rows);
+                return persisted;
+            });
+        } catch (RuntimeException e) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        store.added(saved, filter);
+        archivedCounter.increment(rows.size());
+        segmentCounter.increment();
+        log.debug("Archived {} virements of {} to {} ({} bytes)", rows.size(), day, file, size);
+        return rows.size();
+    }
+
+    /**
+     * Deletes the archived rows, each guarded on the statut and date it was archived with; a
+     * row updated since it was read fails the whole segment rather than lose the update.
+     */
+    private void delete(List<Virement> rows) {
+        for (int from = 0; from < rows.size(); from += DELETE_CHUNK) {
+            List<Virement> chunk = rows.subList(from, Math.min(from + DELETE_CHUNK, rows.size()));
+            int[] counts = jdbcTemplate.batchUpdate(DELETE_ARCHIVED, chunk, chunk.size(), (ps, virement) -> {
+                ps.setLong(1, virement.getId());
+                ps.setString(2, virement.getStatut());
+                ps.setTimestamp(3, Timestamp.valueOf(virement.getDateExecution()));
+            })[0];
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("Virement " + chunk.get(i).getId() + " changed while being archived");
+                }
+            }
+        }
+    }
+
+    private Path segmentFile(LocalDate day) {
+        Path directory = Paths.get(config.getDirectory(),
+                String.valueOf(day.getYear()), String.format("%02d", day.getMonthValue()));
+        int sequence = 0;
+        Path file;
+        do {
+            file = directory.resolve(String.format("%s-%03d.vcol", day, sequence++));
+        } while (Files.exists(file));
+        return file;
+    }
+
+    private static void bucket(Map<String, ArchiveSegmentBucket> buckets, Virement virement) {
+        Money montant = virement.getMontant();
+        ArchiveSegmentBucket bucket = buckets.computeIfAbsent(virement.getType() + "|" + virement.getStatut(),
+                key -> ArchiveSegmentBucket.builder()
+                        .type(virement.getType())
+                        .statut(virement.getStatut())
+                        .total(Money.ofMinor(0))
+                        .minimum(montant)
+                        .maximum(montant)
+                        .build());
+        bucket.setVirements(bucket.getVirements() + 1);
+        bucket.setTotal(Money.ofMinor(Math.addExact(bucket.getTotal().getMinorUnits(), montant.getMinorUnits())));
+        if (montant.getMinorUnits() < bucket.getMinimum().getMinorUnits()) {
+            bucket.setMinimum(montant);
+        }
+        if (montant.getMinorUnits() > bucket.getMaximum().getMinorUnits()) {
+            bucket.setMaximum(montant);
+        }
+    }
+
+    private static Virement toVirement(ResultSet rs) throws SQLException {
+        return Virement.builder()
+                .id(rs.getLong("id"))
+                .sourceAccount(rs.getString("source_account"))
+                .destinationAccount(rs.getString("destination_account"))
+                .montant(Money.of(rs.getBigDecimal("montant")))
+                .devise(rs.getString("devise"))
+                .montantDevise(rs.getBigDecimal("montant_devise"))
+                .tauxChange(rs.getBigDecimal("taux_change"))
+                .type(TypeVirement.valueOf(rs.getString("type")))
+                .dateExecution(rs.getTimestamp("date_execution").toLocalDateTime())
+                .statut(rs.getString("statut"))
+                .motif(rs.getString("motif"))
+                .build();
+    }
+}
@@ -0,0 +1,268 @@
+package com.bank.virementservice.service.beneficiaire;
+
+import com.bank.virementservice.client.BeneficiaireClient;
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.BeneficiaireCacheStats;
+import com.bank.virementservice.dto.RibValidationRequest;
+import com.bank.virementservice.dto.RibValidationResponse;
+import com.bank.virementservice.exception.InvalidBeneficiaireException;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache in front of {@link BeneficiaireClient#validateBeneficiaire}. A RIB
+ * that beneficiaire-service rejects is cached for a shorter time than one it accepts; transport
+ * and server errors are never cached. Concurrent misses for the same RIB share a single call.
+ */
+@Component
+@Slf4j
+public class BeneficiaireValidationCache {
+
+    private static final int BATCH_CHUNK = 1000;
+
+    private final BeneficiaireClient client;
+    private final VirementProperties.BeneficiaireCache config;
+    private final Map<String, CacheEntry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BeneficiaireValidationCache(BeneficiaireClient client, VirementProperties properties) {
+        this.client = client;
+        this.config = properties.getBeneficiaireCache();
+        int maxEntries = config.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns normally when the RIB designates a known beneficiaire and throws
+     * {@link InvalidBeneficiaireException} when it does not; other client errors are rethrown.
+     */
+    public void validate(String rib) {
+        if (!config.getEnabled()) {
+            client.validateBeneficiaire(rib);
+            return;
+        }
+        CacheEntry loading = new CacheEntry();
+        CacheEntry current;
+        synchronized (entries) {
+            current = entries.get(rib);
+            if (current == null || current.isExpired(System.nanoTime())) {
+                entries.put(rib, loading);
+                current = loading;
+            }
+        }
+        if (current != loading) {
+            await(current);
+            return;
+        }
+
+        misses.increment();
+        load(rib, loading);
+    }
+
+    /**
+     * Validates several RIBs at once and returns, for each distinct RIB, the reason it was
+     * refused, or nothing if every RIB is valid. Cached and in-flight results are reused; the
+     * remaining RIBs go to beneficiaire-service in batch calls, or a single call when only one
+     * RIB is left to check.
+     */
+    public Map<String, RuntimeException> validateAll(Collection<String> ribs) {
+        Map<String, CacheEntry> cached = new HashMap<>();
+        Map<String, CacheEntry> loading = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        synchronized (entries) {
+            for (String rib : new HashSet<>(ribs)) {
+                CacheEntry current = config.getEnabled() ? entries.get(rib) : null;
+                if (current == null || current.isExpired(now)) {
+                    current = new CacheEntry();
+                    if (config.getEnabled()) {
+                        entries.put(rib, current);
+                    }
+                    loading.put(rib, current);
+                } else {
+                    cached.put(rib, current);
+                }
+            }
+        }
+
+        misses.add(loading.size());
+        if (loading.size() == 1) {
+            Map.Entry<String, CacheEntry> only = loading.entrySet().iterator().next();
+            try {
+                load(only.getKey(), only.getValue());
+            } catch (RuntimeException e) {
+                log.debug("Beneficiaire {} rejected: {}", only.getKey(), e.getMessage());
+            }
+        } else if (!loading.isEmpty()) {
+            loadBatch(new ArrayList<>(loading.keySet()), loading);
+        }
+
+        Map<String, RuntimeException> errors = new HashMap<>();
+        for (Map.Entry<String, CacheEntry> entry : loading.entrySet()) {
+            if (entry.getValue().result.isCompletedExceptionally()) {
+                errors.put(entry.getKey(), failureOf(entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, CacheEntry> entry : cached.entrySet()) {
+            try {
+                await(entry.getValue());
+            } catch (RuntimeException e) {
+                errors.put(entry.getKey(), e);
+            }
+        }
+        return errors;
+    }
+
+    public void invalidate(String rib) {
+        synchronized (entries) {
+            if (entries.remove(rib) != null) {
+                invalidations.increment();
+            }
+        }
+        log.debug("Beneficiaire {} evicted from the validation cache", rib);
+    }
+
+    public BeneficiaireCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long lookups = hits.sum() + negativeHits.sum() + coalesced.sum() + misses.sum();
+        return BeneficiaireCacheStats.builder()
+                .size(size)
+                .hits(hits.sum())
+                .negativeHits(negativeHits.sum())
+                .misses(misses.sum())
+                .coalesced(coalesced.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .hitRatio(lookups == 0 ? 0 : (double) (lookups - misses.sum()) / lookups)
+                .build();
+    }
+
+    private void await(CacheEntry entry) {
+        if (!entry.result.isDone()) {
+            coalesced.increment();
+        } else if (entry.result.isCompletedExceptionally()) {
+            negativeHits.increment();
+        } else {
+            hits.increment();
+        }
+        try {
+            entry.result.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private static RuntimeException failureOf(CacheEntry entry) {
+        try {
+            entry.result.join();
+            return null;
+        } catch (CompletionException e) {
+            return (RuntimeException) e.getCause();
+        }
+    }
+
+    private void load(String rib, CacheEntry loading) {
+        try {
+            client.validateBeneficiaire(rib);
+            loading.complete(null, config.getPositiveTtl());
+        } catch (FeignException e) {
+            if (!isRejection(e)) {
+                discard(rib, loading, e);
+                throw e;
+            }
+            InvalidBeneficiaireException rejection = new InvalidBeneficiaireException(rib);
+            loading.complete(rejection, config.getNegativeTtl());
+            throw rejection;
+        } catch (RuntimeException e) {
+            discard(rib, loading, e);
+            throw e;
+        }
+    }
+
+    private void loadBatch(List<String> ribs, Map<String, CacheEntry> loading) {
+        for (int from = 0; from < ribs.size(); from += BATCH_CHUNK) {
+            List<String> chunk = ribs.subList(from, Math.min(from + BATCH_CHUNK, ribs.size()));
+            try {
+                RibValidationResponse response = client.validateBeneficiaires(new RibValidationRequest(new ArrayList<>(chunk)));
+                Set<String> valid = new HashSet<>(response.getValid());
+                for (String rib : chunk) {
+                    if (valid.contains(rib)) {
+                        loading.get(rib).complete(null, config.getPositiveTtl());
+                    } else {
+                        loading.get(rib).complete(new InvalidBeneficiaireException(rib), config.getNegativeTtl());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("Batch validation of {} beneficiaires failed: {}", chunk.size(), e.getMessage());
+                for (String rib : chunk) {
+                    discard(rib, loading.get(rib), e);
+                }
+            }
+        }
+    }
+
+    private void discard(String rib, CacheEntry entry, RuntimeException error) {
+        synchronized (entries) {
+            entries.remove(rib, entry);
+        }
+        entry.result.completeExceptionally(error);
+    }
+
+    /**
+     * A RIB is only cached as invalid when beneficiaire-service answered with a client error;
+     * authentication failures and throttling say nothing about the RIB itself.
+     */
+    private static boolean isRejection(FeignException e) {
+        int status = e.status();
+        return status >= 400 && status < 500 && status != 401 && status != 403 && status != 429;
+    }
+
+    private static final class CacheEntry {
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private void complete(RuntimeException rejection, Duration ttl) {
+            expiresAtNanos = System.nanoTime() + ttl.toNanos();
+            if (rejection == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(rejection);
+            }
+        }
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.virementservice.service.beneficiaire;
+
+import com.bank.virementservice.config.InternalToken;
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.exception.InvalidBeneficiaireException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking RIB validation for the {@code reactive} profile, with the same policy as
+ * {@link BeneficiaireValidationCache}: accepted RIBs are cached for the positive TTL, rejected
+ * ones for the negative TTL, transport and server errors are not cached, and concurrent
+ * lookups of one RIB share a single call. The cached value is the call's {@code Mono} itself.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveBeneficiaireValidator {
+
+    private final WebClient client;
+    private final VirementProperties.BeneficiaireCache config;
+    private final Duration timeout;
+    private final Map<String, Mono<Void>> entries;
+
+    public ReactiveBeneficiaireValidator(WebClient.Builder loadBalancedWebClientBuilder, VirementProperties properties) {
+        WebClient.Builder builder = loadBalancedWebClientBuilder.clone().baseUrl("http://beneficiaire-service");
+        String token = properties.getInternal().getToken();
+        if (StringUtils.hasText(token)) {
+            builder.defaultHeader(InternalToken.HEADER, token);
+        }
+        this.client = builder.build();
+        this.config = properties.getBeneficiaireCache();
+        this.timeout = properties.getReactive().getBeneficiaireTimeout();
+        int maxEntries = config.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Mono<Void>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Completes empty when the RIB designates a known beneficiaire and fails with
+     * {@link InvalidBeneficiaireException} when it does not.
+     */
+    public Mono<Void> validate(String rib) {
+        if (!config.getEnabled()) {
+            return call(rib);
+        }
+        synchronized (entries) {
+            return entries.computeIfAbsent(rib, this::cached);
+        }
+    }
+
+    private Mono<Void> cached(String rib) {
+        return call(rib).cache(
+                value -> config.getPositiveTtl(),
+                error -> error instanceof InvalidBeneficiaireException ? config.getNegativeTtl() : Duration.ZERO,
+                config::getPositiveTtl);
+    }
+
+    private Mono<Void> call(String rib) {
+        return client.get()
+                .uri("/internal/beneficiaires/{rib}/validate", rib)
+                .retrieve()
+                .onStatus(ReactiveBeneficiaireValidator::isRejection,
+                        response -> Mono.error(new InvalidBeneficiaireException(rib)))
+                .toBodilessEntity()
+                .timeout(timeout)
+                .then();
+    }
+
+    /**
+     * Same rule as the blocking cache: only a client error that is not about authentication or
+     * throttling says the RIB itself is unknown.
+     */
+    private static boolean isRejection(HttpStatusCode status) {
+        int code = status.value();
+        return code >= 400 && code < 500 && code != 401 && code != 403 && code != 429;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.virementservice.service.execution;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.VirementRepository;
+import com.bank.virementservice.service.ledger.LedgerPostingWriter;
+import com.bank.virementservice.service.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hands out pending virements to one instance at a time. Rows are selected with
+ * {@code FOR UPDATE SKIP LOCKED} and stamped with a lease, so competing instances neither
+ * block on nor pick up work another instance already owns. While settlement netting is
+ * enabled, NATIONAL virements are left to the settlement cycle instead. Completing an
+ * executed virement records its ledger postings in the same transaction as its status.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VirementClaimService {
+
+    private final VirementRepository repository;
+    private final OutboxWriter outbox;
+    private final LedgerPostingWriter postings;
+    private final VirementProperties properties;
+
+    public List<Virement> claim(String instanceId, int max, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Virement> claimed = properties.getSettlement().getEnabled()
+                ? repository.findClaimableExcept(StatutVirement.EN_COURS, TypeVirement.NATIONAL, now, PageRequest.ofSize(max))
+                : repository.findClaimable(StatutVirement.EN_COURS, now, PageRequest.ofSize(max));
+        LocalDateTime claimedUntil = now.plus(lease);
+        for (Virement virement : claimed) {
+            virement.setClaimedBy(instanceId);
+            virement.setClaimedUntil(claimedUntil);
+        }
+        return claimed;
+    }
+
+    public boolean complete(Virement virement, String instanceId, String statut) {
+        if (repository.completeClaim(virement.getId(), instanceId, statut) != 1) {
+            return false;
+        }
+        if (StatutVirement.EXECUTE.equals(statut)) {
+            postings.executed(virement);
+        }
+        outbox.statusChanged(virement, statut);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public long pending() {
+        return repository.countByStatut(StatutVirement.EN_COURS);
+    }
+}
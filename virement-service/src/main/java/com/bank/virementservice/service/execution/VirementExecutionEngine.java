@@ -0,0 +1,180 @@
+package com.bank.virementservice.service.execution;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.ExecutionStats;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves claimed virements from EN_COURS to EXECUTE or REJETE on a bounded worker pool.
+ * The poller only claims as many rows as the local queue can accept, so a slow instance
+ * leaves the remaining backlog to its peers. Only the instance that owns the ledger claims
+ * work, and a transfer whose completion does not commit is reverted in the ledger.
+ */
+@Component
+@Slf4j
+public class VirementExecutionEngine {
+
+    private final VirementClaimService claimService;
+    private final VirementExecutor executor;
+    private final AccountLedger ledger;
+    private final TransferJournal journal;
+    private final VirementProperties.Execution config;
+    private final String instanceId;
+    private final ThreadPoolExecutor workers;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long lastSampleNanos = System.nanoTime();
+    private long lastSampleCount;
+    private volatile double throughputPerSecond;
+
+    public VirementExecutionEngine(VirementClaimService claimService,
+                                   VirementExecutor executor,
+                                   AccountLedger ledger,
+                                   TransferJournal journal,
+                                   VirementProperties properties,
+                                   @Value("${spring.application.name}") String applicationName) {
+        this.claimService = claimService;
+        this.executor = executor;
+        this.ledger = ledger;
+        this.journal = journal;
+        this.config = properties.getExecution();
+        this.instanceId = applicationName + "-" + UUID.randomUUID();
+        this.workers = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                workerThreadFactory());
+    }
+
+    @Scheduled(fixedDelayString = "${virement.execution.poll-interval:PT1S}")
+    public void poll() {
+        sampleThroughput();
+        if (!config.getEnabled() || !ledger.isOwner()) {
+            return;
+        }
+        int requested;
+        int claimedCount;
+        do {
+            requested = Math.min(workers.getQueue().remainingCapacity(), config.getBatchSize());
+            if (requested == 0) {
+                return;
+            }
+            List<Virement> claimed = claimService.claim(instanceId, requested, config.getClaimTimeout());
+            claimedCount = claimed.size();
+            for (Virement virement : claimed) {
+                workers.execute(() -> run(virement));
+            }
+        } while (claimedCount == requested);
+    }
+
+    public ExecutionStats stats() {
+        return ExecutionStats.builder()
+                .instanceId(instanceId)
+                .pendingInDatabase(claimService.pending())
+                .queuedLocally(workers.getQueue().size())
+                .activeWorkers(workers.getActiveCount())
+                .executed(executed.sum())
+                .rejected(rejected.sum())
+                .failed(failed.sum())
+                .throughputPerSecond(throughputPerSecond)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void run(Virement virement) {
+        String statut;
+        try {
+            statut = executor.execute(virement);
+            if (!complete(virement, statut)) {
+                log.warn("Lease on virement {} was lost before completion", virement.getId());
+                return;
+            }
+            if (StatutVirement.EXECUTE.equals(statut)) {
+                executed.increment();
+            } else {
+                rejected.increment();
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Execution of virement {} failed, it will be retried once its lease expires", virement.getId(), e);
+            return;
+        }
+        journalCompleted(virement, statut);
+    }
+
+    /**
+     * Journals a transition that has already committed. A failure here is only logged: the
+     * virement is done and will not be retried, so counting it as failed would be wrong.
+     */
+    private void journalCompleted(Virement virement, String statut) {
+        try {
+            journal.append(TransferEvent.statusChanged(virement.getId(), statut));
+        } catch (RuntimeException e) {
+            log.error("Could not journal the completion of virement {}", virement.getId(), e);
+        }
+    }
+
+    /** Completes the claim, undoing the ledger movement of an executed virement if it does not commit. */
+    private boolean complete(Virement virement, String statut) {
+        boolean transferred = StatutVirement.EXECUTE.equals(statut);
+        boolean completed;
+        try {
+            completed = claimService.complete(virement, instanceId, statut);
+        } catch (RuntimeException e) {
+            if (transferred) {
+                ledger.revert(virement.getSourceAccount(), virement.getDestinationAccount(), virement.getMontant());
+            }
+            throw e;
+        }
+        if (!completed && transferred) {
+            ledger.revert(virement.getSourceAccount(), virement.getDestinationAccount(), virement.getMontant());
+        }
+        return completed;
+    }
+
+    private synchronized void sampleThroughput() {
+        long now = System.nanoTime();
+        long completed = executed.sum() + rejected.sum();
+        double elapsedSeconds = (now - lastSampleNanos) / 1_000_000_000.0;
+        if (elapsedSeconds > 0) {
+            throughputPerSecond = (completed - lastSampleCount) / elapsedSeconds;
+        }
+        lastSampleNanos = now;
+        lastSampleCount = completed;
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "virement-exec-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.virementservice.service.execution;
+
+import com.bank.virementservice.exception.InsufficientFundsException;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VirementExecutor {
+
+    private final AccountLedger ledger;
+
+    public String execute(Virement virement) {
+        if (virement.getSourceAccount().equals(virement.getDestinationAccount())) {
+            log.info("Virement {} rejected: source and destination accounts are identical", virement.getId());
+            return StatutVirement.REJETE;
+        }
+        try {
+            ledger.transfer(virement.getSourceAccount(), virement.getDestinationAccount(), virement.getMontant());
+        } catch (InsufficientFundsException e) {
+            log.info("Virement {} rejected: {}", virement.getId(), e.getMessage());
+            return StatutVirement.REJETE;
+        }
+        return StatutVirement.EXECUTE;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.virementservice.service.fx;
+
+import com.bank.virementservice.config.VirementProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads rates from a {@code devise,taux} file ({@code virement.fx.rates-location}), one
+ * currency per line, {@code #} starting a comment. Stands in for a market feed: replacing the
+ * file, or another {@link FxRateSource} bean, is all a rate update takes.
+ */
+@Component
+public class FileFxRateSource implements FxRateSource {
+
+    private final Resource resource;
+
+    public FileFxRateSource(ResourceLoader resourceLoader, VirementProperties properties) {
+        this.resource = resourceLoader.getResource(properties.getFx().getRatesLocation());
+    }
+
+    @Override
+    public String getName() {
+        return resource.getDescription();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return resource.lastModified();
+    }
+
+    @Override
+    public Map<String, BigDecimal> load() throws IOException {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                int comment = line.indexOf('#');
+                String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (content.isEmpty()) {
+                    continue;
+                }
+                String[] fields = content.split(",");
+                String devise = fields[0].trim();
+                if (fields.length != 2 || !devise.matches("[A-Z]{3}")) {
+                    throw new IOException(getName() + " line " + number + ": expected devise,taux");
+                }
+                BigDecimal rate;
+                try {
+                    rate = new BigDecimal(fields[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException(getName() + " line " + number + ": invalid rate " + fields[1].trim(), e);
+                }
+                if (rate.signum() <= 0) {
+                    throw new IOException(getName() + " line " + number + ": rate must be positive");
+                }
+                if (rates.put(devise, rate) != null) {
+                    throw new IOException(getName() + " line " + number + ": duplicate " + devise);
+                }
+            }
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.virementservice.service.fx;
+
+import com.bank.virementservice.model.Money;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * The outcome of pricing a virement: {@code montant} in the base currency, plus the ordered
+ * amount and the rate applied when the virement was in another currency.
+ */
+@Value
+public class FxConversion {
+    String devise;
+    BigDecimal montantDevise;
+    BigDecimal tauxChange;
+    Money montant;
+
+    public static FxConversion none(Money montant) {
+        return new FxConversion(montant.getCurrency(), null, null, montant);
+    }
+
+    public boolean isConverted() {
+        return tauxChange != null;
+    }
+}
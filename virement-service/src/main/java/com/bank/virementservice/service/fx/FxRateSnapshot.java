@@ -0,0 +1,66 @@
+package com.bank.virementservice.service.fx;
+
+import com.bank.virementservice.model.Money;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One immutable version of the rate table: for each currency, the amount of base currency
+ * one unit of it buys. A snapshot never changes once built; a refresh publishes a new one.
+ */
+public final class FxRateSnapshot {
+
+    private static final FxRateSnapshot EMPTY = new FxRateSnapshot(Map.of(), 0, null, null, "none");
+
+    private final Map<String, BigDecimal> rates;
+    private final long version;
+    private final Instant asOf;
+    private final Instant loadedAt;
+    private final String source;
+
+    public FxRateSnapshot(Map<String, BigDecimal> rates, long version, Instant asOf, Instant loadedAt, String source) {
+        this.rates = Map.copyOf(rates);
+        this.version = version;
+        this.asOf = asOf;
+        this.loadedAt = loadedAt;
+        this.source = source;
+    }
+
+    public static FxRateSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the base-currency value of one unit of {@code devise}, or null if the table has
+     * no rate for it.
+     */
+    public BigDecimal rate(String devise) {
+        return Money.DEFAULT_CURRENCY.equals(devise) ? BigDecimal.ONE : rates.get(devise);
+    }
+
+    public String getBase() {
+        return Money.DEFAULT_CURRENCY;
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
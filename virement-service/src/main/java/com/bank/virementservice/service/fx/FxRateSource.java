@@ -0,0 +1,24 @@
+package com.bank.virementservice.service.fx;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Where {@link FxRateTable} gets its rates from. The table polls {@link #lastModified()} and
+ * only calls {@link #load()} when it moved, so a source should make the former cheap.
+ */
+public interface FxRateSource {
+
+    String getName();
+
+    /**
+     * Returns a value that changes whenever the rates do, in epoch milliseconds.
+     */
+    long lastModified() throws IOException;
+
+    /**
+     * Returns the base-currency value of one unit of each quoted currency.
+     */
+    Map<String, BigDecimal> load() throws IOException;
+}
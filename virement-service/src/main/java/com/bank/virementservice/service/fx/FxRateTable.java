@@ -0,0 +1,128 @@
+package com.bank.virementservice.service.fx;
+
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.exception.UnsupportedCurrencyException;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.TypeVirement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process FX rates used to price foreign-currency virements on the create path. The table
+ * is an immutable {@link FxRateSnapshot} behind a volatile field: a conversion reads the field
+ * once and works on that snapshot, and a refresh builds a new snapshot off to the side and
+ * swaps it in, so converting never takes a lock and never sees a half-updated table.
+ *
+ * <p>Only {@code INTERNATIONAL} virements may be ordered in a currency other than the base
+ * one. The ordered amount may carry as many decimals as its currency has (three for TND,
+ * none for JPY) and is converted to the base currency with banker's rounding to the cent.
+ */
+@Component
+@Slf4j
+public class FxRateTable {
+
+    private static final int BASE_FRACTION_DIGITS = 2;
+
+    private final FxRateSource source;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> conversions = new ConcurrentHashMap<>();
+    private volatile FxRateSnapshot snapshot = FxRateSnapshot.empty();
+    private long loadedModified = Long.MIN_VALUE;
+
+    public FxRateTable(FxRateSource source, MeterRegistry meterRegistry) {
+        this.source = source;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("virement.fx.rates", this, table -> table.snapshot.getRates().size())
+                .description("Currencies in the current FX snapshot")
+                .register(meterRegistry);
+        Gauge.builder("virement.fx.age", this, FxRateTable::ageSeconds)
+                .description("Age in seconds of the rates in the current FX snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        refresh();
+    }
+
+    public FxRateSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Prices {@code request} against the current snapshot and returns its amount in the base
+     * currency, along with the ordered amount and rate when a conversion took place.
+     */
+    public FxConversion convert(VirementRequest request) {
+        String devise = request.getDevise();
+        if (devise == null || Money.DEFAULT_CURRENCY.equals(devise)) {
+            return FxConversion.none(amount(request.getMontant(), Money.DEFAULT_CURRENCY));
+        }
+        if (request.getType() != TypeVirement.INTERNATIONAL) {
+            throw new UnsupportedCurrencyException(devise, "only INTERNATIONAL virements may be in a foreign currency");
+        }
+        FxRateSnapshot rates = snapshot;
+        BigDecimal rate = rates.rate(devise);
+        if (rate == null) {
+            throw new UnsupportedCurrencyException(devise, "no rate in FX table version " + rates.getVersion());
+        }
+        BigDecimal montantDevise = amount(request.getMontant(), devise).toBigDecimal();
+        Money montant = Money.of(montantDevise.multiply(rate).setScale(BASE_FRACTION_DIGITS, RoundingMode.HALF_EVEN));
+        conversions.computeIfAbsent(devise, key -> Counter.builder("virement.fx.conversions")
+                .tag("devise", key)
+                .register(meterRegistry)).increment();
+        return new FxConversion(devise, montantDevise, rate, montant);
+    }
+
+    /**
+     * Reloads the rates when the source changed since the last load. A source that fails or
+     * returns a malformed table leaves the current snapshot in place. Runs on the scheduler
+     * thread only, so the bookkeeping below needs no locking.
+     */
+    @Scheduled(fixedDelayString = "${virement.fx.refresh-interval:PT10S}")
+    public void refresh() {
+        try {
+            long modified = source.lastModified();
+            if (modified == loadedModified) {
+                return;
+            }
+            Map<String, BigDecimal> rates = source.load();
+            publish(new FxRateSnapshot(rates, snapshot.getVersion() + 1, Instant.ofEpochMilli(modified),
+                    Instant.now(), source.getName()));
+            loadedModified = modified;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not refresh FX rates from {}, keeping version {}: {}",
+                    source.getName(), snapshot.getVersion(), e.getMessage());
+        }
+    }
+
+    public void publish(FxRateSnapshot next) {
+        snapshot = next;
+        log.info("FX rates version {} published from {}: {} currencies", next.getVersion(), next.getSource(),
+                next.getRates().size());
+    }
+
+    /** The ordered amount, rejected when it has more decimals than {@code devise} allows. */
+    private static Money amount(BigDecimal montant, String devise) {
+        try {
+            return Money.of(montant, devise);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedCurrencyException(devise, e.getMessage());
+        }
+    }
+
+    private double ageSeconds() {
+        Instant asOf = snapshot.getAsOf();
+        return asOf == null ? 0 : Duration.between(asOf, Instant.now()).toMillis() / 1000.0;
+    }
+}
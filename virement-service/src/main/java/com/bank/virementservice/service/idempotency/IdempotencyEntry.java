@@ -0,0 +1,17 @@
+package com.bank.virementservice.service.idempotency;
+
+import com.bank.virementservice.dto.VirementResponse;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class IdempotencyEntry {
+    String fingerprint;
+    VirementResponse response;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bank.virementservice.service.idempotency;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.exception.IdempotencyInProgressException;
+import com.bank.virementservice.exception.IdempotencyKeyReuseException;
+import com.bank.virementservice.exception.InvalidIdempotencyKeyException;
+import com.bank.virementservice.model.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for a known key, and makes concurrent requests carrying the
+ * same key wait for the one already in flight instead of executing again. Keys longer than
+ * the stored column are rejected up front, before the virement is created. If another
+ * instance stored the same key first, its response wins and the one just created is only
+ * logged as a duplicate.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private final IdempotencyStore store;
+    private final VirementProperties properties;
+    private final ConcurrentMap<String, Pending> inFlight = new ConcurrentHashMap<>();
+
+    public VirementResponse execute(String key, VirementRequest request, Supplier<VirementResponse> action) {
+        if (key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(IdempotencyRecord.MAX_KEY_LENGTH);
+        }
+        String fingerprint = fingerprint(request);
+        Optional<VirementResponse> stored = lookup(key, fingerprint);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        Pending mine = new Pending(fingerprint, new CompletableFuture<>());
+        Pending existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException(key);
+            }
+            return await(key, existing.future());
+        }
+        try {
+            VirementResponse response = lookup(key, fingerprint).orElseGet(() -> {
+                VirementResponse created = action.get();
+                Instant expiresAt = Instant.now().plus(properties.getIdempotency().getTtl());
+                IdempotencyEntry entry = new IdempotencyEntry(fingerprint, created, expiresAt);
+                IdempotencyEntry stored = store.saveIfAbsent(key, entry);
+                if (stored == entry) {
+                    return created;
+                }
+                log.warn("Idempotency key {} was stored concurrently for virement {}, virement {} is a duplicate",
+                        key, stored.getResponse().getId(), created.getId());
+                if (!stored.getFingerprint().equals(fingerprint)) {
+                    throw new IdempotencyKeyReuseException(key);
+                }
+                return stored.getResponse();
+            });
+            mine.future().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Optional<VirementResponse> lookup(String key, String fingerprint) {
+        return store.find(key).map(entry -> {
+            if (!entry.getFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException(key);
+            }
+            return entry.getResponse();
+        });
+    }
+
+    private VirementResponse await(String key, CompletableFuture<VirementResponse> pending) {
+        try {
+            return pending.get(properties.getIdempotency().getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyInProgressException(key);
+        }
+    }
+
+    private String fingerprint(VirementRequest request) {
+        String fingerprint = String.join("|",
+                request.getSourceAccount(),
+                request.getDestinationAccount(),
+                request.getMontant().stripTrailingZeros().toPlainString(),
+                request.getType().name(),
+                String.valueOf(request.getMotif()));
+        // Appended only when set, so fingerprints stored before currencies existed still match
+        return request.getDevise() == null ? fingerprint : fingerprint + "|" + request.getDevise();
+    }
+
+    private record Pending(String fingerprint, CompletableFuture<VirementResponse> future) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.virementservice.service.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    Optional<IdempotencyEntry> find(String key);
+
+    /**
+     * Stores {@code entry} unless the key already holds one that has not expired, and returns
+     * the entry the key holds afterwards: {@code entry} itself, or the one stored first.
+     */
+    IdempotencyEntry saveIfAbsent(String key, IdempotencyEntry entry);
+}
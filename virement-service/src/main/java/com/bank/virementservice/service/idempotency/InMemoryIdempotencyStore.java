@@ -0,0 +1,63 @@
+package com.bank.virementservice.service.idempotency;
+
+import com.bank.virementservice.config.VirementProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-process store. Entries are kept in insertion order, so expired keys are
+ * always at the head and the eldest entry is dropped once the size limit is reached.
+ */
+@Component
+@ConditionalOnProperty(prefix = "virement.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyEntry> entries;
+
+    public InMemoryIdempotencyStore(VirementProperties properties) {
+        int maxEntries = properties.getIdempotency().getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyEntry> find(String key) {
+        IdempotencyEntry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(Instant.now())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    @Override
+    public synchronized IdempotencyEntry saveIfAbsent(String key, IdempotencyEntry entry) {
+        evictExpired(Instant.now());
+        IdempotencyEntry stored = entries.get(key);
+        if (stored != null && !stored.isExpired(Instant.now())) {
+            return stored;
+        }
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<IdempotencyEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().isExpired(now)) {
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.virementservice.service.idempotency;
+
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.model.IdempotencyRecord;
+import com.bank.virementservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "virement.idempotency", name = "store", havingValue = "jpa")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyEntry> find(String key) {
+        return repository.findById(key)
+                .map(this::toEntry)
+                .filter(entry -> !entry.isExpired(Instant.now()));
+    }
+
+    /**
+     * Inserts rather than merges, so that when two instances finish the same key at once the
+     * second insert hits the primary key and gets the first one's entry back instead of
+     * overwriting it.
+     */
+    @Override
+    public IdempotencyEntry saveIfAbsent(String key, IdempotencyEntry entry) {
+        String response = serialize(key, entry);
+        try {
+            repository.insert(key, entry.getFingerprint(), response, entry.getExpiresAt());
+            return entry;
+        } catch (DataIntegrityViolationException e) {
+            if (repository.replaceExpired(key, entry.getFingerprint(), response, entry.getExpiresAt(), Instant.now()) == 1) {
+                return entry;
+            }
+            return repository.findById(key)
+                    .map(this::toEntry)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key " + key + " vanished while being stored", e));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${virement.idempotency.purge-interval:PT5M}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String serialize(String key, IdempotencyEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry.getResponse());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize response for idempotency key " + key, e);
+        }
+    }
+
+    private IdempotencyEntry toEntry(IdempotencyRecord record) {
+        try {
+            return new IdempotencyEntry(record.getFingerprint(),
+                    objectMapper.readValue(record.getResponse(), VirementResponse.class),
+                    record.getExpiresAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted response for idempotency key " + record.getIdempotencyKey(), e);
+        }
+    }
+}
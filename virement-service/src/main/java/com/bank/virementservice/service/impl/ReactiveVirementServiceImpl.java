@@ -0,0 +1,226 @@
+package com.bank.virementservice.service.impl;
+
+import com.bank.virementservice.dto.VirementCursor;
+import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.exception.ArchivedVirementException;
+import com.bank.virementservice.exception.VirementNotFoundException;
+import com.bank.virementservice.exception.VirementNotModifiableException;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.ReactiveVirementRepository;
+import com.bank.virementservice.service.ReactiveVirementService;
+import com.bank.virementservice.service.VirementIdGenerator;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import com.bank.virementservice.service.beneficiaire.ReactiveBeneficiaireValidator;
+import com.bank.virementservice.service.fx.FxConversion;
+import com.bank.virementservice.service.fx.FxRateTable;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.outbox.ReactiveOutboxWriter;
+import com.bank.virementservice.service.search.VirementSearchIndex;
+import com.bank.virementservice.service.velocity.VelocityEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ReactiveVirementService} over R2DBC and {@link ReactiveBeneficiaireValidator}, with
+ * the same checks and side effects as {@link VirementServiceImpl}. The ledger, velocity rules
+ * and id pool are in memory but may load from JPA on first use, and the journal waits for its
+ * group commit, so those steps run on the bounded elastic scheduler; the database writes and
+ * the beneficiaire call never hold a thread.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveVirementServiceImpl implements ReactiveVirementService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final ReactiveVirementRepository repository;
+    private final VirementMapper mapper;
+    private final ReactiveBeneficiaireValidator beneficiaires;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveOutboxWriter outbox;
+    private final VirementIdGenerator idGenerator;
+    private final AccountLedger ledger;
+    private final TransferJournal journal;
+    private final VelocityEngine velocityEngine;
+    private final FxRateTable fxRates;
+    private final ArchiveStore archive;
+    private final VirementSearchIndex searchIndex;
+
+    @Override
+    public Mono<VirementResponse> create(VirementRequest request) {
+        return Mono.fromCallable(() -> fxRates.convert(request))
+                .flatMap(conversion -> checkAndMap(request, conversion))
+                .flatMap(checked -> repository.insert(checked.getT1())
+                        .then(outbox.created(checked.getT1()))
+                        .as(transactionalOperator::transactional)
+                        .doOnError(e -> checked.getT2().release())
+                        .thenReturn(checked.getT1()))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(entity -> {
+                    journalCommitted(TransferEvent.created(entity));
+                    searchIndex.created(entity);
+                })
+                .map(mapper::toResponse);
+    }
+
+    @Override
+    public Mono<VirementResponse> update(Long id, VirementRequest request) {
+        return findModifiable(id)
+                .flatMap(entity -> {
+                    Money previousMontant = entity.getMontant();
+                    TypeVirement previousType = entity.getType();
+                    LocalDateTime previousDateExecution = entity.getDateExecution();
+                    VirementSearchIndex.Entry indexed = VirementSearchIndex.entry(entity);
+                    mapper.updateEntity(entity, request, fxRates.convert(request));
+                    entity.setDateExecution(LocalDateTime.now());
+                    return repository.update(entity)
+                            .flatMap(updated -> updated == 1
+                                    ? outbox.updated(entity, previousMontant, previousType, previousDateExecution)
+                                    : Mono.<Void>error(new VirementNotModifiableException(id)))
+                            .as(transactionalOperator::transactional)
+                            .then(Mono.fromRunnable(() -> searchIndex.replaced(indexed, entity)))
+                            .thenReturn(entity);
+                })
+                .map(mapper::toResponse);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return findModifiable(id)
+                .flatMap(entity -> repository.deleteById(id)
+                        .flatMap(deleted -> deleted == 1
+                                ? outbox.deleted(entity)
+                                : Mono.<Void>error(new VirementNotModifiableException(id)))
+                        .as(transactionalOperator::transactional)
+                        .then(Mono.<Void>fromRunnable(() -> {
+                            journalCommitted(TransferEvent.deleted(id));
+                            searchIndex.removed(VirementSearchIndex.entry(entity));
+                        }).subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    @Override
+    public Mono<VirementResponse> getById(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(archived(id))
+                .switchIfEmpty(Mono.error(() -> new VirementNotFoundException(id)))
+                .map(mapper::toResponse);
+    }
+
+    @Override
+    public Mono<VirementPage> getPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Flux<Virement> rows;
+        VirementCursor position;
+        if (cursor == null || cursor.isBlank()) {
+            position = new VirementCursor(EARLIEST, Long.MIN_VALUE);
+            rows = repository.findFirstPage(pageSize);
+        } else {
+            position = VirementCursor.decode(cursor);
+            rows = repository.findPageAfter(position.getDateExecution(), position.getId(), pageSize);
+        }
+        Mono<List<Virement>> archived = Mono.fromCallable(() -> archive.findAfter(null, null,
+                        position.getDateExecution(), position.getId(), LATEST, pageSize))
+                .subscribeOn(Schedulers.boundedElastic());
+        return rows.collectList()
+                .zipWith(archived, (page, old) -> ArchiveStore.merge(page, old, pageSize))
+                .map(page -> toPage(page, pageSize));
+    }
+
+    @Override
+    public Flux<VirementDTO> streamAll() {
+        Flux<Virement> archived = Flux.defer(() -> Flux.fromIterable(archive.segments()))
+                .concatMap(segment -> Mono.fromCallable(() -> archive.rows(segment))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(rows -> rows));
+        return archived.concatWith(repository.findAll()).map(mapper::toDTO);
+    }
+
+    /**
+     * Runs the ledger, beneficiaire and velocity checks for a priced request and builds its
+     * entity, along with the velocity reservation to release if it is not stored. The
+     * conversion itself only reads the in-memory rate snapshot, so it stays on the calling
+     * thread.
+     */
+    private Mono<Tuple2<Virement, VelocityEngine.Reservation>> checkAndMap(VirementRequest request,
+                                                                          FxConversion conversion) {
+        return Mono.fromRunnable(() -> ledger.checkAvailable(request.getSourceAccount(), conversion.getMontant()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(beneficiaires.validate(request.getDestinationAccount()))
+                .then(Mono.fromCallable(() -> {
+                    Virement entity = mapper.toEntity(request, conversion);
+                    entity.setId(idGenerator.next());
+                    return Tuples.of(entity, velocityEngine.check(request, conversion.getMontant()));
+                }).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Journals a change that has already committed. As in {@link VirementServiceImpl}, a
+     * journal failure is only logged: the change is stored and the client must not be told
+     * otherwise.
+     */
+    private void journalCommitted(TransferEvent event) {
+        try {
+            journal.append(event);
+        } catch (RuntimeException e) {
+            log.error("Could not journal event {} of virement {}", event.getType(), event.getVirementId(), e);
+        }
+    }
+
+    /**
+     * Only an EN_COURS virement no instance has claimed can still change. The statut is checked
+     * here; the update and delete statements check it again together with the claim, so one
+     * landing between the read and the write is caught too.
+     */
+    private Mono<Virement> findModifiable(Long id) {
+        return findOrFail(id)
+                .filter(entity -> StatutVirement.EN_COURS.equals(entity.getStatut()))
+                .switchIfEmpty(Mono.error(() -> new VirementNotModifiableException(id)));
+    }
+
+    private Mono<Virement> findOrFail(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(archived(id).flatMap(virement -> Mono.<Virement>error(new ArchivedVirementException(id))))
+                .switchIfEmpty(Mono.error(() -> new VirementNotFoundException(id)));
+    }
+
+    private Mono<Virement> archived(Long id) {
+        return Mono.fromCallable(() -> archive.findById(id).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private VirementPage toPage(List<Virement> rows, int pageSize) {
+        String nextCursor = rows.size() < pageSize
+                ? null
+                : VirementCursor.of(rows.get(rows.size() - 1)).encode();
+        return VirementPage.builder()
+                .content(rows.stream().map(mapper::toDTO).collect(Collectors.toList()))
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -1,71 +1,270 @@
 package com.bank.virementservice.service.impl;
 
-import com.bank.virementservice.client.BeneficiaireClient;
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.DailySummary;
+import com.bank.virementservice.dto.VirementBatchItemResult;
+import com.bank.virementservice.dto.VirementBatchResponse;
+import com.bank.virementservice.dto.VirementCursor;
 import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
 import com.bank.virementservice.dto.VirementRequest;
 import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.exception.ArchivedVirementException;
+import com.bank.virementservice.exception.BatchTooLargeException;
+import com.bank.virementservice.exception.InsufficientFundsException;
+import com.bank.virementservice.exception.UnsupportedCurrencyException;
+import com.bank.virementservice.exception.VelocityLimitExceededException;
 import com.bank.virementservice.exception.VirementNotFoundException;
+import com.bank.virementservice.exception.VirementNotModifiableException;
 import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.SensVirement;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
 import com.bank.virementservice.model.Virement;
 import com.bank.virementservice.repository.VirementRepository;
 import com.bank.virementservice.service.VirementService;
+import com.bank.virementservice.service.aggregate.DailyVirementAggregates;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import com.bank.virementservice.service.beneficiaire.BeneficiaireValidationCache;
+import com.bank.virementservice.service.fx.FxConversion;
+import com.bank.virementservice.service.fx.FxRateTable;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.outbox.OutboxWriter;
+import com.bank.virementservice.service.search.VirementSearchIndex;
+import com.bank.virementservice.service.velocity.VelocityEngine;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 @Transactional
 public class VirementServiceImpl implements VirementService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<Virement> KEYSET_ORDER =
+            Comparator.comparing(Virement::getDateExecution).thenComparing(Virement::getId);
+
     private final VirementRepository repository;
     private final VirementMapper mapper;
-    private final BeneficiaireClient beneficiaireClient;
+    private final BeneficiaireValidationCache beneficiaireCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final VirementProperties properties;
+    private final AccountLedger ledger;
+    private final TransferJournal journal;
+    private final DailyVirementAggregates aggregates;
+    private final VelocityEngine velocityEngine;
+    private final OutboxWriter outbox;
+    private final FxRateTable fxRates;
+    private final ArchiveStore archive;
+    private final VirementSearchIndex searchIndex;
 
     @Override
     public VirementResponse create(VirementRequest request) {
-        beneficiaireClient.validateBeneficiaire(request.getDestinationAccount());
-        Virement entity = mapper.toEntity(request);
+        FxConversion conversion = fxRates.convert(request);
+        ledger.checkAvailable(request.getSourceAccount(), conversion.getMontant());
+        beneficiaireCache.validate(request.getDestinationAccount());
+        velocityEngine.check(request, conversion.getMontant());
+        Virement entity = mapper.toEntity(request, conversion);
         entity = repository.save(entity);
+        outbox.created(entity);
+        journalAfterCommit(List.of(TransferEvent.created(entity)));
+        searchIndex.created(entity);
         return mapper.toResponse(entity);
     }
 
+    @Override
+    public VirementBatchResponse createBatch(List<VirementRequest> requests) {
+        int maxItems = properties.getBatch().getMaxItems();
+        if (requests.size() > maxItems) {
+            throw new BatchTooLargeException(requests.size(), maxItems);
+        }
+
+        VirementBatchItemResult[] results = new VirementBatchItemResult[requests.size()];
+        FxConversion[] conversions = new FxConversion[requests.size()];
+        Set<String> ribs = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error == null) {
+                try {
+                    conversions[i] = fxRates.convert(requests.get(i));
+                } catch (UnsupportedCurrencyException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = rejected(i, error);
+            } else {
+                ribs.add(requests.get(i).getDestinationAccount());
+            }
+        }
+
+        Map<String, String> ribErrors = validateBeneficiaires(ribs);
+
+        int chunkSize = properties.getBatch().getChunkSize();
+        List<Virement> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            VirementRequest request = requests.get(i);
+            String ribError = ribErrors.get(request.getDestinationAccount());
+            if (ribError != null) {
+                results[i] = rejected(i, ribError);
+                continue;
+            }
+            try {
+                ledger.checkAvailable(request.getSourceAccount(), conversions[i].getMontant());
+            } catch (InsufficientFundsException e) {
+                results[i] = rejected(i, e.getMessage());
+                continue;
+            }
+            try {
+                velocityEngine.check(request, conversions[i].getMontant());
+            } catch (VelocityLimitExceededException e) {
+                results[i] = rejected(i, e.getMessage());
+                continue;
+            }
+            chunk.add(mapper.toEntity(request, conversions[i]));
+            chunkIndexes.add(i);
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, chunkIndexes, results);
+            }
+        }
+        insertChunk(chunk, chunkIndexes, results);
+
+        int accepted = countAccepted(results);
+        return VirementBatchResponse.builder()
+                .total(requests.size())
+                .accepted(accepted)
+                .rejected(requests.size() - accepted)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
     @Override
     public VirementResponse update(Long id, VirementRequest request) {
-        Virement entity = repository.findById(id)
-                .orElseThrow(() -> new VirementNotFoundException(id));
-        mapper.updateEntity(entity, request);
+        Virement entity = findModifiable(id);
+        Money previousMontant = entity.getMontant();
+        TypeVirement previousType = entity.getType();
+        LocalDateTime previousDateExecution = entity.getDateExecution();
+        VirementSearchIndex.Entry indexed = VirementSearchIndex.entry(entity);
+        mapper.updateEntity(entity, request, fxRates.convert(request));
         entity.setDateExecution(LocalDateTime.now());
-        return mapper.toResponse(repository.save(entity));
+        entity = repository.save(entity);
+        outbox.updated(entity, previousMontant, previousType, previousDateExecution);
+        searchIndex.replaced(indexed, entity);
+        return mapper.toResponse(entity);
     }
 
     @Override
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new VirementNotFoundException(id);
-        }
-        repository.deleteById(id);
+        Virement entity = findModifiable(id);
+        repository.delete(entity);
+        outbox.deleted(entity);
+        journalAfterCommit(List.of(TransferEvent.deleted(entity.getId())));
+        searchIndex.removed(VirementSearchIndex.entry(entity));
     }
 
     @Override
     @Transactional(readOnly = true)
     public VirementResponse getById(Long id) {
         return repository.findById(id)
+                .or(() -> archive.findById(id))
                 .map(mapper::toResponse)
                 .orElseThrow(() -> new VirementNotFoundException(id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<VirementDTO> getAll() {
-        return repository.findAll().stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+    public VirementPage getPage(String cursor, int limit) {
+        Pageable pageable = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<Virement> rows;
+        VirementCursor position;
+        if (cursor == null || cursor.isBlank()) {
+            position = new VirementCursor(EARLIEST, Long.MIN_VALUE);
+            rows = repository.findFirstPage(pageable);
+        } else {
+            position = VirementCursor.decode(cursor);
+            rows = repository.findPageAfter(position.getDateExecution(), position.getId(), pageable);
+        }
+        List<Virement> archived = archive.findAfter(null, null, position.getDateExecution(), position.getId(),
+                LATEST, pageable.getPageSize());
+        return toPage(ArchiveStore.merge(rows, archived, pageable.getPageSize()), pageable.getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VirementPage getAccountPage(String account, SensVirement sens, LocalDate from, LocalDate to,
+                                       String cursor, int limit) {
+        Pageable pageable = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        VirementCursor position = cursor == null || cursor.isBlank()
+                ? new VirementCursor(from == null ? EARLIEST : from.atStartOfDay(), Long.MIN_VALUE)
+                : VirementCursor.decode(cursor);
+        LocalDateTime end = to == null ? LATEST : to.plusDays(1).atStartOfDay();
+
+        List<Virement> rows;
+        if (sens == SensVirement.EMIS) {
+            rows = repository.findOutgoingAfter(account, position.getDateExecution(), position.getId(), end, pageable);
+        } else if (sens == SensVirement.RECU) {
+            rows = repository.findIncomingAfter(account, position.getDateExecution(), position.getId(), end, pageable);
+        } else {
+            Map<Long, Virement> merged = new LinkedHashMap<>();
+            repository.findOutgoingAfter(account, position.getDateExecution(), position.getId(), end, pageable)
+                    .forEach(v -> merged.put(v.getId(), v));
+            repository.findIncomingAfter(account, position.getDateExecution(), position.getId(), end, pageable)
+                    .forEach(v -> merged.putIfAbsent(v.getId(), v));
+            rows = merged.values().stream()
+                    .sorted(KEYSET_ORDER)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        }
+        List<Virement> archived = archive.findAfter(account, sens, position.getDateExecution(), position.getId(),
+                end, pageable.getPageSize());
+        return toPage(ArchiveStore.merge(rows, archived, pageable.getPageSize()), pageable.getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<VirementDTO> consumer) {
+        archive.forEach(virement -> consumer.accept(mapper.toDTO(virement)));
+        try (Stream<Virement> rows = repository.streamAll()) {
+            rows.forEach(entity -> {
+                consumer.accept(mapper.toDTO(entity));
+                entityManager.detach(entity);
+            });
+        }
     }
 
     @Override
@@ -73,8 +272,135 @@ public class VirementServiceImpl implements VirementService {
     public List<VirementDTO> getByDate(LocalDate date) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = start.plusDays(1);
-        return repository.findByDateExecutionBetween(start, end).stream()
+        List<Virement> rows = new ArrayList<>(archive.findByDate(date));
+        rows.addAll(repository.findByDateExecutionBetween(start, end));
+        return rows.stream()
+                .sorted(KEYSET_ORDER)
                 .map(mapper::toDTO)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DailySummary getDailySummary(LocalDate date) {
+        return aggregates.summary(date);
+    }
+
+    /**
+     * Loads a virement for an update or delete, locked until the transaction ends. Only an
+     * EN_COURS virement no instance has claimed can still change; anything else is executing
+     * or settled.
+     */
+    private Virement findModifiable(Long id) {
+        Virement entity = repository.findByIdForUpdate(id)
+                .orElseThrow(() -> notFound(id));
+        if (!StatutVirement.EN_COURS.equals(entity.getStatut()) || entity.getClaimedBy() != null) {
+            throw new VirementNotModifiableException(id);
+        }
+        return entity;
+    }
+
+    private RuntimeException notFound(Long id) {
+        return archive.findById(id).isPresent()
+                ? new ArchivedVirementException(id)
+                : new VirementNotFoundException(id);
+    }
+
+    private VirementPage toPage(List<Virement> rows, int pageSize) {
+        String nextCursor = rows.size() < pageSize
+                ? null
+                : VirementCursor.of(rows.get(rows.size() - 1)).encode();
+        return VirementPage.builder()
+                .content(rows.stream().map(mapper::toDTO).collect(Collectors.toList()))
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String validate(VirementRequest request) {
+        if (request == null) {
+            return "Request is null";
+        }
+        Set<ConstraintViolation<VirementRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private Map<String, String> validateBeneficiaires(Set<String> ribs) {
+        Map<String, String> errors = new HashMap<>();
+        beneficiaireCache.validateAll(ribs).forEach((rib, e) -> {
+            log.debug("Beneficiaire {} rejected: {}", rib, e.getMessage());
+            errors.put(rib, "Beneficiaire " + rib + " could not be validated");
+        });
+        return errors;
+    }
+
+    private void insertChunk(List<Virement> chunk, List<Integer> chunkIndexes, VirementBatchItemResult[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        repository.saveAll(chunk);
+        entityManager.flush();
+        outbox.created(chunk);
+        journalAfterCommit(chunk.stream().map(TransferEvent::created).collect(Collectors.toList()));
+        searchIndex.created(chunk);
+        for (int j = 0; j < chunk.size(); j++) {
+            int index = chunkIndexes.get(j);
+            results[index] = VirementBatchItemResult.builder()
+                    .index(index)
+                    .status("CREATED")
+                    .id(chunk.get(j).getId())
+                    .build();
+        }
+        entityManager.clear();
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * Journals the events once the transaction has committed, so that no transaction stays open
+     * while the journal waits for its fsync. The database is authoritative by then, so a
+     * journal failure is only logged.
+     */
+    private void journalAfterCommit(List<TransferEvent> events) {
+        Runnable append = () -> {
+            try {
+                journal.appendAll(events);
+            } catch (RuntimeException e) {
+                log.error("Could not journal {} transfer events", events.size(), e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append.run();
+            }
+        });
+    }
+
+    private VirementBatchItemResult rejected(int index, String error) {
+        return VirementBatchItemResult.builder()
+                .index(index)
+                .status("REJECTED")
+                .error(error)
+                .build();
+    }
+
+    private int countAccepted(VirementBatchItemResult[] results) {
+        int accepted = 0;
+        for (VirementBatchItemResult result : results) {
+            if ("CREATED".equals(result.getStatus())) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
 }
@@ -0,0 +1,372 @@
+package com.bank.virementservice.service.instant;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.ledger.LedgerLease;
+import com.bank.virementservice.service.ledger.LedgerPostingWriter;
+import com.bank.virementservice.service.outbox.OutboxWriter;
+import com.bank.virementservice.service.search.VirementSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Writes instant virements to the virements table off the request thread. A single writer
+ * drains the queue into JDBC batch inserts; the queue is bounded, so a writer that falls
+ * behind slows submitters down instead of buffering without limit. Each batch commits
+ * together with its ledger postings and outbox events, after which the journal is told the
+ * virements are persisted.
+ *
+ * <p>A failed batch is retried with exponential backoff, for at most a quarter of the ledger
+ * lease duration: the owner gives the lease up half-way through it, and the movements of a
+ * queued batch are only in this instance's memory until it commits, so the retries have to
+ * settle well within that margin. Once the attempts or that time are exhausted its virements
+ * are written one by one, and each one that still fails is rejected: its ledger
+ * movement is reverted and it is recorded REJETE in the journal and, when the database
+ * allows, in the table. A virement already in the table counts as persisted.
+ *
+ * <p>The transfer journal holds every virement handed over here, so nothing queued is lost on
+ * a crash: the first time this instance takes the ledger lease, the virements the journal
+ * still holds as unpersisted and the table lacks are inserted with their postings, before any
+ * account is loaded into the ledger.
+ */
+@Component
+@Slf4j
+public class InstantPersistenceQueue {
+
+    private static final String INSERT = "INSERT INTO virements "
+            + "(id, source_account, destination_account, montant, devise, montant_devise, taux_change, "
+            + "type, date_execution, statut, motif) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_EXISTING = "SELECT id FROM virements WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outbox;
+    private final LedgerPostingWriter postings;
+    private final TransferJournal journal;
+    private final AccountLedger ledger;
+    private final VirementSearchIndex searchIndex;
+    private final VirementProperties.Instant config;
+    private final long retryWindowNanos;
+    private final BlockingQueue<Virement> queue;
+    private final int batchSize;
+    private final Thread writer;
+    private final AtomicBoolean recovered = new AtomicBoolean();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder recoveredCount = new LongAdder();
+    private volatile boolean running = true;
+
+    public InstantPersistenceQueue(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   OutboxWriter outbox, LedgerPostingWriter postings, TransferJournal journal,
+                                   AccountLedger ledger, LedgerLease lease,
+                                   VirementSearchIndex searchIndex, VirementProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outbox = outbox;
+        this.postings = postings;
+        this.journal = journal;
+        this.ledger = ledger;
+        this.searchIndex = searchIndex;
+        this.config = properties.getInstant();
+        this.retryWindowNanos = properties.getLedger().getLeaseDuration().toNanos() / 4;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.batchSize = config.getBatchSize();
+        lease.onAcquired(this::recover);
+        this.writer = new Thread(this::drainLoop, "virement-instant-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a virement whose transfer is already booked and journaled. An interrupt cannot
+     * undo either, so the hand-off is finished regardless and the interrupt status restored
+     * for the caller.
+     */
+    public void submit(Virement virement) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    queue.put(virement);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public long persisted() {
+        return persisted.sum();
+    }
+
+    /** Failed write attempts, retries included. */
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long recovered() {
+        return recoveredCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<Virement> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())), true);
+        }
+    }
+
+    /**
+     * Inserts the virements the journal holds as unpersisted and the table lacks. Runs once,
+     * when this instance first takes the ledger lease, while it does not yet count as held,
+     * so the ledger loads the recovered postings with the accounts. If it fails the lease is
+     * not taken, and both are retried on the next renewal.
+     */
+    private void recover() {
+        if (!recovered.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            recoverUnpersisted();
+        } catch (RuntimeException e) {
+            recovered.set(false);
+            throw e;
+        }
+    }
+
+    private void recoverUnpersisted() {
+        List<TransferEvent> events = journal.unpersisted();
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> found = new ArrayList<>();
+        List<Virement> missing = new ArrayList<>();
+        for (int from = 0; from < events.size(); from += batchSize) {
+            List<TransferEvent> chunk = events.subList(from, Math.min(from + batchSize, events.size()));
+            Set<Long> existing = existing(chunk);
+            for (TransferEvent event : chunk) {
+                if (existing.contains(event.getVirementId())) {
+                    found.add(event.getVirementId());
+                } else {
+                    missing.add(toVirement(event));
+                }
+            }
+        }
+        journalPersisted(found);
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            write(missing.subList(from, Math.min(from + batchSize, missing.size())), false);
+        }
+        searchIndex.created(missing);
+        recoveredCount.add(missing.size());
+        log.warn("Recovered {} instant virements from the transfer journal ({} were already persisted)",
+                missing.size(), found.size());
+    }
+
+    private void drainLoop() {
+        List<Virement> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Virement first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch, true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Persists a batch, retrying it with backoff, then row by row. {@code applied} tells whether
+     * the ledger of this instance holds the movements, which a rejection must then revert.
+     */
+    private void write(List<Virement> batch, boolean applied) {
+        long started = System.nanoTime();
+        Duration backoff = config.getRetryBackoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                persisted.add(batch.size());
+                journalPersisted(ids(batch));
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (attempt >= config.getMaxAttempts()) {
+                    log.error("Could not persist {} instant virements after {} attempts, writing them one by one",
+                            batch.size(), attempt, e);
+                    break;
+                }
+                if (System.nanoTime() + backoff.toNanos() - started > retryWindowNanos) {
+                    log.error("Could not persist {} instant virements within {} ms, writing them one by one",
+                            batch.size(), TimeUnit.NANOSECONDS.toMillis(retryWindowNanos), e);
+                    break;
+                }
+                log.warn("Could not persist {} instant virements (attempt {}), retrying in {} ms",
+                        batch.size(), attempt, backoff.toMillis(), e);
+            }
+            if (!sleep(backoff)) {
+                break;
+            }
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(config.getMaxRetryBackoff()) > 0) {
+                backoff = config.getMaxRetryBackoff();
+            }
+        }
+        for (Virement virement : batch) {
+            try {
+                insert(List.of(virement));
+                persisted.increment();
+                journalPersisted(List.of(virement.getId()));
+            } catch (DuplicateKeyException e) {
+                persisted.increment();
+                journalPersisted(List.of(virement.getId()));
+            } catch (RuntimeException e) {
+                failures.increment();
+                reject(virement, applied, e);
+            }
+        }
+    }
+
+    private void insert(List<Virement> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, virement) -> {
+                ps.setLong(1, virement.getId());
+                ps.setString(2, virement.getSourceAccount());
+                ps.setString(3, virement.getDestinationAccount());
+                ps.setBigDecimal(4, virement.getMontant().toBigDecimal());
+                ps.setString(5, virement.getDevise());
+                ps.setBigDecimal(6, virement.getMontantDevise());
+                ps.setBigDecimal(7, virement.getTauxChange());
+                ps.setString(8, virement.getType().name());
+                ps.setTimestamp(9, Timestamp.valueOf(virement.getDateExecution()));
+                ps.setString(10, virement.getStatut());
+                ps.setString(11, virement.getMotif());
+            });
+            List<Virement> executed = batch.stream()
+                    .filter(virement -> StatutVirement.EXECUTE.equals(virement.getStatut()))
+                    .collect(Collectors.toList());
+            postings.executed(executed);
+            outbox.created(batch);
+        });
+    }
+
+    /**
+     * Gives up on a virement the database would not take: the transfer is undone and the
+     * virement recorded REJETE, in the journal so that recovery leaves it alone and, if the
+     * database accepts it now, in the table.
+     */
+    private void reject(Virement virement, boolean applied, RuntimeException cause) {
+        rejected.increment();
+        log.error("Instant virement {} could not be persisted and is rejected", virement.getId(), cause);
+        if (applied) {
+            ledger.revert(virement.getSourceAccount(), virement.getDestinationAccount(), virement.getMontant());
+        }
+        try {
+            journal.append(TransferEvent.statusChanged(virement.getId(), StatutVirement.REJETE));
+        } catch (RuntimeException e) {
+            log.error("Could not journal the rejection of instant virement {}", virement.getId(), e);
+        }
+        virement.setStatut(StatutVirement.REJETE);
+        try {
+            insert(List.of(virement));
+        } catch (RuntimeException e) {
+            log.error("Could not record rejected instant virement {} in the database", virement.getId(), e);
+        }
+    }
+
+    private void journalPersisted(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            journal.persisted(ids);
+        } catch (RuntimeException e) {
+            log.warn("Could not journal {} persisted instant virements; recovery will find them in the table",
+                    ids.size(), e);
+        }
+    }
+
+    /** The virement of a CREATED event; records journaled before they carried the whole virement lack some fields. */
+    private static Virement toVirement(TransferEvent event) {
+        Virement virement = event.toVirement();
+        if (virement.getType() == null) {
+            virement.setType(TypeVirement.INSTANTANE);
+        }
+        if (virement.getDateExecution() == null) {
+            virement.setDateExecution(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()),
+                    ZoneId.systemDefault()));
+        }
+        return virement;
+    }
+
+    private Set<Long> existing(List<TransferEvent> events) {
+        String placeholders = String.join(",", Collections.nCopies(events.size(), "?"));
+        Object[] ids = events.stream().map(TransferEvent::getVirementId).toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(SELECT_EXISTING, placeholders), Long.class, ids));
+    }
+
+    private static List<Long> ids(List<Virement> virements) {
+        return virements.stream().map(Virement::getId).collect(Collectors.toList());
+    }
+
+    private static boolean sleep(Duration backoff) {
+        try {
+            Thread.sleep(backoff.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
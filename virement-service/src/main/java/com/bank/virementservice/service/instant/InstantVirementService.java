@@ -0,0 +1,146 @@
+package com.bank.virementservice.service.instant;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.InstantStats;
+import com.bank.virementservice.dto.StageLatency;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.dto.VirementResponse;
+import com.bank.virementservice.exception.JournalException;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.VirementIdGenerator;
+import com.bank.virementservice.service.beneficiaire.BeneficiaireValidationCache;
+import com.bank.virementservice.service.fx.FxConversion;
+import com.bank.virementservice.service.fx.FxRateTable;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.search.VirementSearchIndex;
+import com.bank.virementservice.service.velocity.VelocityEngine;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fast path for INSTANTANE virements. The beneficiaire is checked against the validation
+ * cache, the ledger is debited and credited in memory, the virement is recorded in the
+ * transfer journal and handed to {@link InstantPersistenceQueue}; no database round trip
+ * happens on the request thread. Identifiers come from {@link VirementIdGenerator}, so rows
+ * written by either path never collide.
+ */
+@Service
+public class InstantVirementService {
+
+    private static final String[] STAGES = {"beneficiaire", "velocity", "ledger", "journal", "handoff", "total"};
+
+    private final BeneficiaireValidationCache beneficiaireCache;
+    private final VelocityEngine velocityEngine;
+    private final AccountLedger ledger;
+    private final TransferJournal journal;
+    private final InstantPersistenceQueue persistenceQueue;
+    private final VirementSearchIndex searchIndex;
+    private final VirementMapper mapper;
+    private final VirementIdGenerator idGenerator;
+    private final FxRateTable fxRates;
+    private final long budgetNanos;
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final LongAdder overBudget = new LongAdder();
+
+    public InstantVirementService(BeneficiaireValidationCache beneficiaireCache,
+                                  VelocityEngine velocityEngine,
+                                  AccountLedger ledger,
+                                  TransferJournal journal,
+                                  InstantPersistenceQueue persistenceQueue,
+                                  VirementSearchIndex searchIndex,
+                                  VirementMapper mapper,
+                                  VirementIdGenerator idGenerator,
+                                  FxRateTable fxRates,
+                                  VirementProperties properties) {
+        this.beneficiaireCache = beneficiaireCache;
+        this.velocityEngine = velocityEngine;
+        this.ledger = ledger;
+        this.journal = journal;
+        this.persistenceQueue = persistenceQueue;
+        this.searchIndex = searchIndex;
+        this.mapper = mapper;
+        this.idGenerator = idGenerator;
+        this.fxRates = fxRates;
+        this.budgetNanos = properties.getInstant().getBudget().toNanos();
+        for (String stage : STAGES) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /** The fast path moves balances in memory, so it only runs on the instance that owns the ledger. */
+    public boolean isAvailable() {
+        return ledger.isOwner();
+    }
+
+    public VirementResponse create(VirementRequest request) {
+        long start = System.nanoTime();
+        FxConversion conversion = fxRates.convert(request);
+        beneficiaireCache.validate(request.getDestinationAccount());
+        long validated = record("beneficiaire", start);
+
+        VelocityEngine.Reservation reservation = velocityEngine.check(request, conversion.getMontant());
+        long checked = record("velocity", validated);
+
+        try {
+            ledger.transfer(request.getSourceAccount(), request.getDestinationAccount(), conversion.getMontant());
+        } catch (RuntimeException e) {
+            reservation.release();
+            throw e;
+        }
+        long booked = record("ledger", checked);
+
+        Virement entity = mapper.toEntity(request, conversion);
+        entity.setId(idGenerator.next());
+        entity.setStatut(StatutVirement.EXECUTE);
+        try {
+            journal.append(TransferEvent.created(entity));
+        } catch (JournalException e) {
+            ledger.revert(request.getSourceAccount(), request.getDestinationAccount(), conversion.getMontant());
+            reservation.release();
+            throw e;
+        }
+        long journaled = record("journal", booked);
+
+        persistenceQueue.submit(entity);
+        searchIndex.created(entity);
+        record("handoff", journaled);
+
+        if (record("total", start) - start > budgetNanos) {
+            overBudget.increment();
+        }
+        return mapper.toResponse(entity);
+    }
+
+    public InstantStats stats() {
+        Map<String, StageLatency> stages = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> stages.put(stage, StageLatency.builder()
+                .count(histogram.count())
+                .p50Micros(histogram.percentile(50) / 1000.0)
+                .p99Micros(histogram.percentile(99) / 1000.0)
+                .p999Micros(histogram.percentile(99.9) / 1000.0)
+                .build()));
+        return InstantStats.builder()
+                .budgetMicros(budgetNanos / 1000)
+                .overBudget(overBudget.sum())
+                .pendingPersistence(persistenceQueue.pending())
+                .persisted(persistenceQueue.persisted())
+                .persistenceFailures(persistenceQueue.failures())
+                .persistenceRejected(persistenceQueue.rejected())
+                .recovered(persistenceQueue.recovered())
+                .stages(stages)
+                .build();
+    }
+
+    private long record(String stage, long since) {
+        long now = System.nanoTime();
+        histograms.get(stage).record(now - since);
+        return now;
+    }
+}
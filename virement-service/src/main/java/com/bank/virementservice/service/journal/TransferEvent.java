@@ -0,0 +1,179 @@
+package com.bank.virementservice.service.journal;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One journal record. A CREATED event also carries the rest of the virement, after the base
+ * fields, so that a virement the database never received can be rebuilt from the journal;
+ * records written before those fields existed simply end after {@code statut}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferEvent {
+
+    public static final byte CREATED = 1;
+    public static final byte STATUS_CHANGED = 2;
+    /** The virement of an earlier CREATED event is now in the virements table. */
+    public static final byte PERSISTED = 3;
+    /** The virement was deleted before it reached a terminal statut. */
+    public static final byte DELETED = 4;
+
+    private byte type;
+    private long virementId;
+    private long timestamp;
+    private String sourceAccount;
+    private String destinationAccount;
+    private Money montant;
+    private String statut;
+    private TypeVirement virementType;
+    private LocalDateTime dateExecution;
+    private String motif;
+    private String devise;
+    private BigDecimal montantDevise;
+    private BigDecimal tauxChange;
+
+    public static TransferEvent created(Virement virement) {
+        return TransferEvent.builder()
+                .type(CREATED)
+                .virementId(virement.getId())
+                .timestamp(System.currentTimeMillis())
+                .sourceAccount(virement.getSourceAccount())
+                .destinationAccount(virement.getDestinationAccount())
+                .montant(virement.getMontant())
+                .statut(virement.getStatut())
+                .virementType(virement.getType())
+                .dateExecution(virement.getDateExecution())
+                .motif(virement.getMotif())
+                .devise(virement.getDevise())
+                .montantDevise(virement.getMontantDevise())
+                .tauxChange(virement.getTauxChange())
+                .build();
+    }
+
+    public static TransferEvent statusChanged(long virementId, String statut) {
+        return TransferEvent.builder()
+                .type(STATUS_CHANGED)
+                .virementId(virementId)
+                .timestamp(System.currentTimeMillis())
+                .statut(statut)
+                .build();
+    }
+
+    public static TransferEvent persisted(long virementId) {
+        return TransferEvent.builder()
+                .type(PERSISTED)
+                .virementId(virementId)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    public static TransferEvent deleted(long virementId) {
+        return TransferEvent.builder()
+                .type(DELETED)
+                .virementId(virementId)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /** The virement described by a CREATED event. */
+    public Virement toVirement() {
+        return Virement.builder()
+                .id(virementId)
+                .sourceAccount(sourceAccount)
+                .destinationAccount(destinationAccount)
+                .montant(montant)
+                .devise(devise)
+                .montantDevise(montantDevise)
+                .tauxChange(tauxChange)
+                .type(virementType)
+                .dateExecution(dateExecution)
+                .statut(statut)
+                .motif(motif)
+                .build();
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type);
+        out.writeLong(virementId);
+        out.writeLong(timestamp);
+        writeNullable(out, sourceAccount);
+        writeNullable(out, destinationAccount);
+        writeNullable(out, montant == null ? null : montant.toString());
+        writeNullable(out, statut);
+        writeNullable(out, virementType == null ? null : virementType.name());
+        writeNullable(out, dateExecution == null ? null : dateExecution.toString());
+        writeNullable(out, motif);
+        writeNullable(out, devise);
+        writeNullable(out, montantDevise == null ? null : montantDevise.toPlainString());
+        writeNullable(out, tauxChange == null ? null : tauxChange.toPlainString());
+    }
+
+    /** Reads a journal record, which holds exactly one event, with or without the virement fields. */
+    static TransferEvent readFrom(DataInputStream in) throws IOException {
+        TransferEvent event = readBase(in);
+        if (in.available() > 0) {
+            event.readVirement(in);
+        }
+        return event;
+    }
+
+    /** Reads one event of a snapshot, whose layout says whether events carry the virement fields. */
+    static TransferEvent readFrom(DataInputStream in, boolean withVirement) throws IOException {
+        TransferEvent event = readBase(in);
+        if (withVirement) {
+            event.readVirement(in);
+        }
+        return event;
+    }
+
+    private void readVirement(DataInputStream in) throws IOException {
+        String typeName = readNullable(in);
+        virementType = typeName == null ? null : TypeVirement.valueOf(typeName);
+        String date = readNullable(in);
+        dateExecution = date == null ? null : LocalDateTime.parse(date);
+        motif = readNullable(in);
+        devise = readNullable(in);
+        String converted = readNullable(in);
+        montantDevise = converted == null ? null : new BigDecimal(converted);
+        String rate = readNullable(in);
+        tauxChange = rate == null ? null : new BigDecimal(rate);
+    }
+
+    private static TransferEvent readBase(DataInputStream in) throws IOException {
+        TransferEvent event = new TransferEvent();
+        event.type = in.readByte();
+        event.virementId = in.readLong();
+        event.timestamp = in.readLong();
+        event.sourceAccount = readNullable(in);
+        event.destinationAccount = readNullable(in);
+        String montant = readNullable(in);
+        event.montant = montant == null ? null : Money.parse(montant);
+        event.statut = readNullable(in);
+        return event;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,482 @@
+package com.bank.virementservice.service.journal;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.JournalStats;
+import com.bank.virementservice.exception.JournalException;
+import com.bank.virementservice.model.StatutVirement;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of transfer events written through a memory-mapped file. Callers copy
+ * their record into the mapping and wait for a single flusher thread, whose one fsync covers
+ * every record appended since the previous one (group commit). A snapshot of the open
+ * transfers is written periodically, and whenever the mapping fills up, after which the
+ * journal is rewound; startup loads the snapshot and replays the records that follow it.
+ *
+ * <p>Each record is {@code [int length][int crc32][long sequence][event]}. Replay stops at the
+ * first record whose checksum fails or whose sequence does not follow the previous one, which
+ * covers both a torn write and the stale tail left behind by a rewind.
+ *
+ * <p>A virement created already EXECUTE, which only the instant path does, is kept as
+ * unpersisted until a PERSISTED or terminal STATUS_CHANGED event follows, snapshots included,
+ * so that {@link com.bank.virementservice.service.instant.InstantPersistenceQueue} can insert
+ * whatever a crash kept from reaching the database. A DELETED event closes an open transfer
+ * that will never reach a terminal statut.
+ */
+@Component
+@Slf4j
+public class TransferJournal {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int SNAPSHOT_MAGIC = 0x564a534e;
+    private static final int SNAPSHOT_MAGIC_V2 = 0x564a5332;
+
+    private final VirementProperties.Journal config;
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final Map<Long, TransferEvent> openTransfers = new HashMap<>();
+    private final Map<Long, TransferEvent> unpersisted = new LinkedHashMap<>();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedRecords = new LongAdder();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private int writePosition;
+    private int durablePosition;
+    private long lastSequence;
+    private long durableSequence;
+    private long snapshotSequence;
+    private long generation;
+    private long replayedRecords;
+    private long created;
+    private long completed;
+    private RuntimeException failure;
+
+    public TransferJournal(VirementProperties properties) {
+        this.config = properties.getJournal();
+        Path directory = Paths.get(config.getDirectory());
+        this.journalFile = directory.resolve("transfers.journal");
+        this.snapshotFile = directory.resolve("transfers.snapshot");
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!config.getEnabled()) {
+            return;
+        }
+        Files.createDirectories(journalFile.getParent());
+        loadSnapshot();
+        channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), config.getSegmentSize());
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+        replay();
+        durablePosition = writePosition;
+        durableSequence = lastSequence;
+        running = true;
+        flusher = new Thread(this::flushLoop, "virement-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Transfer journal opened at sequence {} ({} records replayed, {} open transfers, {} unpersisted)",
+                lastSequence, replayedRecords, openTransfers.size(), unpersisted.size());
+    }
+
+    public void append(TransferEvent event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Appends the events and returns once they are on disk. Events appended together share a
+     * commit with each other and with whatever other callers appended in the meantime.
+     */
+    public void appendAll(List<TransferEvent> events) {
+        if (!config.getEnabled() || events.isEmpty()) {
+            return;
+        }
+        List<byte[]> encoded = new ArrayList<>(events.size());
+        for (TransferEvent event : events) {
+            encoded.add(encode(event));
+        }
+        lock.lock();
+        try {
+            if (!running) {
+                throw new JournalException("Transfer journal is closed");
+            }
+            long target = 0;
+            for (int i = 0; i < events.size(); i++) {
+                target = writeLocked(encoded.get(i));
+                apply(events.get(i));
+            }
+            appended.signal();
+            awaitDurable(target);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records that these virements reached the virements table. */
+    public void persisted(Collection<Long> virementIds) {
+        List<TransferEvent> events = new ArrayList<>(virementIds.size());
+        for (Long id : virementIds) {
+            events.add(TransferEvent.persisted(id));
+        }
+        appendAll(events);
+    }
+
+    /** CREATED events of instant virements not known to have reached the virements table. */
+    public List<TransferEvent> unpersisted() {
+        lock.lock();
+        try {
+            return new ArrayList<>(unpersisted.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${virement.journal.snapshot-interval:PT1M}")
+    public void snapshot() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (running && lastSequence != snapshotSequence) {
+                compactLocked();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JournalStats stats() {
+        lock.lock();
+        try {
+            long commitCount = commits.sum();
+            return JournalStats.builder()
+                    .enabled(config.getEnabled())
+                    .lastSequence(lastSequence)
+                    .durableSequence(durableSequence)
+                    .snapshotSequence(snapshotSequence)
+                    .replayedRecords(replayedRecords)
+                    .created(created)
+                    .completed(completed)
+                    .openTransfers(openTransfers.size())
+                    .unpersisted(unpersisted.size())
+                    .commits(commitCount)
+                    .recordsPerCommit(commitCount == 0 ? 0 : (double) committedRecords.sum() / commitCount)
+                    .bytesUsed(writePosition)
+                    .capacity(buffer == null ? 0 : buffer.capacity())
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        lock.lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.unlock();
+        }
+        channel.close();
+    }
+
+    private long writeLocked(byte[] event) {
+        int length = Long.BYTES + event.length;
+        int recordSize = HEADER_BYTES + length;
+        if (recordSize > buffer.capacity()) {
+            throw new JournalException("Transfer event of " + recordSize + " bytes does not fit in the journal");
+        }
+        if (writePosition + recordSize > buffer.capacity()) {
+            compactLocked();
+        }
+        long sequence = lastSequence + 1;
+        int payload = writePosition + HEADER_BYTES;
+        buffer.putLong(payload, sequence);
+        buffer.put(payload + Long.BYTES, event);
+        buffer.putInt(writePosition + Integer.BYTES, checksum(payload, length));
+        buffer.putInt(writePosition, length);
+        writePosition += recordSize;
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    private void awaitDurable(long sequence) {
+        long remaining = config.getCommitTimeout().toNanos();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new JournalException("Transfer journal flush failed", failure);
+                }
+                if (remaining <= 0) {
+                    throw new JournalException("Transfer journal did not commit within " + config.getCommitTimeout());
+                }
+                remaining = durable.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JournalException("Interrupted while waiting for the transfer journal", e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            int from;
+            int to;
+            long target;
+            long flushGeneration;
+            lock.lock();
+            try {
+                while (running && durableSequence == lastSequence) {
+                    appended.await();
+                }
+                if (!running) {
+                    return;
+                }
+                from = durablePosition;
+                to = writePosition;
+                target = lastSequence;
+                flushGeneration = generation;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException error = null;
+            try {
+                buffer.force(from, to - from);
+            } catch (RuntimeException e) {
+                error = e;
+                log.error("Transfer journal flush failed", e);
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else if (flushGeneration == generation) {
+                    committedRecords.add(target - durableSequence);
+                    commits.increment();
+                    durablePosition = to;
+                    durableSequence = target;
+                }
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forces the mapping, writes a snapshot covering everything appended so far and rewinds the
+     * journal. The snapshot is renamed into place before the rewind, so a crash at any point
+     * leaves either the old snapshot with its journal or the new snapshot with a journal whose
+     * stale records are skipped on replay.
+     */
+    private void compactLocked() {
+        buffer.force();
+        if (durableSequence < lastSequence) {
+            committedRecords.add(lastSequence - durableSequence);
+            commits.increment();
+        }
+        durableSequence = lastSequence;
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            throw new JournalException("Could not write transfer journal snapshot", e);
+        } finally {
+            durable.signalAll();
+        }
+        snapshotSequence = lastSequence;
+        writePosition = 0;
+        durablePosition = 0;
+        generation++;
+        log.debug("Transfer journal snapshot written at sequence {} ({} open transfers)",
+                snapshotSequence, openTransfers.size());
+    }
+
+    private void writeSnapshot() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SNAPSHOT_MAGIC_V2);
+            out.writeLong(lastSequence);
+            out.writeLong(created);
+            out.writeLong(completed);
+            out.writeInt(openTransfers.size());
+            for (TransferEvent event : openTransfers.values()) {
+                event.writeTo(out);
+            }
+            out.writeInt(unpersisted.size());
+            for (TransferEvent event : unpersisted.values()) {
+                event.writeTo(out);
+            }
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).flip();
+            ByteBuffer content = ByteBuffer.wrap(body);
+            while (header.hasRemaining() || content.hasRemaining()) {
+                out.write(new ByteBuffer[]{header, content});
+            }
+            out.force(true);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(snapshotFile);
+        CRC32 crc = new CRC32();
+        crc.update(content, Integer.BYTES, Math.max(0, content.length - Integer.BYTES));
+        if (content.length < Integer.BYTES || ByteBuffer.wrap(content).getInt() != (int) crc.getValue()) {
+            throw new JournalException("Transfer journal snapshot " + snapshotFile + " is corrupt");
+        }
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(content, Integer.BYTES, content.length - Integer.BYTES))) {
+            int magic = in.readInt();
+            if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_MAGIC_V2) {
+                throw new JournalException("Unrecognised transfer journal snapshot " + snapshotFile);
+            }
+            boolean withVirement = magic == SNAPSHOT_MAGIC_V2;
+            lastSequence = in.readLong();
+            created = in.readLong();
+            completed = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                TransferEvent event = TransferEvent.readFrom(in, withVirement);
+                openTransfers.put(event.getVirementId(), event);
+            }
+            if (withVirement) {
+                int pending = in.readInt();
+                for (int i = 0; i < pending; i++) {
+                    TransferEvent event = TransferEvent.readFrom(in, true);
+                    unpersisted.put(event.getVirementId(), event);
+                }
+            }
+        }
+        snapshotSequence = lastSequence;
+    }
+
+    private void replay() throws IOException {
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            int payload = position + HEADER_BYTES;
+            if (length < Long.BYTES || length > buffer.capacity() - payload
+                    || buffer.getInt(position + Integer.BYTES) != checksum(payload, length)
+                    || buffer.getLong(payload) != lastSequence + 1) {
+                break;
+            }
+            byte[] event = new byte[length - Long.BYTES];
+            buffer.get(payload + Long.BYTES, event);
+            apply(TransferEvent.readFrom(new DataInputStream(new ByteArrayInputStream(event))));
+            lastSequence++;
+            replayedRecords++;
+            position = payload + length;
+        }
+        writePosition = position;
+    }
+
+    private void apply(TransferEvent event) {
+        boolean terminal = StatutVirement.EXECUTE.equals(event.getStatut())
+                || StatutVirement.REJETE.equals(event.getStatut());
+        if (event.getType() == TransferEvent.PERSISTED) {
+            unpersisted.remove(event.getVirementId());
+        } else if (event.getType() == TransferEvent.DELETED) {
+            openTransfers.remove(event.getVirementId());
+            unpersisted.remove(event.getVirementId());
+        } else if (event.getType() == TransferEvent.CREATED) {
+            created++;
+            if (!terminal) {
+                openTransfers.put(event.getVirementId(), event);
+            } else if (StatutVirement.EXECUTE.equals(event.getStatut())) {
+                unpersisted.put(event.getVirementId(), event);
+            }
+        } else if (terminal) {
+            openTransfers.remove(event.getVirementId());
+            unpersisted.remove(event.getVirementId());
+            completed++;
+        } else {
+            TransferEvent open = openTransfers.get(event.getVirementId());
+            if (open != null) {
+                open.setStatut(event.getStatut());
+            }
+        }
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(TransferEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            event.writeTo(out);
+        } catch (IOException e) {
+            throw new JournalException("Could not encode transfer event for virement " + event.getVirementId(), e);
+        }
+        return bytes.toByteArray();
+    }
+}
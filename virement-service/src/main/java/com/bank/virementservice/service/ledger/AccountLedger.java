@@ -0,0 +1,338 @@
+package com.bank.virementservice.service.ledger;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.exception.InsufficientFundsException;
+import com.bank.virementservice.exception.LedgerUnavailableException;
+import com.bank.virementservice.model.LedgerPostingKind;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.repository.AccountBalanceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Account positions held in memory and guarded by a fixed set of lock stripes, so transfers
+ * on unrelated accounts never contend and a hot account only holds up its own stripe.
+ * Balances are held as minor units of {@link Money#DEFAULT_CURRENCY}, so postings are
+ * overflow-checked long arithmetic.
+ *
+ * <p>The database stays the record: every movement is written by {@link LedgerPostingWriter}
+ * in the transaction that commits the status change behind it, and a caller whose
+ * transaction fails reverts the in-memory movement. Only the instance holding the
+ * {@link LedgerLease} moves balances, so no other instance can debit behind its back; it
+ * loads an account from the committed position on first use and drops every cached account
+ * whenever it takes the lease again. Other instances answer balance reads from the database.
+ * {@link #checkpoint()} folds the postings into {@code account_balances} and can run anywhere.
+ */
+@Component
+@Slf4j
+public class AccountLedger {
+
+    private static final int FOLD_BATCH = 1000;
+    private static final String SELECT_POSTINGS = "SELECT id, account, amount, kind FROM ledger_postings "
+            + "ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_POSTING = "DELETE FROM ledger_postings WHERE id = ?";
+    private static final String UPDATE_BALANCE = "UPDATE account_balances "
+            + "SET balance = balance + ?, credited = credited + ?, updated_at = ? WHERE account = ?";
+    private static final String INSERT_BALANCE = "INSERT INTO account_balances "
+            + "(account, balance, credited, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final AccountBalanceRepository repository;
+    private final LedgerPostingWriter postings;
+    private final LedgerLease lease;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long overdraftLimit;
+    private final ReentrantLock[] stripes;
+    private final ConcurrentMap<String, LedgerAccount> accounts = new ConcurrentHashMap<>();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    public AccountLedger(AccountBalanceRepository repository, LedgerPostingWriter postings, LedgerLease lease,
+                         JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         VirementProperties properties) {
+        this.repository = repository;
+        this.postings = postings;
+        this.lease = lease;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.overdraftLimit = Money.of(properties.getLedger().getOverdraftLimit()).getMinorUnits();
+        this.stripes = new ReentrantLock[properties.getLedger().getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        lease.onAcquired(this::reset);
+    }
+
+    /** Whether balances can be moved on this instance. */
+    public boolean isOwner() {
+        return lease.isHeld();
+    }
+
+    public Money balance(String account) {
+        if (!lease.isHeld()) {
+            return Money.ofMinor(load(account));
+        }
+        LedgerAccount ledgerAccount = account(account);
+        ReentrantLock lock = stripeFor(account);
+        lock.lock();
+        try {
+            return Money.ofMinor(ledgerAccount.balance);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void checkAvailable(String account, Money amount) {
+        if (!hasFunds(balance(account).getMinorUnits(), units(amount))) {
+            throw new InsufficientFundsException(account, "available balance does not cover " + amount);
+        }
+    }
+
+    /**
+     * Credits an account from outside the ledger. The posting commits first; the account is
+     * loaded before that so its committed position cannot already include the credit.
+     */
+    public void credit(String account, Money amount) {
+        requireOwner();
+        long units = units(amount);
+        LedgerAccount ledgerAccount = account(account);
+        transactionTemplate.executeWithoutResult(status -> postings.credited(account, amount));
+        ReentrantLock lock = stripeFor(account);
+        lock.lock();
+        try {
+            ledgerAccount.balance = Math.addExact(ledgerAccount.balance, units);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the amount in memory. The caller must record it with
+     * {@link LedgerPostingWriter#executed} and {@link #revert} it if that transaction fails.
+     */
+    public void transfer(String source, String destination, Money amount) {
+        requireOwner();
+        move(source, destination, amount, true);
+    }
+
+    /**
+     * Undoes a transfer that was applied but could not be recorded; the amount goes back to
+     * the source whatever the destination's balance has become.
+     */
+    public void revert(String source, String destination, Money amount) {
+        move(destination, source, amount, false);
+    }
+
+    /**
+     * Applies net movements, in minor units, to several accounts as one step under all stripes.
+     * When {@code checkFunds} is set and some debits are not covered, nothing is applied and the
+     * accounts short of funds are returned; otherwise the returned set is empty.
+     */
+    public Set<String> applyNet(Map<String, Long> movements, boolean checkFunds) {
+        if (checkFunds) {
+            requireOwner();
+        }
+        Map<String, LedgerAccount> resolved = new HashMap<>(movements.size() * 2);
+        for (String account : movements.keySet()) {
+            resolved.put(account, account(account));
+        }
+        lockAll();
+        try {
+            if (checkFunds) {
+                Set<String> shortOfFunds = new HashSet<>();
+                movements.forEach((account, units) -> {
+                    if (units < 0 && !hasFunds(resolved.get(account).balance, -units)) {
+                        shortOfFunds.add(account);
+                    }
+                });
+                if (!shortOfFunds.isEmpty()) {
+                    return shortOfFunds;
+                }
+            }
+            movements.forEach((account, units) -> {
+                LedgerAccount ledgerAccount = resolved.get(account);
+                ledgerAccount.balance = Math.addExact(ledgerAccount.balance, units);
+            });
+            return Set.of();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Folds committed postings into {@code account_balances}, a batch per transaction. Rows are
+     * locked with {@code SKIP LOCKED}, so instances folding at the same time share the work, and
+     * the fold never changes a committed position. The lock only keeps the scheduled fold and
+     * one requested on demand from running side by side on this instance; it is not held by
+     * any transfer.
+     */
+    @Scheduled(fixedDelayString = "${virement.ledger.checkpoint-interval:PT5S}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            int folded = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> fold());
+                folded += batch;
+            } while (batch == FOLD_BATCH);
+            if (folded > 0) {
+                log.debug("Folded {} ledger postings into account balances", folded);
+            }
+        } catch (RuntimeException e) {
+            log.error("Ledger checkpoint failed, the remaining postings will be folded next time", e);
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        checkpoint();
+    }
+
+    private int fold() {
+        List<Long> ids = new ArrayList<>(FOLD_BATCH);
+        Map<String, long[]> totals = new HashMap<>();
+        jdbcTemplate.query(SELECT_POSTINGS, (RowCallbackHandler) rs -> {
+            ids.add(rs.getLong(1));
+            long units = Money.of(rs.getBigDecimal(3)).getMinorUnits();
+            long[] total = totals.computeIfAbsent(rs.getString(2), account -> new long[2]);
+            total[0] = Math.addExact(total[0], units);
+            if (LedgerPostingKind.CREDIT.name().equals(rs.getString(4))) {
+                total[1] = Math.addExact(total[1], units);
+            }
+        }, FOLD_BATCH);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        totals.forEach((account, total) -> {
+            BigDecimal balance = Money.ofMinor(total[0]).toBigDecimal();
+            BigDecimal credited = Money.ofMinor(total[1]).toBigDecimal();
+            if (jdbcTemplate.update(UPDATE_BALANCE, balance, credited, now, account) == 0) {
+                jdbcTemplate.update(INSERT_BALANCE, account, balance, credited, now);
+            }
+        });
+        jdbcTemplate.batchUpdate(DELETE_POSTING, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        return ids.size();
+    }
+
+    private void move(String source, String destination, Money amount, boolean checkFunds) {
+        long units = units(amount);
+        LedgerAccount from = account(source);
+        LedgerAccount to = account(destination);
+        int first = stripeIndex(source);
+        int second = stripeIndex(destination);
+        ReentrantLock outer = stripes[Math.min(first, second)];
+        ReentrantLock inner = stripes[Math.max(first, second)];
+        outer.lock();
+        if (inner != outer) {
+            inner.lock();
+        }
+        try {
+            if (checkFunds && !hasFunds(from.balance, units)) {
+                throw new InsufficientFundsException(source, "available balance does not cover " + amount);
+            }
+            long debited = Math.subtractExact(from.balance, units);
+            long credited = Math.addExact(to.balance, units);
+            from.balance = debited;
+            to.balance = credited;
+        } finally {
+            if (inner != outer) {
+                inner.unlock();
+            }
+            outer.unlock();
+        }
+    }
+
+    private LedgerAccount account(String account) {
+        LedgerAccount existing = accounts.get(account);
+        if (existing != null) {
+            return existing;
+        }
+        LedgerAccount loaded = new LedgerAccount(load(account));
+        existing = accounts.putIfAbsent(account, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private long load(String account) {
+        BigDecimal position = repository.position(account);
+        return position == null ? 0 : Money.of(position).getMinorUnits();
+    }
+
+    /** Forgets every cached account, so that they are reloaded from what other owners committed. */
+    private void reset() {
+        lockAll();
+        try {
+            accounts.clear();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private void requireOwner() {
+        if (!lease.isHeld()) {
+            throw new LedgerUnavailableException();
+        }
+    }
+
+    private boolean hasFunds(long balance, long amount) {
+        return Math.addExact(balance, overdraftLimit) >= amount;
+    }
+
+    private static long units(Money amount) {
+        if (!Money.DEFAULT_CURRENCY.equals(amount.getCurrency())) {
+            throw new IllegalArgumentException("Ledger only holds " + Money.DEFAULT_CURRENCY
+                    + " balances, got " + amount.getCurrency());
+        }
+        return amount.getMinorUnits();
+    }
+
+    private ReentrantLock stripeFor(String account) {
+        return stripes[stripeIndex(account)];
+    }
+
+    private int stripeIndex(String account) {
+        int hash = account.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % stripes.length;
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private static final class LedgerAccount {
+        private long balance;
+
+        private LedgerAccount(long balance) {
+            this.balance = balance;
+        }
+    }
+}
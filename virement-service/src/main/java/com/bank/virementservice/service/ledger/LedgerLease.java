@@ -0,0 +1,103 @@
+package com.bank.virementservice.service.ledger;
+
+import com.bank.virementservice.config.VirementProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Makes one instance at a time the owner of the ledger, through a single row in
+ * {@code ledger_lease}. Only the owner moves balances, so its in-memory positions can never be
+ * overtaken by another instance's debits. The lease is renewed well within its duration and
+ * the owner considers it lost half-way through, which leaves the other half for its in-flight
+ * transactions to commit before a successor can take over and reload the balances.
+ */
+@Component
+@Slf4j
+public class LedgerLease {
+
+    private static final String RENEW = "UPDATE ledger_lease SET owner = ?, lease_until = ? "
+            + "WHERE id = 1 AND (owner = ? OR lease_until < ?)";
+    private static final String CREATE = "INSERT INTO ledger_lease (id, owner, lease_until) VALUES (1, ?, ?)";
+    private static final String RELEASE = "UPDATE ledger_lease SET lease_until = ? WHERE id = 1 AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration duration;
+    private final String instanceId;
+    private final List<Runnable> acquiredListeners = new CopyOnWriteArrayList<>();
+    private volatile long heldUntilNanos = System.nanoTime();
+
+    public LedgerLease(JdbcTemplate jdbcTemplate, VirementProperties properties,
+                       @Value("${spring.application.name}") String applicationName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.duration = properties.getLedger().getLeaseDuration();
+        this.instanceId = applicationName + "-" + UUID.randomUUID();
+    }
+
+    public boolean isHeld() {
+        return System.nanoTime() - heldUntilNanos < 0;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /** Runs {@code listener} each time the lease is taken after having been lost or never held. */
+    public void onAcquired(Runnable listener) {
+        acquiredListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${virement.ledger.lease-renew-interval:PT5S}")
+    public void renew() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(duration));
+        boolean acquired;
+        try {
+            acquired = jdbcTemplate.update(RENEW, instanceId, until, instanceId, Timestamp.valueOf(now)) == 1
+                    || create(until);
+        } catch (RuntimeException e) {
+            log.error("Could not renew the ledger lease", e);
+            return;
+        }
+        if (!acquired) {
+            if (isHeld()) {
+                log.warn("Ledger lease was taken over by another instance");
+            }
+            heldUntilNanos = started;
+            return;
+        }
+        if (!isHeld()) {
+            acquiredListeners.forEach(Runnable::run);
+            log.info("Ledger lease acquired by {}", instanceId);
+        }
+        heldUntilNanos = started + duration.toNanos() / 2;
+    }
+
+    @PreDestroy
+    public void release() {
+        if (isHeld()) {
+            heldUntilNanos = System.nanoTime();
+            jdbcTemplate.update(RELEASE, Timestamp.valueOf(LocalDateTime.now()), instanceId);
+        }
+    }
+
+    private boolean create(Timestamp until) {
+        try {
+            return jdbcTemplate.update(CREATE, instanceId, until) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.virementservice.service.ledger;
+
+import com.bank.virementservice.model.LedgerPosting;
+import com.bank.virementservice.model.LedgerPostingKind;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.Virement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records ledger movements as {@link LedgerPosting} rows. Like the outbox, rows are inserted
+ * with a JDBC batch on the caller's connection so that a balance change commits or rolls back
+ * with the status change that explains it; calling this outside a transaction is a programming
+ * error. {@link AccountLedger#checkpoint()} folds the rows into {@code account_balances}.
+ */
+@Component
+public class LedgerPostingWriter {
+
+    private static final String INSERT = "INSERT INTO ledger_postings "
+            + "(account, amount, kind, reference, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerPostingWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Debits the source and credits the destination of an executed virement. */
+    public void executed(Virement virement) {
+        executed(List.of(virement));
+    }
+
+    public void executed(Collection<Virement> virements) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerPosting> postings = new ArrayList<>(virements.size() * 2);
+        for (Virement virement : virements) {
+            long units = virement.getMontant().getMinorUnits();
+            postings.add(posting(virement.getSourceAccount(), -units, LedgerPostingKind.VIREMENT, virement.getId(), now));
+            postings.add(posting(virement.getDestinationAccount(), units, LedgerPostingKind.VIREMENT, virement.getId(), now));
+        }
+        write(postings);
+    }
+
+    /** Net movements of a settlement batch, in minor units. */
+    public void settled(Long batchId, Map<String, Long> movements) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerPosting> postings = new ArrayList<>(movements.size());
+        movements.forEach((account, units) -> {
+            if (units != 0) {
+                postings.add(posting(account, units, LedgerPostingKind.SETTLEMENT, batchId, now));
+            }
+        });
+        write(postings);
+    }
+
+    public void credited(String account, Money amount) {
+        write(List.of(posting(account, amount.getMinorUnits(), LedgerPostingKind.CREDIT, null, LocalDateTime.now())));
+    }
+
+    private void write(List<LedgerPosting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Ledger postings must be written inside the transaction they describe");
+        }
+        jdbcTemplate.batchUpdate(INSERT, postings, postings.size(), (ps, posting) -> {
+            ps.setString(1, posting.getAccount());
+            ps.setBigDecimal(2, posting.getAmount().toBigDecimal());
+            ps.setString(3, posting.getKind().name());
+            if (posting.getReference() == null) {
+                ps.setNull(4, Types.BIGINT);
+            } else {
+                ps.setLong(4, posting.getReference());
+            }
+            ps.setTimestamp(5, Timestamp.valueOf(posting.getCreatedAt()));
+        });
+    }
+
+    private static LedgerPosting posting(String account, long units, LedgerPostingKind kind, Long reference,
+                                         LocalDateTime createdAt) {
+        return LedgerPosting.builder()
+                .account(account)
+                .amount(Money.ofMinor(units))
+                .kind(kind)
+                .reference(reference)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.dto.VirementEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Republishes outbox events as Spring application events, so components of this service can
+ * react to them with {@code @EventListener(VirementEvent.class)}. Listeners run on the relay
+ * thread and should hand off anything slow.
+ */
+@Component
+public class InProcessEventBus implements VirementEventSubscriber {
+
+    private final ApplicationEventPublisher publisher;
+
+    public InProcessEventBus(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return "in-process";
+    }
+
+    @Override
+    public void deliver(List<VirementEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
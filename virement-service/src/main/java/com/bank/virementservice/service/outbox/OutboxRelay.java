@@ -0,0 +1,275 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.OutboxStats;
+import com.bank.virementservice.dto.VirementEvent;
+import com.bank.virementservice.model.OutboxDeadLetter;
+import com.bank.virementservice.model.OutboxEvent;
+import com.bank.virementservice.repository.OutboxDeadLetterRepository;
+import com.bank.virementservice.repository.OutboxEventRepository;
+import com.bank.virementservice.service.ledger.LedgerLease;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drains the outbox table in id order and hands each batch to every subscriber. Rows are
+ * deleted only once all subscribers accepted them, so delivery is at-least-once. When a
+ * subscriber rejects a batch it is retried account by account and only the accounts that
+ * still fail stay in the table; since later events of those accounts are held back with
+ * them, each account's events always reach a subscriber in the order they were written.
+ * Each poll reads the whole table once, past the held-back rows, so a failing account never
+ * stalls the others.
+ *
+ * <p>A row whose delivery failed {@code max-attempts} times, or whose payload cannot be
+ * read, moves to {@code virement_outbox_dead_letters} and its account's later events go
+ * ahead. Attempts are counted in memory, so a restart gives failing rows a fresh set.
+ *
+ * <p>Only the instance holding the {@link LedgerLease} polls, so the instances sharing a
+ * database do not deliver each event once apiece, and subscribers that keep state, like the
+ * daily aggregates, see every event on the one instance that maintains them. An event being
+ * delivered when the lease moves may still reach the subscribers twice.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxDeadLetterRepository deadLetters;
+    private final List<VirementEventSubscriber> subscribers;
+    private final LedgerLease lease;
+    private final ObjectMapper objectMapper;
+    private final VirementProperties.Outbox config;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer endToEnd;
+    private final Counter deadLettered;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final ConcurrentMap<Long, Integer> attempts = new ConcurrentHashMap<>();
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxDeadLetterRepository deadLetters,
+                       List<VirementEventSubscriber> subscribers, LedgerLease lease, ObjectMapper objectMapper,
+                       VirementProperties properties, MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.deadLetters = deadLetters;
+        this.subscribers = subscribers;
+        this.lease = lease;
+        this.objectMapper = objectMapper;
+        this.config = properties.getOutbox();
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.endToEnd = Timer.builder("virement.outbox.delivery")
+                .description("Time from outbox write to delivery to all subscribers")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("virement.outbox.dead_letters")
+                .description("Events moved to the dead-letter table")
+                .register(meterRegistry);
+        Gauge.builder("virement.outbox.pending", pending, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("virement.outbox.lag", this, relay -> relay.lagMillis() / 1000.0)
+                .description("Age in seconds of the oldest undelivered event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${virement.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!config.getEnabled() || !lease.isHeld()) {
+            return;
+        }
+        int batchSize = config.getBatchSize();
+        Set<String> heldBack = new HashSet<>();
+        long afterId = 0;
+        while (true) {
+            List<OutboxEvent> rows = repository.findAfter(afterId, PageRequest.ofSize(batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+            List<OutboxEvent> ready = rows.stream().filter(row -> !heldBack.contains(row.getAccount())).toList();
+            if (!ready.isEmpty()) {
+                List<Long> done = dispatch(ready, heldBack);
+                if (!done.isEmpty()) {
+                    repository.deleteAllByIdInBatch(done);
+                    done.forEach(attempts::remove);
+                }
+                batches.incrementAndGet();
+            }
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+        refreshBacklog();
+    }
+
+    public OutboxStats stats() {
+        return OutboxStats.builder()
+                .enabled(config.getEnabled())
+                .subscribers(subscribers.stream().map(VirementEventSubscriber::getName).toList())
+                .pending(pending.get())
+                .lagMillis(lagMillis())
+                .batches(batches.get())
+                .delivered(delivered.get())
+                .failed(failed.get())
+                .deadLettered((long) deadLettered.count())
+                .build();
+    }
+
+    /**
+     * Delivers {@code rows} to every subscriber and returns the ids of the rows they all
+     * accepted. The accounts that failed are added to {@code heldBack}, so that their later
+     * rows wait for the next poll.
+     */
+    private List<Long> dispatch(List<OutboxEvent> rows, Set<String> heldBack) {
+        List<VirementEvent> events = new ArrayList<>(rows.size());
+        List<OutboxEvent> decoded = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            try {
+                events.add(decode(row));
+                decoded.add(row);
+            } catch (IllegalStateException e) {
+                log.error("Outbox event {} cannot be read, moving it to the dead letters", row.getId(), e);
+                deadLetter(List.of(row), e.getMessage());
+            }
+        }
+        Map<String, String> failures = new HashMap<>();
+        for (VirementEventSubscriber subscriber : subscribers) {
+            List<VirementEvent> batch = failures.isEmpty()
+                    ? events
+                    : events.stream().filter(event -> !failures.containsKey(event.getSourceAccount())).toList();
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                subscriber.deliver(batch);
+                counter(subscriber, "delivered").increment(batch.size());
+            } catch (RuntimeException e) {
+                log.warn("Subscriber {} rejected a batch of {} events, retrying per account: {}",
+                        subscriber.getName(), batch.size(), e.getMessage());
+                deliverPerAccount(subscriber, batch, failures);
+            }
+        }
+
+        List<Long> done = new ArrayList<>(decoded.size());
+        List<OutboxEvent> exhausted = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent row : decoded) {
+            if (!failures.containsKey(row.getAccount())) {
+                done.add(row.getId());
+                endToEnd.record(Duration.between(row.getCreatedAt(), now));
+            } else if (attempts.merge(row.getId(), 1, Integer::sum) >= config.getMaxAttempts()) {
+                exhausted.add(row);
+            } else {
+                heldBack.add(row.getAccount());
+            }
+        }
+        for (OutboxEvent row : exhausted) {
+            log.error("Outbox event {} failed {} times, moving it to the dead letters", row.getId(), config.getMaxAttempts());
+            deadLetter(List.of(row), failures.get(row.getAccount()));
+        }
+        delivered.addAndGet(done.size());
+        failed.addAndGet(decoded.size() - done.size());
+        return done;
+    }
+
+    private void deadLetter(List<OutboxEvent> rows, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxDeadLetter> letters = rows.stream().map(row -> OutboxDeadLetter.builder()
+                        .id(row.getId())
+                        .virementId(row.getVirementId())
+                        .account(row.getAccount())
+                        .eventType(row.getEventType())
+                        .payload(row.getPayload())
+                        .createdAt(row.getCreatedAt())
+                        .attempts(attempts.getOrDefault(row.getId(), 0))
+                        .reason(reason == null || reason.length() <= 1000 ? reason : reason.substring(0, 1000))
+                        .deadLetteredAt(now)
+                        .build())
+                .toList();
+        List<Long> ids = rows.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            deadLetters.saveAll(letters);
+            repository.deleteAllByIdInBatch(ids);
+        });
+        ids.forEach(attempts::remove);
+        deadLettered.increment(rows.size());
+    }
+
+    private void deliverPerAccount(VirementEventSubscriber subscriber, List<VirementEvent> batch,
+                                   Map<String, String> failures) {
+        Map<String, List<VirementEvent>> byAccount = new LinkedHashMap<>();
+        for (VirementEvent event : batch) {
+            byAccount.computeIfAbsent(event.getSourceAccount(), account -> new ArrayList<>()).add(event);
+        }
+        for (Map.Entry<String, List<VirementEvent>> entry : byAccount.entrySet()) {
+            try {
+                subscriber.deliver(entry.getValue());
+                counter(subscriber, "delivered").increment(entry.getValue().size());
+            } catch (RuntimeException e) {
+                failures.put(entry.getKey(), subscriber.getName() + ": " + e.getMessage());
+                counter(subscriber, "failed").increment(entry.getValue().size());
+                log.warn("Subscriber {} failed for account {}, {} events held back",
+                        subscriber.getName(), entry.getKey(), entry.getValue().size());
+            }
+        }
+    }
+
+    private VirementEvent decode(OutboxEvent row) {
+        try {
+            VirementEvent event = objectMapper.readValue(row.getPayload(), VirementEvent.class);
+            event.setEventId(row.getId());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload for event " + row.getId(), e);
+        }
+    }
+
+    private void refreshBacklog() {
+        List<OutboxEvent> head = repository.findOldest(PageRequest.ofSize(1));
+        oldestPending.set(head.isEmpty() ? null : head.get(0).getCreatedAt());
+        pending.set(head.isEmpty() ? 0 : repository.count());
+    }
+
+    private long lagMillis() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+
+    private Counter counter(VirementEventSubscriber subscriber, String outcome) {
+        return counters.computeIfAbsent(subscriber.getName() + '|' + outcome, key -> Counter.builder("virement.outbox.events")
+                .tag("subscriber", subscriber.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,152 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementEvent;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.OutboxEvent;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.model.VirementEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records virement events in the outbox table. Rows are inserted with a JDBC batch on the
+ * caller's connection, so they commit or roll back together with the change they describe;
+ * calling this outside a transaction is a programming error. {@link OutboxRelay} delivers
+ * the rows afterwards.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = "INSERT INTO virement_outbox "
+            + "(virement_id, account, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final VirementProperties.Outbox config;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, VirementProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.config = properties.getOutbox();
+    }
+
+    public void created(Virement virement) {
+        write(List.of(event(VirementEventType.CREATED, virement, null, virement.getStatut())));
+    }
+
+    public void created(Collection<Virement> virements) {
+        List<VirementEvent> events = new ArrayList<>(virements.size());
+        for (Virement virement : virements) {
+            events.add(event(VirementEventType.CREATED, virement, null, virement.getStatut()));
+        }
+        write(events);
+    }
+
+    /**
+     * Records an update; the amount, type and execution date the virement had before go in the
+     * event, so that subscribers can take it out of where they had counted it.
+     */
+    public void updated(Virement virement, Money previousMontant, TypeVirement previousType,
+                        LocalDateTime previousDateExecution) {
+        write(List.of(updatedEvent(virement, previousMontant, previousType, previousDateExecution)));
+    }
+
+    public void statusChanged(Virement virement, String statut) {
+        write(List.of(event(VirementEventType.STATUS_CHANGED, virement, virement.getStatut(), statut)));
+    }
+
+    public void statusChanged(Collection<Virement> virements, String statut) {
+        List<VirementEvent> events = new ArrayList<>(virements.size());
+        for (Virement virement : virements) {
+            events.add(event(VirementEventType.STATUS_CHANGED, virement, virement.getStatut(), statut));
+        }
+        write(events);
+    }
+
+    public void deleted(Virement virement) {
+        write(List.of(event(VirementEventType.DELETED, virement, virement.getStatut(), null)));
+    }
+
+    public boolean isEnabled() {
+        return config.getEnabled();
+    }
+
+    /**
+     * Builds the outbox row for an event without writing it, for callers that insert it on
+     * their own connection, such as {@link ReactiveOutboxWriter}.
+     */
+    public OutboxEvent toRow(VirementEventType type, Virement virement, String previousStatut, String statut) {
+        return toRow(event(type, virement, previousStatut, statut));
+    }
+
+    OutboxEvent toRow(VirementEvent event) {
+        return OutboxEvent.builder()
+                .virementId(event.getVirementId())
+                .account(event.getSourceAccount())
+                .eventType(event.getEventType())
+                .payload(serialize(event))
+                .createdAt(event.getOccurredAt())
+                .build();
+    }
+
+    private void write(List<VirementEvent> events) {
+        if (!config.getEnabled() || events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the transaction they describe");
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getVirementId());
+            ps.setString(2, event.getSourceAccount());
+            ps.setString(3, event.getEventType().name());
+            ps.setString(4, serialize(event));
+            ps.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+
+    private String serialize(VirementEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event for virement " + event.getVirementId(), e);
+        }
+    }
+
+    static VirementEvent updatedEvent(Virement virement, Money previousMontant, TypeVirement previousType,
+                                      LocalDateTime previousDateExecution) {
+        return event(VirementEventType.UPDATED, virement, virement.getStatut(), virement.getStatut()).toBuilder()
+                .previousMontant(previousMontant)
+                .previousType(previousType)
+                .previousDateExecution(previousDateExecution)
+                .build();
+    }
+
+    private static VirementEvent event(VirementEventType type, Virement virement, String previousStatut, String statut) {
+        return VirementEvent.builder()
+                .eventType(type)
+                .virementId(virement.getId())
+                .sourceAccount(virement.getSourceAccount())
+                .destinationAccount(virement.getDestinationAccount())
+                .montant(virement.getMontant())
+                .devise(virement.getDevise())
+                .montantDevise(virement.getMontantDevise())
+                .type(virement.getType())
+                .dateExecution(virement.getDateExecution())
+                .previousStatut(previousStatut)
+                .statut(statut)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.OutboxEvent;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.model.VirementEventType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC counterpart of {@link OutboxWriter} for the {@code reactive} profile. The returned
+ * {@code Mono} must be composed into the same transactional pipeline as the change it
+ * describes; {@link OutboxRelay} drains these rows like any other.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveOutboxWriter {
+
+    private static final String INSERT = "INSERT INTO virement_outbox "
+            + "(virement_id, account, event_type, payload, created_at) "
+            + "VALUES (:virementId, :account, :eventType, :payload, :createdAt)";
+
+    private final OutboxWriter outboxWriter;
+    private final DatabaseClient client;
+
+    public ReactiveOutboxWriter(OutboxWriter outboxWriter, DatabaseClient client) {
+        this.outboxWriter = outboxWriter;
+        this.client = client;
+    }
+
+    public Mono<Void> created(Virement virement) {
+        return write(VirementEventType.CREATED, virement, null, virement.getStatut());
+    }
+
+    public Mono<Void> updated(Virement virement, Money previousMontant, TypeVirement previousType,
+                              LocalDateTime previousDateExecution) {
+        if (!outboxWriter.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> outboxWriter.toRow(
+                        OutboxWriter.updatedEvent(virement, previousMontant, previousType, previousDateExecution)))
+                .flatMap(this::insert);
+    }
+
+    public Mono<Void> deleted(Virement virement) {
+        return write(VirementEventType.DELETED, virement, virement.getStatut(), null);
+    }
+
+    private Mono<Void> write(VirementEventType type, Virement virement, String previousStatut, String statut) {
+        if (!outboxWriter.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> outboxWriter.toRow(type, virement, previousStatut, statut))
+                .flatMap(this::insert);
+    }
+
+    private Mono<Void> insert(OutboxEvent row) {
+        return client.sql(INSERT)
+                .bind("virementId", row.getVirementId())
+                .bind("account", row.getAccount())
+                .bind("eventType", row.getEventType().name())
+                .bind("payload", row.getPayload())
+                .bind("createdAt", row.getCreatedAt())
+                .then();
+    }
+}
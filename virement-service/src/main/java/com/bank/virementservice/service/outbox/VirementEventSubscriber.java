@@ -0,0 +1,17 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.dto.VirementEvent;
+
+import java.util.List;
+
+/**
+ * A destination for outbox events. {@link #deliver} receives events in outbox order and must
+ * either accept all of them or throw; on failure the same events are offered again later, so
+ * a subscriber has to tolerate duplicates.
+ */
+public interface VirementEventSubscriber {
+
+    String getName();
+
+    void deliver(List<VirementEvent> events);
+}
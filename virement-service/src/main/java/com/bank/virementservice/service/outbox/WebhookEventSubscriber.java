@@ -0,0 +1,49 @@
+package com.bank.virementservice.service.outbox;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementEvent;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.List;
+
+/**
+ * POSTs each batch of events, as a JSON array, to every URL listed in
+ * {@code virement.outbox.webhooks}. Any non-2xx answer fails the whole batch.
+ */
+@Component
+public class WebhookEventSubscriber implements VirementEventSubscriber {
+
+    private final VirementProperties.Outbox config;
+    private final RestClient restClient;
+
+    public WebhookEventSubscriber(VirementProperties properties) {
+        this.config = properties.getOutbox();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(config.getWebhookTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(config.getWebhookTimeout());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<VirementEvent> events) {
+        for (String url : config.getWebhooks()) {
+            restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(events)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.virementservice.service.permanent;
+
+import com.bank.virementservice.dto.OrdrePermanentRequest;
+import com.bank.virementservice.dto.OrdrePermanentResponse;
+import com.bank.virementservice.exception.OrdrePermanentNotFoundException;
+import com.bank.virementservice.mapper.OrdrePermanentMapper;
+import com.bank.virementservice.model.OrdrePermanent;
+import com.bank.virementservice.repository.OrdrePermanentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrdrePermanentService {
+
+    private final OrdrePermanentRepository repository;
+    private final OrdrePermanentMapper mapper;
+    private final StandingOrderScheduler scheduler;
+
+    public OrdrePermanentResponse create(OrdrePermanentRequest request) {
+        OrdrePermanent entity = repository.save(mapper.toEntity(request));
+        ScheduledOrder first = new ScheduledOrder(entity.getId(), entity.getNextDueAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduler.track(first);
+            }
+        });
+        return mapper.toResponse(entity);
+    }
+
+    @Transactional(readOnly = true)
+    public OrdrePermanentResponse getById(Long id) {
+        return repository.findById(id)
+                .map(mapper::toResponse)
+                .orElseThrow(() -> new OrdrePermanentNotFoundException(id));
+    }
+
+    public void cancel(Long id) {
+        OrdrePermanent entity = repository.findById(id)
+                .orElseThrow(() -> new OrdrePermanentNotFoundException(id));
+        entity.setActive(false);
+    }
+}
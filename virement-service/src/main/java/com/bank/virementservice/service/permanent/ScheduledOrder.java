@@ -0,0 +1,11 @@
+package com.bank.virementservice.service.permanent;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ScheduledOrder {
+    Long id;
+    LocalDateTime dueAt;
+}
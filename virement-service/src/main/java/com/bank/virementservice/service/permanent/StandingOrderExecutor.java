@@ -0,0 +1,72 @@
+package com.bank.virementservice.service.permanent;
+
+import com.bank.virementservice.dto.VirementBatchResponse;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.mapper.OrdrePermanentMapper;
+import com.bank.virementservice.model.OrdrePermanent;
+import com.bank.virementservice.repository.OrdrePermanentRepository;
+import com.bank.virementservice.service.VirementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns due standing orders into virements. Each order is advanced to its next occurrence
+ * with a conditional update on the due date it was scheduled for, so an occurrence fires once
+ * even when several instances hold the order in their wheel.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class StandingOrderExecutor {
+
+    private final OrdrePermanentRepository repository;
+    private final OrdrePermanentMapper mapper;
+    private final VirementService virementService;
+
+    /**
+     * Fires the given occurrences through the bulk creation path and returns the next
+     * occurrence of every order that is still active.
+     */
+    public List<ScheduledOrder> fire(List<ScheduledOrder> due) {
+        Map<Long, OrdrePermanent> orders = repository.findAllById(due.stream()
+                        .map(ScheduledOrder::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(OrdrePermanent::getId, Function.identity()));
+
+        List<VirementRequest> requests = new ArrayList<>(due.size());
+        List<ScheduledOrder> next = new ArrayList<>(due.size());
+        for (ScheduledOrder occurrence : due) {
+            OrdrePermanent order = orders.get(occurrence.getId());
+            if (order == null || !order.isActive() || !order.getNextDueAt().equals(occurrence.getDueAt())) {
+                continue;
+            }
+            LocalDateTime nextDueAt = order.getFrequence().next(occurrence.getDueAt());
+            boolean active = order.getEndDate() == null || !nextDueAt.toLocalDate().isAfter(order.getEndDate());
+            if (repository.advance(order.getId(), occurrence.getDueAt(), nextDueAt, active) != 1) {
+                continue;
+            }
+            requests.add(mapper.toVirementRequest(order));
+            if (active) {
+                next.add(new ScheduledOrder(order.getId(), nextDueAt));
+            }
+        }
+
+        if (!requests.isEmpty()) {
+            VirementBatchResponse response = virementService.createBatch(requests);
+            log.info("Fired {} standing orders: {} virements created, {} rejected",
+                    requests.size(), response.getAccepted(), response.getRejected());
+        }
+        return next;
+    }
+}
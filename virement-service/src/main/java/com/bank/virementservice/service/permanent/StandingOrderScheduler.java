@@ -0,0 +1,94 @@
+package com.bank.virementservice.service.permanent;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.OrdrePermanent;
+import com.bank.virementservice.repository.OrdrePermanentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Keeps the standing orders due within the configured horizon in a {@link TimingWheel} and
+ * fires them in batches as they come due. The wheel only ever holds due-soon orders: a refill
+ * loads the next slice of the horizon with an index range scan on (active, next_due_at), and
+ * the first refill at startup also picks up anything overdue.
+ */
+@Component
+@Slf4j
+public class StandingOrderScheduler {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final OrdrePermanentRepository repository;
+    private final StandingOrderExecutor executor;
+    private final VirementProperties.Permanent config;
+    private final TimingWheel<ScheduledOrder> wheel;
+    private volatile LocalDateTime loadedUntil;
+
+    public StandingOrderScheduler(OrdrePermanentRepository repository,
+                                  StandingOrderExecutor executor,
+                                  VirementProperties properties) {
+        this.repository = repository;
+        this.executor = executor;
+        this.config = properties.getPermanent();
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${virement.permanent.refill-interval:PT5M}")
+    public void refill() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        LocalDateTime to = LocalDateTime.now().plus(config.getHorizon());
+        LocalDateTime from;
+        synchronized (this) {
+            from = loadedUntil == null ? EARLIEST : loadedUntil;
+            loadedUntil = to;
+        }
+        List<OrdrePermanent> due = repository.findDueBetween(from, to);
+        for (OrdrePermanent order : due) {
+            wheel.schedule(new ScheduledOrder(order.getId(), order.getNextDueAt()), toMillis(order.getNextDueAt()));
+        }
+        log.debug("Loaded {} standing orders due before {} ({} in the wheel)", due.size(), to, wheel.size());
+    }
+
+    @Scheduled(fixedDelayString = "${virement.permanent.tick-interval:PT1S}")
+    public void tick() {
+        if (!config.getEnabled() || loadedUntil == null) {
+            return;
+        }
+        List<ScheduledOrder> due = wheel.advance(System.currentTimeMillis());
+        int batchSize = config.getBatchSize();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<ScheduledOrder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                executor.fire(batch).forEach(this::track);
+            } catch (RuntimeException e) {
+                log.error("Firing {} standing orders failed, retrying in {}", batch.size(), config.getRetryDelay(), e);
+                long retryAt = System.currentTimeMillis() + config.getRetryDelay().toMillis();
+                batch.forEach(order -> wheel.schedule(order, retryAt));
+            }
+        }
+    }
+
+    /**
+     * Adds an occurrence to the wheel if it falls in the slice already loaded; later
+     * occurrences are picked up by the refill that reaches them.
+     */
+    public void track(ScheduledOrder order) {
+        LocalDateTime horizon = loadedUntil;
+        if (horizon != null && order.getDueAt().isBefore(horizon)) {
+            wheel.schedule(order, toMillis(order.getDueAt()));
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
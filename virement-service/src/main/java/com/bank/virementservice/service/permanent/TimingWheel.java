@@ -0,0 +1,109 @@
+package com.bank.virementservice.service.permanent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Each level has 64 slots and each slot of a level spans a full
+ * rotation of the level below, so scheduling and expiring an item is O(1) however far ahead
+ * it is due. Items on an upper level are cascaded to the lower levels as their slot comes up;
+ * items beyond the span of the top level wait in an overflow list re-examined once per
+ * top-level rotation.
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final List<List<List<Entry<T>>>> levels;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<T> ready = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            List<List<Entry<T>>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(T item, long deadlineMillis) {
+        size++;
+        place(new Entry<>(item, Math.floorDiv(deadlineMillis, tickMillis)));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every item due by then.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(levels.get(level).get(slot(currentTick, level)));
+                }
+            }
+            if ((currentTick & ((1L << (SLOT_BITS * levels.size())) - 1)) == 0) {
+                cascade(overflow);
+            }
+            List<Entry<T>> bucket = levels.get(0).get(slot(currentTick, 0));
+            for (Entry<T> entry : bucket) {
+                ready.add(entry.item);
+            }
+            bucket.clear();
+        }
+        List<T> expired = new ArrayList<>(ready);
+        size -= ready.size();
+        ready.clear();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(List<Entry<T>> bucket) {
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        entries.forEach(this::place);
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            ready.add(entry.item);
+            return;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                levels.get(level).get(slot(entry.tick, level)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long tick;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.bank.virementservice.service.reconciliation;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.exception.ReconciliationInProgressException;
+import com.bank.virementservice.exception.ReconciliationRunNotFoundException;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.ReconciliationPartition;
+import com.bank.virementservice.model.ReconciliationRun;
+import com.bank.virementservice.model.ReconciliationStatus;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.repository.PostingRow;
+import com.bank.virementservice.repository.ReconciliationPartitionRepository;
+import com.bank.virementservice.repository.ReconciliationRunRepository;
+import com.bank.virementservice.repository.VirementRepository;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks the executed virements against the ledger balances. Accounts are spread over a fixed
+ * number of partitions by hash; each partition streams the virements touching its accounts
+ * through {@link VirementRepository}, then replays the archived ones from {@link ArchiveStore},
+ * recomputes every account's expected position as {@code credited + incoming - outgoing} and
+ * reports the accounts whose checkpointed balance differs. Partitions run in parallel on a
+ * dedicated pool.
+ *
+ * <p>Each partition writes its differences to its own file, moved into place once complete,
+ * and is then recorded as done in the same transaction that adds its counts to the run. A run
+ * that stopped half way, on a failure or a shutdown, can be resumed: only the partitions not
+ * recorded yet are reconciled again, and the report is assembled from the partition files once
+ * all of them are. The ledger is checkpointed when a run starts or resumes, so virements
+ * executed or archived while it is going show up as differences; runs are meant for quiet
+ * periods.
+ */
+@Component
+@Slf4j
+public class ReconciliationService {
+
+    private static final String SELECT_BALANCES = "SELECT account, balance, credited FROM account_balances";
+    private static final String REPORT_HEADER = "account,balance,expected,difference,credited,incoming,outgoing";
+    private static final long[] NO_FLOWS = new long[2];
+
+    private final VirementRepository virementRepository;
+    private final ArchiveStore archive;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationPartitionRepository partitionRepository;
+    private final AccountLedger ledger;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final VirementProperties.Reconciliation config;
+    private final ExecutorService workers;
+    private final AtomicReference<ActiveRun> active = new AtomicReference<>();
+    private final Timer partitionTimer;
+    private final Counter postingsCounter;
+    private final Counter differencesCounter;
+
+    public ReconciliationService(VirementRepository virementRepository, ArchiveStore archive,
+                                 ReconciliationRunRepository runRepository,
+                                 ReconciliationPartitionRepository partitionRepository, AccountLedger ledger,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 VirementProperties properties, MeterRegistry meterRegistry) {
+        this.virementRepository = virementRepository;
+        this.archive = archive;
+        this.runRepository = runRepository;
+        this.partitionRepository = partitionRepository;
+        this.ledger = ledger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.config = properties.getReconciliation();
+        int parallelism = config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "virement-reconcile-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.partitionTimer = Timer.builder("virement.reconciliation.partition")
+                .description("Time to reconcile one partition")
+                .register(meterRegistry);
+        this.postingsCounter = Counter.builder("virement.reconciliation.postings")
+                .description("Virement postings replayed by reconciliation")
+                .register(meterRegistry);
+        this.differencesCounter = Counter.builder("virement.reconciliation.differences")
+                .description("Accounts whose balance differs from their replayed virements")
+                .register(meterRegistry);
+        Gauge.builder("virement.reconciliation.partitions.remaining", active,
+                        run -> run.get() == null ? 0 : run.get().remaining.get())
+                .description("Partitions left in the reconciliation run in progress")
+                .register(meterRegistry);
+    }
+
+    public ReconciliationRun start() {
+        ReconciliationRun run = runRepository.save(ReconciliationRun.builder()
+                .status(ReconciliationStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .partitions(config.getPartitions())
+                .build());
+        launch(run);
+        return run;
+    }
+
+    /**
+     * Reconciles the partitions of {@code id} that did not complete. A completed run is
+     * returned as is.
+     */
+    public ReconciliationRun resume(Long id) {
+        ReconciliationRun run = find(id);
+        if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+            return run;
+        }
+        launch(run);
+        return run;
+    }
+
+    public ReconciliationRun find(Long id) {
+        return runRepository.findById(id).orElseThrow(() -> new ReconciliationRunNotFoundException(id));
+    }
+
+    public List<ReconciliationPartition> partitions(Long id) {
+        find(id);
+        return partitionRepository.findByRunIdOrderByPartition(id);
+    }
+
+    public Optional<Path> report(Long id) {
+        return Optional.ofNullable(find(id).getReport()).map(Paths::get).filter(Files::isReadable);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void launch(ReconciliationRun run) {
+        ActiveRun current = new ActiveRun(run.getId());
+        if (!active.compareAndSet(null, current)) {
+            throw new ReconciliationInProgressException(active.get().runId);
+        }
+        try {
+            Set<Integer> done = partitionRepository.findByRunIdOrderByPartition(run.getId()).stream()
+                    .map(ReconciliationPartition::getPartition)
+                    .collect(Collectors.toSet());
+            run.setStatus(ReconciliationStatus.RUNNING);
+            run.setFinishedAt(null);
+            runRepository.save(run);
+            ledger.checkpoint();
+            List<Map<String, long[]>> balances = loadBalances(run.getPartitions(), done);
+            Path directory = Files.createDirectories(runDirectory(run.getId()));
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int partition = 0; partition < run.getPartitions(); partition++) {
+                if (done.contains(partition)) {
+                    continue;
+                }
+                int number = partition;
+                Map<String, long[]> accounts = balances.get(partition);
+                current.remaining.incrementAndGet();
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    reconcile(run.getId(), number, accounts, directory);
+                    current.remaining.decrementAndGet();
+                }, workers));
+            }
+            log.info("Reconciliation run {} started: {} of {} partitions to go",
+                    run.getId(), tasks.size(), run.getPartitions());
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, failure) -> finish(run.getId(), run.getPartitions(), failure));
+        } catch (IOException e) {
+            finish(run.getId(), run.getPartitions(), e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            finish(run.getId(), run.getPartitions(), e);
+            throw e;
+        }
+    }
+
+    private List<Map<String, long[]>> loadBalances(int partitions, Set<Integer> done) {
+        List<Map<String, long[]>> balances = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            balances.add(new HashMap<>());
+        }
+        jdbcTemplate.query(SELECT_BALANCES, (RowCallbackHandler) rs -> {
+            String account = rs.getString(1);
+            int partition = partitionOf(account, partitions);
+            if (!done.contains(partition)) {
+                BigDecimal credited = rs.getBigDecimal(3);
+                balances.get(partition).put(account, new long[]{
+                        Money.of(rs.getBigDecimal(2)).getMinorUnits(),
+                        credited == null ? 0 : Money.of(credited).getMinorUnits()});
+            }
+        });
+        return balances;
+    }
+
+    /**
+     * Replays the executed virements of one partition's accounts, {@code accounts-per-query}
+     * accounts per stream. A virement between two accounts of the same slice is streamed once
+     * and posted on both sides; one between slices is streamed by each, which posts its own side.
+     * Archived virements are replayed once for the whole partition, each posted on the sides
+     * that belong to it.
+     */
+    private void reconcile(Long runId, int partition, Map<String, long[]> balances, Path directory) {
+        long started = System.nanoTime();
+        List<String> accounts = new ArrayList<>(balances.keySet());
+        Collections.sort(accounts);
+        Map<String, long[]> flows = new HashMap<>(accounts.size() * 2);
+        long postings = 0;
+        for (int from = 0; from < accounts.size(); from += config.getAccountsPerQuery()) {
+            List<String> slice = accounts.subList(from, Math.min(from + config.getAccountsPerQuery(), accounts.size()));
+            Set<String> members = new HashSet<>(slice);
+            postings += readOnlyTemplate.execute(status -> {
+                long[] count = new long[1];
+                try (Stream<PostingRow> rows = virementRepository.streamPostings(StatutVirement.EXECUTE, slice)) {
+                    rows.forEach(row -> count[0] += post(flows, members, row.getSourceAccount(),
+                            row.getDestinationAccount(), Money.of(row.getMontant()).getMinorUnits()));
+                }
+                return count[0];
+            });
+        }
+        long[] archived = new long[1];
+        archive.forEachPosting(StatutVirement.EXECUTE, balances.keySet(), (source, destination, units) ->
+                archived[0] += post(flows, balances.keySet(), source, destination, units));
+        postings += archived[0];
+
+        long differences = 0;
+        Path file = partitionFile(directory, partition);
+        Path pending = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(pending, StandardCharsets.UTF_8)) {
+            for (String account : accounts) {
+                long[] balance = balances.get(account);
+                long[] flow = flows.getOrDefault(account, NO_FLOWS);
+                long expected = Math.subtractExact(Math.addExact(balance[1], flow[0]), flow[1]);
+                if (expected != balance[0]) {
+                    differences++;
+                    writer.write(String.join(",", account, amount(balance[0]), amount(expected),
+                            amount(Math.subtractExact(balance[0], expected)), amount(balance[1]),
+                            amount(flow[0]), amount(flow[1])));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(pending, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long elapsed = System.nanoTime() - started;
+        long total = postings;
+        long found = differences;
+        transactionTemplate.executeWithoutResult(status -> {
+            partitionRepository.save(ReconciliationPartition.builder()
+                    .runId(runId)
+                    .partition(partition)
+                    .accounts(accounts.size())
+                    .postings(total)
+                    .differences(found)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            runRepository.addPartition(runId, accounts.size(), total, found);
+        });
+        partitionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        postingsCounter.increment(total);
+        differencesCounter.increment(found);
+        log.debug("Reconciliation run {} partition {}: {} accounts, {} postings, {} differences",
+                runId, partition, accounts.size(), total, found);
+    }
+
+    /** Posts a virement on the sides that belong to {@code members} and returns how many. */
+    private static int post(Map<String, long[]> flows, Set<String> members, String source, String destination,
+                            long units) {
+        int posted = 0;
+        if (members.contains(source)) {
+            long[] flow = flows.computeIfAbsent(source, key -> new long[2]);
+            flow[1] = Math.addExact(flow[1], units);
+            posted++;
+        }
+        if (members.contains(destination)) {
+            long[] flow = flows.computeIfAbsent(destination, key -> new long[2]);
+            flow[0] = Math.addExact(flow[0], units);
+            posted++;
+        }
+        return posted;
+    }
+
+    private void finish(Long runId, int partitions, Throwable failure) {
+        try {
+            ReconciliationRun run = find(runId);
+            if (failure == null) {
+                run.setReport(writeReport(runId, partitions).toString());
+                run.setStatus(ReconciliationStatus.COMPLETED);
+                log.info("Reconciliation run {} completed: {} accounts, {} postings, {} differences",
+                        runId, run.getAccounts(), run.getPostings(), run.getDifferences());
+            } else {
+                run.setStatus(ReconciliationStatus.FAILED);
+                log.error("Reconciliation run {} failed after {} of {} partitions, it can be resumed",
+                        runId, run.getCompletedPartitions(), partitions, failure);
+            }
+            run.setFinishedAt(LocalDateTime.now());
+            runRepository.save(run);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not close reconciliation run {}", runId, e);
+        } finally {
+            active.set(null);
+        }
+    }
+
+    private Path writeReport(Long runId, int partitions) throws IOException {
+        Path directory = runDirectory(runId);
+        Path report = directory.resolve("report.csv");
+        Path pending = directory.resolve("report.csv.tmp");
+        try (OutputStream out = Files.newOutputStream(pending)) {
+            out.write((REPORT_HEADER + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            for (int partition = 0; partition < partitions; partition++) {
+                Files.copy(partitionFile(directory, partition), out);
+            }
+        }
+        Files.move(pending, report, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return report;
+    }
+
+    private Path runDirectory(Long runId) {
+        return Paths.get(config.getReportDirectory(), "run-" + runId);
+    }
+
+    private static Path partitionFile(Path directory, int partition) {
+        return directory.resolve(String.format("partition-%04d.csv", partition));
+    }
+
+    private static int partitionOf(String account, int partitions) {
+        int hash = account.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % partitions;
+    }
+
+    private static String amount(long units) {
+        return Money.ofMinor(units).toBigDecimal().toPlainString();
+    }
+
+    private static final class ActiveRun {
+        private final Long runId;
+        private final AtomicInteger remaining = new AtomicInteger();
+
+        private ActiveRun(Long runId) {
+            this.runId = runId;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.bank.virementservice.service.search;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted, duplicate-free virement ids for one term. Ids mostly arrive in increasing order, so
+ * they are appended to an uncompressed tail that is sealed into a delta-varint block every
+ * {@value #BLOCK} ids; a frequent term then costs one or two bytes per virement instead of
+ * eight. Out-of-order adds and removals decode and re-encode the one block they fall in.
+ * Not thread-safe: {@link VirementSearchIndex} guards every list with its own lock.
+ */
+final class PostingList {
+
+    static final int BLOCK = 128;
+
+    private final List<Block> blocks = new ArrayList<>();
+    private long[] tail = new long[8];
+    private int tailSize;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean add(long id) {
+        if (blocks.isEmpty() || id > lastBlock().last) {
+            int at = Arrays.binarySearch(tail, 0, tailSize, id);
+            if (at >= 0) {
+                return false;
+            }
+            insertIntoTail(-at - 1, id);
+            size++;
+            if (tailSize == BLOCK) {
+                blocks.add(Block.encode(tail, 0, tailSize));
+                tail = new long[8];
+                tailSize = 0;
+            }
+            return true;
+        }
+        int index = blockFor(id);
+        Block block = blocks.get(index);
+        long[] ids = block.decode();
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return false;
+        }
+        at = -at - 1;
+        long[] grown = new long[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, at);
+        grown[at] = id;
+        System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+        if (grown.length > 2 * BLOCK) {
+            blocks.set(index, Block.encode(grown, 0, BLOCK));
+            blocks.add(index + 1, Block.encode(grown, BLOCK, grown.length - BLOCK));
+        } else {
+            blocks.set(index, Block.encode(grown, 0, grown.length));
+        }
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        if (blocks.isEmpty() || id > lastBlock().last) {
+            int at = Arrays.binarySearch(tail, 0, tailSize, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(tail, at + 1, tail, at, tailSize - at - 1);
+            tailSize--;
+            size--;
+            return true;
+        }
+        int index = blockFor(id);
+        Block block = blocks.get(index);
+        if (id < block.first) {
+            return false;
+        }
+        long[] ids = block.decode();
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return false;
+        }
+        if (ids.length == 1) {
+            blocks.remove(index);
+        } else {
+            long[] shrunk = new long[ids.length - 1];
+            System.arraycopy(ids, 0, shrunk, 0, at);
+            System.arraycopy(ids, at + 1, shrunk, at, shrunk.length - at);
+            blocks.set(index, Block.encode(shrunk, 0, shrunk.length));
+        }
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        if (blocks.isEmpty() || id > lastBlock().last) {
+            return Arrays.binarySearch(tail, 0, tailSize, id) >= 0;
+        }
+        Block block = blocks.get(blockFor(id));
+        return id >= block.first && Arrays.binarySearch(block.decode(), id) >= 0;
+    }
+
+    /** Ids strictly below {@code before}, highest first, decoding one block at a time. */
+    Cursor descending(long before) {
+        return new Cursor(before);
+    }
+
+    private Block lastBlock() {
+        return blocks.get(blocks.size() - 1);
+    }
+
+    /** Index of the first block whose last id is at least {@code id}; there is always one. */
+    private int blockFor(long id) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).last < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertIntoTail(int at, long id) {
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, Math.min(BLOCK, tail.length * 2));
+        }
+        System.arraycopy(tail, at, tail, at + 1, tailSize - at);
+        tail[at] = id;
+        tailSize++;
+    }
+
+    final class Cursor {
+
+        private final long before;
+        private long[] current;
+        private int position;
+        private int nextBlock;
+
+        private Cursor(long before) {
+            this.before = before;
+            this.current = Arrays.copyOf(tail, tailSize);
+            this.position = below(current, current.length);
+            this.nextBlock = blocks.size() - 1;
+        }
+
+        boolean hasNext() {
+            while (position < 0) {
+                while (nextBlock >= 0 && blocks.get(nextBlock).first >= before) {
+                    nextBlock--;
+                }
+                if (nextBlock < 0) {
+                    return false;
+                }
+                current = blocks.get(nextBlock--).decode();
+                position = below(current, current.length);
+            }
+            return true;
+        }
+
+        long peek() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current[position];
+        }
+
+        void advance() {
+            position--;
+        }
+
+        private int below(long[] ids, int length) {
+            int at = Arrays.binarySearch(ids, 0, length, before);
+            return (at >= 0 ? at : -at - 1) - 1;
+        }
+    }
+
+    private static final class Block {
+
+        private final long first;
+        private final long last;
+        private final int count;
+        private final byte[] deltas;
+
+        private Block(long first, long last, int count, byte[] deltas) {
+            this.first = first;
+            this.last = last;
+            this.count = count;
+            this.deltas = deltas;
+        }
+
+        static Block encode(long[] ids, int from, int length) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+            for (int i = from + 1; i < from + length; i++) {
+                long delta = ids[i] - ids[i - 1];
+                while ((delta & ~0x7FL) != 0) {
+                    out.write((int) ((delta & 0x7F) | 0x80));
+                    delta >>>= 7;
+                }
+                out.write((int) delta);
+            }
+            return new Block(ids[from], ids[from + length - 1], length, out.toByteArray());
+        }
+
+        long[] decode() {
+            long[] ids = new long[count];
+            ids[0] = first;
+            int offset = 0;
+            for (int i = 1; i < count; i++) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = deltas[offset++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                ids[i] = ids[i - 1] + delta;
+            }
+            return ids;
+        }
+    }
+}
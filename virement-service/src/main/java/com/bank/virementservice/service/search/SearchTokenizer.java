@@ -0,0 +1,66 @@
+package com.bank.virementservice.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits motifs and queries into the terms held by {@link VirementSearchIndex}: lower case,
+ * accents stripped, cut on anything that is not a letter or a digit, so {@code "Loyer été"}
+ * and {@code "loyer ETE"} find each other. Accounts are kept whole, minus separators, and
+ * tagged with their field so a source account never matches as a destination.
+ */
+final class SearchTokenizer {
+
+    static final String MOTIF = "m:";
+    static final String SOURCE = "s:";
+    static final String DESTINATION = "d:";
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {
+    }
+
+    static Set<String> terms(String motif, String sourceAccount, String destinationAccount) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : tokens(motif)) {
+            terms.add(MOTIF + token);
+        }
+        String source = account(sourceAccount);
+        if (!source.isEmpty()) {
+            terms.add(SOURCE + source);
+        }
+        String destination = account(destinationAccount);
+        if (!destination.isEmpty()) {
+            terms.add(DESTINATION + destination);
+        }
+        return terms;
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String account(String account) {
+        return account == null ? "" : SEPARATORS.matcher(fold(account)).replaceAll("");
+    }
+
+    private static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
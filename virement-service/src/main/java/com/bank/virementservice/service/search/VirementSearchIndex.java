@@ -0,0 +1,322 @@
+package com.bank.virementservice.service.search;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.exception.InvalidSearchQueryException;
+import com.bank.virementservice.exception.SearchIndexUnavailableException;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index from motif tokens and accounts to virement ids. It is built once
+ * in the background at startup, from the virements table and then the archive, and kept up to
+ * date by every create, update and delete once its transaction commits; changes that commit
+ * while the build runs are queued and replayed on top of it. Archived virements never change,
+ * so archiving leaves the index alone.
+ *
+ * <p>A query is a conjunction of clauses. The clause with the fewest postings drives a
+ * descending merge of its lists and every candidate is probed in the others, so a search
+ * stops after {@code limit} hits instead of materialising any list. Writers hold the write
+ * lock for a handful of list updates; searches share the read lock.
+ */
+@Component
+@Slf4j
+public class VirementSearchIndex {
+
+    private static final String SCAN = "SELECT id, motif, source_account, destination_account FROM virements";
+    private static final int BUILD_BATCH = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveStore archive;
+    private final VirementProperties.Search config;
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Runnable> pending = new ArrayList<>();
+    private final AtomicLong size = new AtomicLong();
+    private volatile State state = State.BUILDING;
+
+    public VirementSearchIndex(JdbcTemplate jdbcTemplate, ArchiveStore archive, VirementProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.config = properties.getSearch();
+        Gauge.builder("virement.search.terms", postings, NavigableMap::size)
+                .description("Distinct terms in the virement search index")
+                .register(meterRegistry);
+        Gauge.builder("virement.search.postings", size, AtomicLong::get)
+                .description("Term to virement entries in the virement search index")
+                .register(meterRegistry);
+    }
+
+    public static Entry entry(Virement virement) {
+        return new Entry(virement.getId(), SearchTokenizer.terms(virement.getMotif(),
+                virement.getSourceAccount(), virement.getDestinationAccount()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::load, "virement-search-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void created(Virement virement) {
+        if (config.getEnabled()) {
+            Entry after = entry(virement);
+            afterCommit(() -> apply(() -> add(after)));
+        }
+    }
+
+    public void created(Collection<Virement> virements) {
+        if (config.getEnabled()) {
+            List<Entry> added = virements.stream()
+                    .map(VirementSearchIndex::entry)
+                    .collect(Collectors.toList());
+            afterCommit(() -> apply(() -> added.forEach(this::add)));
+        }
+    }
+
+    public void replaced(Entry before, Virement virement) {
+        if (config.getEnabled()) {
+            Entry after = entry(virement);
+            afterCommit(() -> apply(() -> {
+                remove(before);
+                add(after);
+            }));
+        }
+    }
+
+    public void removed(Entry before) {
+        if (config.getEnabled()) {
+            afterCommit(() -> apply(() -> remove(before)));
+        }
+    }
+
+    /** Ids below {@code before} matching every clause, highest first. */
+    List<Long> search(List<Clause> clauses, long before, int limit) {
+        lock.readLock().lock();
+        try {
+            if (state != State.READY) {
+                throw new SearchIndexUnavailableException(state == State.BUILDING
+                        ? "Virement search index is still being built"
+                        : "Virement search index is not available");
+            }
+            List<List<PostingList>> matches = new ArrayList<>(clauses.size());
+            for (Clause clause : clauses) {
+                List<PostingList> lists = lists(clause);
+                if (lists.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(lists);
+            }
+            matches.sort(Comparator.comparingLong(VirementSearchIndex::total));
+
+            PriorityQueue<PostingList.Cursor> heap = new PriorityQueue<>((a, b) -> Long.compare(b.peek(), a.peek()));
+            for (PostingList list : matches.get(0)) {
+                PostingList.Cursor cursor = list.descending(before);
+                if (cursor.hasNext()) {
+                    heap.add(cursor);
+                }
+            }
+            List<List<PostingList>> filters = matches.subList(1, matches.size());
+            List<Long> ids = new ArrayList<>(limit);
+            long previous = before;
+            while (!heap.isEmpty() && ids.size() < limit) {
+                PostingList.Cursor cursor = heap.poll();
+                long id = cursor.peek();
+                cursor.advance();
+                if (cursor.hasNext()) {
+                    heap.add(cursor);
+                }
+                if (id != previous) {
+                    previous = id;
+                    if (matchesAll(filters, id)) {
+                        ids.add(id);
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<PostingList> lists(Clause clause) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String field : clause.getFields()) {
+            String term = field + clause.getTerm();
+            if (!clause.isPrefix()) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+                continue;
+            }
+            lists.addAll(postings.subMap(term, true, term + Character.MAX_VALUE, true).values());
+            if (lists.size() > config.getMaxPrefixTerms()) {
+                throw new InvalidSearchQueryException("Prefix '" + clause.getTerm() + "*' matches more than "
+                        + config.getMaxPrefixTerms() + " terms");
+            }
+        }
+        return lists;
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            List<Entry> batch = new ArrayList<>(BUILD_BATCH);
+            jdbcTemplate.query(SCAN, (RowCallbackHandler) rs -> {
+                batch.add(new Entry(rs.getLong(1),
+                        SearchTokenizer.terms(rs.getString(2), rs.getString(3), rs.getString(4))));
+                if (batch.size() == BUILD_BATCH) {
+                    addAll(batch);
+                }
+            });
+            archive.forEach(virement -> {
+                batch.add(entry(virement));
+                if (batch.size() == BUILD_BATCH) {
+                    addAll(batch);
+                }
+            });
+            addAll(batch);
+            lock.writeLock().lock();
+            try {
+                pending.forEach(Runnable::run);
+                pending.clear();
+                state = State.READY;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Virement search index built: {} terms, {} postings in {} ms", postings.size(), size.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending.clear();
+                state = State.FAILED;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Virement search index build failed; search is unavailable until restart", e);
+        }
+    }
+
+    private void addAll(List<Entry> batch) {
+        lock.writeLock().lock();
+        try {
+            batch.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        batch.clear();
+    }
+
+    /** Runs a change now, or after the build when it is still running. */
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (state == State.READY) {
+                change.run();
+            } else if (state == State.BUILDING) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Entry entry) {
+        for (String term : entry.getTerms()) {
+            if (postings.computeIfAbsent(term, t -> new PostingList()).add(entry.getId())) {
+                size.incrementAndGet();
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        for (String term : entry.getTerms()) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(entry.getId())) {
+                size.decrementAndGet();
+                if (list.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static boolean matchesAll(List<List<PostingList>> filters, long id) {
+        for (List<PostingList> lists : filters) {
+            if (lists.stream().noneMatch(list -> list.contains(id))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long total(List<PostingList> lists) {
+        long total = 0;
+        for (PostingList list : lists) {
+            total += list.size();
+        }
+        return total;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private enum State {
+        BUILDING, READY, FAILED
+    }
+
+    /** The terms a virement was indexed under, captured before a change so they can be removed. */
+    @Value
+    public static class Entry {
+        long id;
+        Set<String> terms;
+    }
+
+    /** One query term, matched in any of {@code fields}, exactly or as a prefix. */
+    @Value
+    static class Clause {
+        List<String> fields;
+        String term;
+        boolean prefix;
+    }
+}
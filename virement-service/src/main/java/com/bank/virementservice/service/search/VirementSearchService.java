@@ -0,0 +1,130 @@
+package com.bank.virementservice.service.search;
+
+import com.bank.virementservice.dto.VirementDTO;
+import com.bank.virementservice.dto.VirementPage;
+import com.bank.virementservice.exception.InvalidCursorException;
+import com.bank.virementservice.exception.InvalidSearchQueryException;
+import com.bank.virementservice.mapper.VirementMapper;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.VirementRepository;
+import com.bank.virementservice.service.archive.ArchiveStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers {@code GET /api/virements/search}. The query is a list of space-separated words,
+ * all of which must match; a word matches a motif token or a whole account, and may be
+ * restricted with {@code motif:}, {@code source:}, {@code destination:} or {@code compte:}
+ * (either account). A trailing {@code *} makes it a prefix. Hits come newest id first from
+ * {@link VirementSearchIndex} and only the page is then read, from the virements table or,
+ * for archived ids, from the archive.
+ */
+@Service
+public class VirementSearchService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_CLAUSES = 16;
+    private static final List<String> ALL_FIELDS =
+            List.of(SearchTokenizer.MOTIF, SearchTokenizer.SOURCE, SearchTokenizer.DESTINATION);
+    private static final Map<String, List<String>> FIELDS = Map.of(
+            "motif", List.of(SearchTokenizer.MOTIF),
+            "source", List.of(SearchTokenizer.SOURCE),
+            "destination", List.of(SearchTokenizer.DESTINATION),
+            "compte", List.of(SearchTokenizer.SOURCE, SearchTokenizer.DESTINATION));
+
+    private final VirementSearchIndex index;
+    private final VirementRepository repository;
+    private final ArchiveStore archive;
+    private final VirementMapper mapper;
+    private final Timer latency;
+
+    public VirementSearchService(VirementSearchIndex index, VirementRepository repository, ArchiveStore archive,
+                                 VirementMapper mapper, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.repository = repository;
+        this.archive = archive;
+        this.mapper = mapper;
+        this.latency = Timer.builder("virement.search.latency")
+                .description("Time to match a search query in the index, excluding row loading")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public VirementPage search(String query, String cursor, int limit) {
+        List<VirementSearchIndex.Clause> clauses = parse(query);
+        long before = decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Long> ids = latency.record(() -> index.search(clauses, before, pageSize));
+
+        Map<Long, Virement> rows = new HashMap<>();
+        repository.findAllById(ids).forEach(virement -> rows.put(virement.getId(), virement));
+        List<VirementDTO> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Virement virement = rows.get(id);
+            if (virement == null) {
+                virement = archive.findById(id).orElse(null);
+            }
+            if (virement != null) {
+                content.add(mapper.toDTO(virement));
+            }
+        }
+        return VirementPage.builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(ids.size() < pageSize ? null : String.valueOf(ids.get(ids.size() - 1)))
+                .build();
+    }
+
+    static List<VirementSearchIndex.Clause> parse(String query) {
+        List<VirementSearchIndex.Clause> clauses = new ArrayList<>();
+        for (String word : query == null ? new String[0] : query.trim().split("\\s+")) {
+            List<String> fields = ALL_FIELDS;
+            int colon = word.indexOf(':');
+            if (colon > 0 && FIELDS.containsKey(word.substring(0, colon).toLowerCase(Locale.ROOT))) {
+                fields = FIELDS.get(word.substring(0, colon).toLowerCase(Locale.ROOT));
+                word = word.substring(colon + 1);
+            }
+            boolean prefix = word.endsWith("*");
+            while (word.endsWith("*")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            if (!fields.contains(SearchTokenizer.MOTIF)) {
+                String account = SearchTokenizer.account(word);
+                if (!account.isEmpty()) {
+                    clauses.add(new VirementSearchIndex.Clause(fields, account, prefix));
+                }
+                continue;
+            }
+            List<String> tokens = SearchTokenizer.tokens(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                clauses.add(new VirementSearchIndex.Clause(fields, tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        if (clauses.isEmpty()) {
+            throw new InvalidSearchQueryException("Search query has no terms");
+        }
+        if (clauses.size() > MAX_CLAUSES) {
+            throw new InvalidSearchQueryException("Search query has more than " + MAX_CLAUSES + " terms");
+        }
+        return clauses;
+    }
+
+    private static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.virementservice.service.settlement;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.Virement;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the net positions of a settlement window on a dedicated fork/join pool. Postings
+ * are bucketed into shards by a hash of their account pair, symmetric in the two accounts, so
+ * every flow between two accounts lands in the same shard and pair nets need no merging. The
+ * shard range is then split recursively until a slice is small enough to net on one thread,
+ * and the per-account movements of the slices are added up on the way back.
+ */
+@Component
+public class NettingEngine {
+
+    private static final int LEAF_POSTINGS = 8_192;
+
+    private final int shards;
+    private final ForkJoinPool pool;
+
+    public NettingEngine(VirementProperties properties) {
+        VirementProperties.Settlement config = properties.getSettlement();
+        this.shards = config.getShards();
+        int parallelism = config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("virement-netting-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public NettingResult net(List<Virement> postings) {
+        List<List<Virement>> buckets = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Virement virement : postings) {
+            buckets.get(shardOf(virement.getSourceAccount(), virement.getDestinationAccount())).add(virement);
+        }
+        long[] offsets = new long[shards + 1];
+        for (int i = 0; i < shards; i++) {
+            offsets[i + 1] = offsets[i] + buckets.get(i).size();
+        }
+        return pool.invoke(new ShardTask(buckets, offsets, 0, shards));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private int shardOf(String source, String destination) {
+        int hash = source.hashCode() ^ destination.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % shards;
+    }
+
+    private static final class ShardTask extends RecursiveTask<NettingResult> {
+
+        private final List<List<Virement>> buckets;
+        private final long[] offsets;
+        private final int from;
+        private final int to;
+
+        private ShardTask(List<List<Virement>> buckets, long[] offsets, int from, int to) {
+            this.buckets = buckets;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected NettingResult compute() {
+            if (to - from == 1 || offsets[to] - offsets[from] <= LEAF_POSTINGS) {
+                NettingResult result = new NettingResult();
+                for (int shard = from; shard < to; shard++) {
+                    for (Virement virement : buckets.get(shard)) {
+                        result.post(virement.getSourceAccount(), virement.getDestinationAccount(),
+                                virement.getMontant().getMinorUnits());
+                    }
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ShardTask left = new ShardTask(buckets, offsets, from, middle);
+            left.fork();
+            NettingResult right = new ShardTask(buckets, offsets, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.virementservice.service.settlement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Net positions of a set of postings, in minor units. Built per shard and merged: shards own
+ * disjoint account pairs, so only the per-account movements need adding up when two results
+ * are combined.
+ */
+public final class NettingResult {
+
+    private final Map<PairKey, long[]> pairs;
+    private final Map<String, long[]> accounts;
+    private long grossCount;
+    private long grossUnits;
+
+    NettingResult() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+
+    private NettingResult(Map<PairKey, long[]> pairs, Map<String, long[]> accounts) {
+        this.pairs = pairs;
+        this.accounts = accounts;
+    }
+
+    /**
+     * Records a posting of {@code units} from {@code source} to {@code destination}. Pair
+     * totals are kept from the side of the lower account, positive when it pays.
+     */
+    void post(String source, String destination, long units) {
+        boolean sourceIsLow = source.compareTo(destination) < 0;
+        PairKey key = sourceIsLow ? new PairKey(source, destination) : new PairKey(destination, source);
+        long[] pair = pairs.computeIfAbsent(key, k -> new long[2]);
+        pair[0] = Math.addExact(pair[0], sourceIsLow ? units : -units);
+        pair[1]++;
+        move(source, -units);
+        move(destination, units);
+        grossCount++;
+        grossUnits = Math.addExact(grossUnits, units);
+    }
+
+    NettingResult merge(NettingResult other) {
+        NettingResult larger = accounts.size() >= other.accounts.size() ? this : other;
+        NettingResult smaller = larger == this ? other : this;
+        larger.pairs.putAll(smaller.pairs);
+        smaller.accounts.forEach((account, movement) -> {
+            long[] merged = larger.accounts.putIfAbsent(account, movement);
+            if (merged != null) {
+                merged[0] = Math.addExact(merged[0], movement[0]);
+                merged[1] += movement[1];
+            }
+        });
+        larger.grossCount += smaller.grossCount;
+        larger.grossUnits = Math.addExact(larger.grossUnits, smaller.grossUnits);
+        return larger;
+    }
+
+    public long getGrossCount() {
+        return grossCount;
+    }
+
+    public long getGrossUnits() {
+        return grossUnits;
+    }
+
+    /**
+     * Returns one position per account pair whose flows did not cancel out, oriented from the
+     * net payer to the net payee.
+     */
+    public List<PairPosition> pairPositions() {
+        List<PairPosition> positions = new ArrayList<>(pairs.size());
+        pairs.forEach((key, pair) -> {
+            if (pair[0] > 0) {
+                positions.add(new PairPosition(key.low(), key.high(), pair[0], pair[1]));
+            } else if (pair[0] < 0) {
+                positions.add(new PairPosition(key.high(), key.low(), -pair[0], pair[1]));
+            }
+        });
+        return positions;
+    }
+
+    /**
+     * Returns each account's multilateral net movement, negative for a net payer. Accounts
+     * whose flows cancel out are left out.
+     */
+    public Map<String, Long> accountMovements() {
+        Map<String, Long> movements = new HashMap<>(accounts.size() * 2);
+        accounts.forEach((account, movement) -> {
+            if (movement[0] != 0) {
+                movements.put(account, movement[0]);
+            }
+        });
+        return movements;
+    }
+
+    public long postings(String account) {
+        long[] movement = accounts.get(account);
+        return movement == null ? 0 : movement[1];
+    }
+
+    private void move(String account, long units) {
+        long[] movement = accounts.computeIfAbsent(account, k -> new long[2]);
+        movement[0] = Math.addExact(movement[0], units);
+        movement[1]++;
+    }
+
+    private record PairKey(String low, String high) {
+    }
+
+    public record PairPosition(String payer, String payee, long units, long postings) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.virementservice.service.settlement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The daily cut-off times that close settlement windows. A window runs from one cut-off,
+ * exclusive, to the next, inclusive.
+ */
+final class SettlementCalendar {
+
+    private final List<LocalTime> cutoffs;
+
+    SettlementCalendar(List<LocalTime> cutoffs) {
+        if (cutoffs.isEmpty()) {
+            throw new IllegalArgumentException("At least one settlement cut-off is required");
+        }
+        this.cutoffs = List.copyOf(new TreeSet<>(cutoffs));
+    }
+
+    LocalDateTime next(LocalDateTime after) {
+        for (LocalDate day = after.toLocalDate(); ; day = day.plusDays(1)) {
+            for (LocalTime cutoff : cutoffs) {
+                LocalDateTime candidate = day.atTime(cutoff);
+                if (candidate.isAfter(after)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    LocalDateTime previous(LocalDateTime atOrBefore) {
+        for (LocalDate day = atOrBefore.toLocalDate(); ; day = day.minusDays(1)) {
+            for (int i = cutoffs.size() - 1; i >= 0; i--) {
+                LocalDateTime candidate = day.atTime(cutoffs.get(i));
+                if (!candidate.isAfter(atOrBefore)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.bank.virementservice.service.settlement;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.model.SettlementBatch;
+import com.bank.virementservice.model.SettlementPosition;
+import com.bank.virementservice.model.StatutVirement;
+import com.bank.virementservice.model.TypeVirement;
+import com.bank.virementservice.model.Virement;
+import com.bank.virementservice.repository.SettlementBatchRepository;
+import com.bank.virementservice.service.journal.TransferEvent;
+import com.bank.virementservice.service.journal.TransferJournal;
+import com.bank.virementservice.service.ledger.AccountLedger;
+import com.bank.virementservice.service.ledger.LedgerPostingWriter;
+import com.bank.virementservice.service.outbox.OutboxWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settles NATIONAL virements in windows closed by the configured cut-off times, instead of one
+ * by one. At each cut-off the virements due by then are netted by {@link NettingEngine}; only
+ * the net movement of each account hits the ledger, in one step, so a payer whose incoming
+ * flows cover its outgoing ones needs no funds up front. When some net payers are short, their
+ * outgoing virements of the window are rejected and the rest netted again; if that has not
+ * converged after {@code max-unwind-rounds}, the whole window is carried over to the next one.
+ *
+ * <p>Each window ends in one {@link SettlementBatch}, empty windows included, written in the
+ * same transaction as its positions, the ledger postings, the status changes and their outbox
+ * events. If that transaction fails the ledger movements are reverted and the window is
+ * retried on the next poll. Only the instance that owns the ledger settles.
+ */
+@Component
+@Slf4j
+public class SettlementService {
+
+    private static final String SELECT_DUE = "SELECT id, source_account, destination_account, montant, devise, "
+            + "montant_devise, taux_change, date_execution, motif FROM virements "
+            + "WHERE type = ? AND statut = ? AND claimed_by IS NULL AND date_execution <= ? ORDER BY id";
+    private static final String UPDATE_STATUT = "UPDATE virements SET statut = ? "
+            + "WHERE id = ? AND statut = ? AND claimed_by IS NULL";
+    private static final String INSERT_POSITION = "INSERT INTO settlement_positions "
+            + "(batch_id, account, counterparty, amount, postings) VALUES (?, ?, ?, ?, ?)";
+
+    private final SettlementBatchRepository batchRepository;
+    private final NettingEngine nettingEngine;
+    private final AccountLedger ledger;
+    private final LedgerPostingWriter postings;
+    private final OutboxWriter outbox;
+    private final TransferJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VirementProperties.Settlement config;
+    private final Timer windowTimer;
+    private final Counter executedCounter;
+    private final Counter rejectedCounter;
+    private final Counter carriedOverCounter;
+
+    public SettlementService(SettlementBatchRepository batchRepository, NettingEngine nettingEngine,
+                             AccountLedger ledger, LedgerPostingWriter postings, OutboxWriter outbox,
+                             TransferJournal journal, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager, VirementProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.batchRepository = batchRepository;
+        this.nettingEngine = nettingEngine;
+        this.ledger = ledger;
+        this.postings = postings;
+        this.outbox = outbox;
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getSettlement();
+        this.windowTimer = Timer.builder("virement.settlement.window")
+                .description("Time to net and settle one settlement window")
+                .register(meterRegistry);
+        this.executedCounter = outcome(meterRegistry, StatutVirement.EXECUTE);
+        this.rejectedCounter = outcome(meterRegistry, StatutVirement.REJETE);
+        this.carriedOverCounter = outcome(meterRegistry, "REPORTE");
+    }
+
+    /**
+     * Settles every window whose cut-off has passed since the last batch. On the very first
+     * run only the latest window is settled; everything due by then falls into it.
+     */
+    @Scheduled(fixedDelayString = "${virement.settlement.poll-interval:PT30S}")
+    public void poll() {
+        if (!config.getEnabled() || config.getCutoffs().isEmpty() || !ledger.isOwner()) {
+            return;
+        }
+        SettlementCalendar calendar = new SettlementCalendar(config.getCutoffs());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = batchRepository.findTopByOrderByWindowEndDesc()
+                .map(SettlementBatch::getWindowEnd)
+                .orElse(null);
+        LocalDateTime end;
+        if (start == null) {
+            end = calendar.previous(now);
+            start = calendar.previous(end.minusNanos(1));
+        } else {
+            end = calendar.next(start);
+        }
+        while (!end.isAfter(now)) {
+            try {
+                settle(start, end);
+            } catch (RuntimeException e) {
+                log.error("Settlement of window ending {} failed, it will be retried", end, e);
+                return;
+            }
+            start = end;
+            end = calendar.next(end);
+        }
+    }
+
+    public SettlementBatch settle(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        long started = System.nanoTime();
+        List<Virement> due = loadDue(windowEnd);
+        List<Virement> candidates = new ArrayList<>(due.size());
+        List<Virement> rejected = new ArrayList<>();
+        for (Virement virement : due) {
+            if (virement.getSourceAccount().equals(virement.getDestinationAccount())) {
+                rejected.add(virement);
+            } else {
+                candidates.add(virement);
+            }
+        }
+        int selfTransfers = rejected.size();
+
+        NettingResult result;
+        Map<String, Long> movements;
+        List<Virement> carriedOver = List.of();
+        int rounds = 0;
+        while (true) {
+            result = nettingEngine.net(candidates);
+            movements = result.accountMovements();
+            Set<String> shortOfFunds = ledger.applyNet(movements, true);
+            if (shortOfFunds.isEmpty()) {
+                break;
+            }
+            if (++rounds > config.getMaxUnwindRounds()) {
+                carriedOver = new ArrayList<>(candidates);
+                carriedOver.addAll(rejected.subList(selfTransfers, rejected.size()));
+                rejected = new ArrayList<>(rejected.subList(0, selfTransfers));
+                candidates = List.of();
+                result = nettingEngine.net(candidates);
+                movements = Map.of();
+                break;
+            }
+            List<Virement> kept = new ArrayList<>(candidates.size());
+            for (Virement virement : candidates) {
+                (shortOfFunds.contains(virement.getSourceAccount()) ? rejected : kept).add(virement);
+            }
+            log.info("Settlement window ending {}: {} accounts short of funds, unwinding {} virements (round {})",
+                    windowEnd, shortOfFunds.size(), candidates.size() - kept.size(), rounds);
+            candidates = kept;
+        }
+        long nettingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        SettlementBatch batch = SettlementBatch.builder()
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .settledAt(LocalDateTime.now())
+                .grossCount(due.size())
+                .grossAmount(Money.ofMinor(grossUnits(due)))
+                .netAmount(Money.ofMinor(netDebits(movements)))
+                .executedCount(candidates.size())
+                .rejectedCount(rejected.size())
+                .carriedOverCount(carriedOver.size())
+                .accountPositions(movements.size())
+                .unwindRounds(rounds)
+                .nettingMillis(nettingMillis)
+                .build();
+        List<Virement> executed = candidates;
+        List<Virement> refused = rejected;
+        NettingResult netted = result;
+        Map<String, Long> applied = movements;
+        SettlementBatch saved;
+        try {
+            saved = transactionTemplate.execute(status -> persist(batch, netted, applied, executed, refused));
+        } catch (RuntimeException e) {
+            ledger.applyNet(negate(applied), false);
+            throw e;
+        }
+        windowTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        executedCounter.increment(executed.size());
+        rejectedCounter.increment(refused.size());
+        carriedOverCounter.increment(carriedOver.size());
+        published(executed, StatutVirement.EXECUTE);
+        published(refused, StatutVirement.REJETE);
+        log.info("Settled window {} - {}: {} virements, {} executed, {} rejected, {} carried over, {} net positions",
+                windowStart, windowEnd, due.size(), executed.size(), refused.size(), carriedOver.size(),
+                saved.getAccountPositions());
+        return saved;
+    }
+
+    private List<Virement> loadDue(LocalDateTime windowEnd) {
+        List<Virement> due = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_DUE);
+            statement.setFetchSize(config.getChunkSize());
+            statement.setString(1, TypeVirement.NATIONAL.name());
+            statement.setString(2, StatutVirement.EN_COURS);
+            statement.setTimestamp(3, Timestamp.valueOf(windowEnd));
+            return statement;
+        }, (RowCallbackHandler) rs -> due.add(toVirement(rs)));
+        return due;
+    }
+
+    private SettlementBatch persist(SettlementBatch batch, NettingResult result, Map<String, Long> movements,
+                                    List<Virement> executed, List<Virement> rejected) {
+        List<NettingResult.PairPosition> pairs = result.pairPositions();
+        batch.setPairPositions(pairs.size());
+        SettlementBatch saved = batchRepository.save(batch);
+        List<SettlementPosition> positions = new ArrayList<>(pairs.size() + movements.size());
+        movements.forEach((account, units) -> positions.add(SettlementPosition.builder()
+                .batchId(saved.getId())
+                .account(account)
+                .amount(Money.ofMinor(units))
+                .postings(result.postings(account))
+                .build()));
+        for (NettingResult.PairPosition pair : pairs) {
+            positions.add(SettlementPosition.builder()
+                    .batchId(saved.getId())
+                    .account(pair.payer())
+                    .counterparty(pair.payee())
+                    .amount(Money.ofMinor(pair.units()))
+                    .postings(pair.postings())
+                    .build());
+        }
+        jdbcTemplate.batchUpdate(INSERT_POSITION, positions, config.getChunkSize(), (ps, position) -> {
+            ps.setLong(1, position.getBatchId());
+            ps.setString(2, position.getAccount());
+            ps.setString(3, position.getCounterparty());
+            ps.setBigDecimal(4, position.getAmount().toBigDecimal());
+            ps.setLong(5, position.getPostings());
+        });
+        postings.settled(saved.getId(), movements);
+        updateStatut(executed, StatutVirement.EXECUTE);
+        updateStatut(rejected, StatutVirement.REJETE);
+        return saved;
+    }
+
+    /**
+     * Moves the virements to {@code statut}, chunk by chunk with their outbox events. Each row
+     * must still be EN_COURS and unclaimed; one that changed since it was loaded fails the
+     * whole window rather than settle a virement twice.
+     */
+    private void updateStatut(List<Virement> virements, String statut) {
+        int chunkSize = config.getChunkSize();
+        for (int from = 0; from < virements.size(); from += chunkSize) {
+            List<Virement> chunk = virements.subList(from, Math.min(from + chunkSize, virements.size()));
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUT, chunk, chunk.size(), (ps, virement) -> {
+                ps.setString(1, statut);
+                ps.setLong(2, virement.getId());
+                ps.setString(3, StatutVirement.EN_COURS);
+            })[0];
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("Virement " + chunk.get(i).getId()
+                            + " changed while its settlement window was being netted");
+                }
+            }
+            outbox.statusChanged(chunk, statut);
+        }
+    }
+
+    /**
+     * Brings the journal in line once the batch is committed. The
+     * database is already authoritative by then, so a journal failure is only logged.
+     */
+    private void published(List<Virement> virements, String statut) {
+        if (virements.isEmpty()) {
+            return;
+        }
+        List<TransferEvent> events = new ArrayList<>(virements.size());
+        for (Virement virement : virements) {
+            events.add(TransferEvent.statusChanged(virement.getId(), statut));
+        }
+        try {
+            journal.appendAll(events);
+        } catch (RuntimeException e) {
+            log.error("Could not journal {} settled virements as {}", virements.size(), statut, e);
+        }
+    }
+
+    private static Virement toVirement(ResultSet rs) throws SQLException {
+        return Virement.builder()
+                .id(rs.getLong("id"))
+                .sourceAccount(rs.getString("source_account"))
+                .destinationAccount(rs.getString("destination_account"))
+                .montant(Money.of(rs.getBigDecimal("montant")))
+                .devise(rs.getString("devise"))
+                .montantDevise(rs.getBigDecimal("montant_devise"))
+                .tauxChange(rs.getBigDecimal("taux_change"))
+                .type(TypeVirement.NATIONAL)
+                .dateExecution(rs.getTimestamp("date_execution").toLocalDateTime())
+                .statut(StatutVirement.EN_COURS)
+                .motif(rs.getString("motif"))
+                .build();
+    }
+
+    private static long grossUnits(List<Virement> virements) {
+        long units = 0;
+        for (Virement virement : virements) {
+            units = Math.addExact(units, virement.getMontant().getMinorUnits());
+        }
+        return units;
+    }
+
+    private static long netDebits(Map<String, Long> movements) {
+        long units = 0;
+        for (long movement : movements.values()) {
+            if (movement < 0) {
+                units = Math.subtractExact(units, movement);
+            }
+        }
+        return units;
+    }
+
+    private static Map<String, Long> negate(Map<String, Long> movements) {
+        Map<String, Long> negated = new HashMap<>(movements.size() * 2);
+        movements.forEach((account, units) -> negated.put(account, Math.negateExact(units)));
+        return negated;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("virement.settlement.virements")
+                .description("NATIONAL virements processed by settlement windows")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,305 @@
+package com.bank.virementservice.service.stream;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementEvent;
+import com.bank.virementservice.exception.TooManySubscribersException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes virement events to per-account SSE subscribers. Emitters are servlet async requests,
+ * so an idle subscriber holds a connection but no thread. All subscriber and replay state is
+ * owned by a single dispatcher thread: the outbox relay only enqueues, and a subscriber's
+ * replay and registration run as one task, so it sees every event exactly once and in order.
+ *
+ * <p>The dispatcher never writes to a connection. Each subscriber has a send queue of
+ * {@code virement.stream.send-queue-capacity} messages drained by a small pool of sender
+ * threads, one subscriber at a time, and a subscriber whose queue is full is completed: it
+ * reconnects and catches up from the replay buffer. Publishing never blocks either; when the
+ * dispatcher itself is saturated the event is dropped and every subscriber is completed, so
+ * that reconnecting clients learn of the gap through {@code REPLAY_TRUNCATED}.
+ *
+ * <p>The last {@code virement.stream.replay-capacity} events are kept for clients reconnecting
+ * with {@code Last-Event-ID}. A client that fell further behind gets a {@code REPLAY_TRUNCATED}
+ * event and should reload the virements it follows.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class VirementEventStream {
+
+    private final VirementProperties.Stream config;
+    private final ThreadPoolExecutor dispatcher;
+    private final ExecutorService senders;
+    private final VirementEvent[] replay;
+    private final Map<String, Set<Subscription>> subscriptions = new HashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong droppedUpTo = new AtomicLong(Long.MIN_VALUE);
+    private final Counter laggards;
+    private final Counter droppedEvents;
+    private long written;
+    private long evictedUpTo;
+
+    public VirementEventStream(VirementProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getStream();
+        this.replay = new VirementEvent[config.getReplayCapacity()];
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "virement-stream-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        AtomicInteger senderIds = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(config.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "virement-stream-sender-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("virement.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open SSE subscriptions")
+                .register(meterRegistry);
+        this.laggards = Counter.builder("virement.stream.laggards")
+                .description("Subscribers completed because their send queue was full")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("virement.stream.dropped")
+                .description("Events dropped because the dispatcher queue was full")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String account, Long lastEventId) {
+        int maxSubscribers = config.getMaxSubscribers();
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(config.getEmitterTimeout().toMillis());
+        Subscription subscription = new Subscription(account, emitter, config.getSendQueueCapacity());
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+        if (!submit(() -> open(subscription, lastEventId))) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @EventListener(VirementEvent.class)
+    public void onEvent(VirementEvent event) {
+        if (!submit(() -> publish(event))) {
+            droppedUpTo.accumulateAndGet(event.getEventId(), Math::max);
+            droppedEvents.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${virement.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        submit(() -> {
+            List<Subscription> dead = new ArrayList<>();
+            for (Set<Subscription> set : subscriptions.values()) {
+                for (Subscription subscription : set) {
+                    if (!send(subscription, List.of(SseEmitter.event().comment("keepalive")))) {
+                        dead.add(subscription);
+                    }
+                }
+            }
+            dead.forEach(this::unregister);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        submit(() -> subscriptions.values().forEach(set -> set.forEach(s -> s.emitter.complete())));
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        senders.shutdownNow();
+    }
+
+    private void open(Subscription subscription, Long lastEventId) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (lastEventId != null) {
+            List<SseEmitter.SseEventBuilder> missed = new ArrayList<>();
+            if (lastEventId < evictedUpTo) {
+                missed.add(SseEmitter.event().name("REPLAY_TRUNCATED").data(evictedUpTo));
+            }
+            long start = Math.max(0, written - replay.length);
+            for (long i = start; i < written; i++) {
+                VirementEvent event = replay[(int) (i % replay.length)];
+                if (event.getEventId() > lastEventId && concerns(event, subscription.account)) {
+                    missed.add(toSse(event));
+                }
+            }
+            if (!missed.isEmpty() && !send(subscription, missed)) {
+                return;
+            }
+        }
+        subscriptions.computeIfAbsent(subscription.account, account -> new LinkedHashSet<>()).add(subscription);
+    }
+
+    private void publish(VirementEvent event) {
+        long dropped = droppedUpTo.get();
+        if (dropped > evictedUpTo) {
+            evictedUpTo = dropped;
+            log.warn("Stream dispatcher overflowed, completing subscribers so they reload past event {}", dropped);
+            subscriptions.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+            subscriptions.clear();
+        }
+        int slot = (int) (written % replay.length);
+        if (written >= replay.length) {
+            evictedUpTo = Math.max(evictedUpTo, replay[slot].getEventId());
+        }
+        replay[slot] = event;
+        written++;
+
+        deliver(event, event.getSourceAccount());
+        if (!event.getDestinationAccount().equals(event.getSourceAccount())) {
+            deliver(event, event.getDestinationAccount());
+        }
+    }
+
+    private void deliver(VirementEvent event, String account) {
+        Set<Subscription> set = subscriptions.get(account);
+        if (set == null) {
+            return;
+        }
+        List<Subscription> dead = null;
+        for (Subscription subscription : set) {
+            if (!send(subscription, List.of(toSse(event)))) {
+                if (dead == null) {
+                    dead = new ArrayList<>();
+                }
+                dead.add(subscription);
+            }
+        }
+        if (dead != null) {
+            dead.forEach(this::unregister);
+        }
+    }
+
+    /**
+     * Queues a message for the subscriber and makes sure a sender drains its queue. Returns
+     * {@code false}, having completed the emitter, if the subscriber is closed or so far behind
+     * that its queue is full.
+     */
+    private boolean send(Subscription subscription, List<SseEmitter.SseEventBuilder> message) {
+        if (subscription.closed.get()) {
+            return false;
+        }
+        if (!subscription.queue.offer(message)) {
+            log.debug("Stream subscriber for account {} fell behind, completing it", subscription.account);
+            laggards.increment();
+            subscription.emitter.complete();
+            return false;
+        }
+        if (subscription.sending.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.emitter.complete();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Runs on a sender thread; only one drain per subscriber runs at a time. */
+    private void drain(Subscription subscription) {
+        do {
+            List<SseEmitter.SseEventBuilder> message;
+            while ((message = subscription.queue.poll()) != null) {
+                try {
+                    for (SseEmitter.SseEventBuilder event : message) {
+                        subscription.emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping stream subscriber for account {}: {}", subscription.account, e.getMessage());
+                    subscription.queue.clear();
+                    subscription.emitter.complete();
+                    return;
+                }
+            }
+            subscription.sending.set(false);
+        } while (!subscription.queue.isEmpty() && subscription.sending.compareAndSet(false, true));
+    }
+
+    private void close(Subscription subscription) {
+        if (subscription.closed.compareAndSet(false, true)) {
+            subscribers.decrementAndGet();
+            submit(() -> unregister(subscription));
+        }
+    }
+
+    private void unregister(Subscription subscription) {
+        Set<Subscription> set = subscriptions.get(subscription.account);
+        if (set != null && set.remove(subscription) && set.isEmpty()) {
+            subscriptions.remove(subscription.account);
+        }
+    }
+
+    /**
+     * Hands a task to the dispatcher without ever blocking the caller (the relay, or a
+     * container thread closing an emitter). A closed subscription whose unregistration was
+     * refused is still dropped at its next delivery, since it no longer accepts messages.
+     */
+    private boolean submit(Runnable task) {
+        try {
+            dispatcher.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private static boolean concerns(VirementEvent event, String account) {
+        return account.equals(event.getSourceAccount()) || account.equals(event.getDestinationAccount());
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(VirementEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getEventId()))
+                .name(event.getEventType().name())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static final class Subscription {
+        private final String account;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final BlockingQueue<List<SseEmitter.SseEventBuilder>> queue;
+
+        private Subscription(String account, SseEmitter emitter, int queueCapacity) {
+            this.account = account;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
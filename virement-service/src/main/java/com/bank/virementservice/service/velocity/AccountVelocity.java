@@ -0,0 +1,132 @@
+package com.bank.virementservice.service.velocity;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window activity of one source account: count and sum of montant per window, and
+ * the number of destinations it had never paid before.
+ *
+ * <p>Changes are versioned like a sequence lock: {@link #stamp()} returns an even version,
+ * rules are evaluated against the counters it covers, and {@link #tryRecord} only counts the
+ * transfer if a CAS moves that same version forward. A transfer recorded in between fails the
+ * CAS and the caller evaluates again, so two checks on one account can never both pass on the
+ * room left for one of them.
+ */
+final class AccountVelocity {
+
+    private final Map<VelocityWindow, SlidingWindowCounter> transfers = new EnumMap<>(VelocityWindow.class);
+    private final Map<VelocityWindow, SlidingWindowCounter> newDestinations = new EnumMap<>(VelocityWindow.class);
+    private final Set<String> knownDestinations = ConcurrentHashMap.newKeySet();
+    private final int maxKnownDestinations;
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastSeenMillis;
+
+    AccountVelocity(Iterable<String> knownDestinations, int maxKnownDestinations) {
+        for (VelocityWindow window : VelocityWindow.values()) {
+            transfers.put(window, new SlidingWindowCounter(window));
+            newDestinations.put(window, new SlidingWindowCounter(window));
+        }
+        this.maxKnownDestinations = maxKnownDestinations;
+        for (String destination : knownDestinations) {
+            if (this.knownDestinations.size() >= maxKnownDestinations) {
+                break;
+            }
+            this.knownDestinations.add(destination);
+        }
+    }
+
+    /** Version of the counters to evaluate rules against, waiting out a write in progress. */
+    long stamp() {
+        long stamp = version.get();
+        while ((stamp & 1) != 0) {
+            Thread.onSpinWait();
+            stamp = version.get();
+        }
+        return stamp;
+    }
+
+    /** Whether nothing was recorded or released since {@code stamp} was taken. */
+    boolean isCurrent(long stamp) {
+        return version.get() == stamp;
+    }
+
+    boolean isNewDestination(String destination) {
+        return !knownDestinations.contains(destination);
+    }
+
+    /**
+     * Value the metric would take over the window once a transfer of {@code cents} to
+     * {@code destination} is counted.
+     */
+    long projected(VelocityMetric metric, VelocityWindow window, long nowMillis, long cents, boolean newDestination) {
+        switch (metric) {
+            case COUNT:
+                return transfers.get(window).count(nowMillis) + 1;
+            case SUM:
+                return transfers.get(window).sum(nowMillis) + cents;
+            default:
+                return newDestinations.get(window).count(nowMillis) + (newDestination ? 1 : 0);
+        }
+    }
+
+    /**
+     * Counts the transfer if the counters are still at {@code stamp}, and returns the
+     * reservation that takes it back; returns {@code null} if another transfer got there first.
+     */
+    VelocityEngine.Reservation tryRecord(long stamp, long nowMillis, long cents, String destination,
+                                         boolean newDestination) {
+        if (!version.compareAndSet(stamp, stamp + 1)) {
+            return null;
+        }
+        boolean learned = false;
+        try {
+            for (SlidingWindowCounter counter : transfers.values()) {
+                counter.add(nowMillis, cents);
+            }
+            if (newDestination) {
+                for (SlidingWindowCounter counter : newDestinations.values()) {
+                    counter.add(nowMillis, 1);
+                }
+                if (knownDestinations.size() < maxKnownDestinations) {
+                    learned = knownDestinations.add(destination);
+                }
+            }
+            lastSeenMillis = nowMillis;
+        } finally {
+            version.set(stamp + 2);
+        }
+        return new VelocityEngine.Reservation(this, nowMillis, cents, newDestination ? destination : null, learned);
+    }
+
+    /** Takes back a transfer counted by {@link #tryRecord}. */
+    void release(long atMillis, long cents, String newDestination, boolean learned) {
+        long stamp = version.get();
+        while ((stamp & 1) != 0 || !version.compareAndSet(stamp, stamp + 1)) {
+            Thread.onSpinWait();
+            stamp = version.get();
+        }
+        try {
+            for (SlidingWindowCounter counter : transfers.values()) {
+                counter.remove(atMillis, cents);
+            }
+            if (newDestination != null) {
+                for (SlidingWindowCounter counter : newDestinations.values()) {
+                    counter.remove(atMillis, 1);
+                }
+                if (learned) {
+                    knownDestinations.remove(newDestination);
+                }
+            }
+        } finally {
+            version.set(stamp + 2);
+        }
+    }
+
+    long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+}
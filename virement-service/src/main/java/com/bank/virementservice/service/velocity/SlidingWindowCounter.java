@@ -0,0 +1,75 @@
+package com.bank.virementservice.service.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count and sum over a sliding window kept in a ring of time buckets. Reads are lock-free;
+ * writers are serialized by the owning {@link AccountVelocity}, so the writer that reaches a
+ * recycled bucket clears it without racing another increment.
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray sums;
+
+    SlidingWindowCounter(VelocityWindow window) {
+        this.bucketMillis = window.bucketMillis();
+        this.buckets = window.buckets();
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicLongArray(buckets);
+        this.sums = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, -1);
+        }
+    }
+
+    void add(long nowMillis, long amount) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % buckets);
+        if (epochs.get(index) != epoch) {
+            counts.set(index, 0);
+            sums.set(index, 0);
+            epochs.set(index, epoch);
+        }
+        counts.incrementAndGet(index);
+        sums.addAndGet(index, amount);
+    }
+
+    /**
+     * Takes back an {@link #add} made at {@code atMillis}. Nothing is left to take back once
+     * its bucket has been recycled.
+     */
+    void remove(long atMillis, long amount) {
+        long epoch = atMillis / bucketMillis;
+        int index = (int) (epoch % buckets);
+        if (epochs.get(index) == epoch) {
+            counts.decrementAndGet(index);
+            sums.addAndGet(index, -amount);
+        }
+    }
+
+    long count(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - buckets;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            if (epochs.get(i) > oldest) {
+                total += counts.get(i);
+            }
+        }
+        return total;
+    }
+
+    long sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - buckets;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            if (epochs.get(i) > oldest) {
+                total += sums.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.virementservice.service.velocity;
+
+import com.bank.virementservice.config.VirementProperties;
+import com.bank.virementservice.dto.VirementRequest;
+import com.bank.virementservice.exception.VelocityLimitExceededException;
+import com.bank.virementservice.model.Money;
+import com.bank.virementservice.repository.VirementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-account velocity rules evaluated before a virement is stored. Each rule bounds one
+ * metric (count, sum of montant or new destinations) over one sliding window, and either
+ * rejects the virement or only flags it. Rules are read from {@code virement.velocity.rules}
+ * on every check, so a refresh from config-service applies them without a restart.
+ */
+@Component
+@Slf4j
+public class VelocityEngine {
+
+    private static final long IDLE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final VirementProperties properties;
+    private final VirementRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AccountVelocity> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public VelocityEngine(VirementProperties properties, VirementRepository repository, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Checks {@code request} against every rule and counts it for {@code montant}, its amount
+     * in the base currency. Evaluating the rules and counting the virement are one step per
+     * account. The returned reservation takes the virement back if it is not stored after all:
+     * inside a transaction that happens on rollback, elsewhere the caller must
+     * {@link Reservation#release() release} it when a later step fails.
+     */
+    public Reservation check(VirementRequest request, Money montant) {
+        VirementProperties.Velocity config = properties.getVelocity();
+        List<VirementProperties.VelocityRule> rules = config.getRules();
+        if (!config.getEnabled() || rules.isEmpty()) {
+            return Reservation.NONE;
+        }
+        long now = System.currentTimeMillis();
+        String account = request.getSourceAccount();
+        AccountVelocity velocity = account(account, config.getMaxKnownDestinations());
+        long cents = montant.getMinorUnits();
+        long[] values = new long[rules.size()];
+
+        while (true) {
+            long stamp = velocity.stamp();
+            boolean newDestination = velocity.isNewDestination(request.getDestinationAccount());
+            int rejectedBy = -1;
+            for (int i = 0; i < rules.size() && rejectedBy < 0; i++) {
+                VirementProperties.VelocityRule rule = rules.get(i);
+                values[i] = velocity.projected(rule.getMetric(), rule.getWindow(), now, cents, newDestination);
+                if (values[i] > limit(rule) && rule.getReject()) {
+                    rejectedBy = i;
+                }
+            }
+            if (rejectedBy >= 0) {
+                if (!velocity.isCurrent(stamp)) {
+                    continue;
+                }
+                report(rules, values, rejectedBy, account);
+                VirementProperties.VelocityRule rule = rules.get(rejectedBy);
+                counter(rule, "reject").increment();
+                throw new VelocityLimitExceededException(rule.getName(), account);
+            }
+            Reservation reservation = velocity.tryRecord(stamp, now, cents, request.getDestinationAccount(),
+                    newDestination);
+            if (reservation != null) {
+                report(rules, values, rules.size(), account);
+                releaseOnRollback(reservation);
+                return reservation;
+            }
+        }
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        log.info("Configuration refreshed, {} velocity rules active", properties.getVelocity().getRules().size());
+    }
+
+    @Scheduled(fixedDelayString = "${virement.velocity.cleanup-interval:PT10M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_MILLIS;
+        accounts.values().removeIf(velocity -> velocity.lastSeenMillis() < cutoff);
+    }
+
+    private AccountVelocity account(String account, int maxKnownDestinations) {
+        AccountVelocity existing = accounts.get(account);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> known = repository.findDestinations(account, PageRequest.ofSize(maxKnownDestinations));
+        AccountVelocity loaded = new AccountVelocity(known, maxKnownDestinations);
+        existing = accounts.putIfAbsent(account, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void report(List<VirementProperties.VelocityRule> rules, long[] values, int passed, String account) {
+        for (int i = 0; i < passed; i++) {
+            VirementProperties.VelocityRule rule = rules.get(i);
+            if (values[i] <= limit(rule)) {
+                counter(rule, "pass").increment();
+            } else {
+                counter(rule, "flag").increment();
+                log.warn("Velocity rule {} flagged account {}: {} over {}",
+                        rule.getName(), account, values[i], limit(rule));
+            }
+        }
+    }
+
+    private static long limit(VirementProperties.VelocityRule rule) {
+        return rule.getMetric() == VelocityMetric.SUM
+                ? Money.of(rule.getThreshold()).getMinorUnits()
+                : rule.getThreshold().longValue();
+    }
+
+    private static void releaseOnRollback(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reservation.release();
+                }
+            }
+        });
+    }
+
+    private Counter counter(VirementProperties.VelocityRule rule, String outcome) {
+        return counters.computeIfAbsent(rule.getName() + '|' + outcome, key -> Counter.builder("virement.velocity.rule")
+                .tag("rule", rule.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /** A virement counted by {@link #check}, until it is released. */
+    public static final class Reservation {
+
+        static final Reservation NONE = new Reservation(null, 0, 0, null, false);
+
+        private final AccountVelocity velocity;
+        private final long atMillis;
+        private final long cents;
+        private final String newDestination;
+        private final boolean learned;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Reservation(AccountVelocity velocity, long atMillis, long cents, String newDestination, boolean learned) {
+            this.velocity = velocity;
+            this.atMillis = atMillis;
+            this.cents = cents;
+            this.newDestination = newDestination;
+            this.learned = learned;
+        }
+
+        /** Stops counting the virement; later calls do nothing. */
+        public void release() {
+            if (velocity != null && released.compareAndSet(false, true)) {
+                velocity.release(atMillis, cents, newDestination, learned);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.virementservice.service.velocity;
+
+public enum VelocityMetric {
+    COUNT,
+    SUM,
+    NEW_DESTINATIONS
+}
@@ -0,0 +1,25 @@
+package com.bank.virementservice.service.velocity;
+
+import java.time.Duration;
+
+public enum VelocityWindow {
+    MINUTE(Duration.ofSeconds(1), 60),
+    HOUR(Duration.ofMinutes(1), 60),
+    DAY(Duration.ofMinutes(15), 96);
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    VelocityWindow(Duration bucket, int buckets) {
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = buckets;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    int buckets() {
+        return buckets;
+    }
+}
@@ -1,4 +1,10 @@
-INSERT INTO virements (source_account, destination_account, montant, type, date_execution, statut, motif) VALUES
- ('ACC001', 'RIB0001', 1200.00, 'NATIONAL', CURRENT_TIMESTAMP, 'EXECUTE', 'Loyer'),
- ('ACC002', 'RIB0002', 250.00, 'INTERNATIONAL', CURRENT_TIMESTAMP, 'EN_COURS', 'Fournisseur'),
- ('ACC003', 'RIB0003', 500.00, 'PERMANENT', CURRENT_TIMESTAMP, 'EN_ATTENTE', 'Epargne');
+INSERT INTO virements (id, source_account, destination_account, montant, type, date_execution, statut, motif) VALUES
+ (NEXT VALUE FOR virement_seq, 'ACC001', 'RIB0001', 1200.00, 'NATIONAL', CURRENT_TIMESTAMP, 'EXECUTE', 'Loyer'),
+ (NEXT VALUE FOR virement_seq, 'ACC002', 'RIB0002', 250.00, 'INTERNATIONAL', CURRENT_TIMESTAMP, 'EN_COURS', 'Fournisseur'),
+ (NEXT VALUE FOR virement_seq, 'ACC003', 'RIB0003', 500.00, 'PERMANENT', CURRENT_TIMESTAMP, 'EN_ATTENTE', 'Epargne');
+
+INSERT INTO account_balances (account, balance, credited, updated_at) VALUES
+ ('ACC001', 5000.00, 6200.00, CURRENT_TIMESTAMP),
+ ('RIB0001', 1200.00, 0.00, CURRENT_TIMESTAMP),
+ ('ACC002', 1500.00, 1500.00, CURRENT_TIMESTAMP),
+ ('ACC003', 800.00, 800.00, CURRENT_TIMESTAMP);